@@ -0,0 +1,75 @@
+package com.gildedrose;
+
+import java.util.Random;
+
+/**
+ * Generador de inventarios sintéticos compartido por los benchmarks.
+ * Usa una semilla fija para que todas las ejecuciones midan exactamente los mismos datos.
+ */
+public final class BenchmarkInventories {
+    
+    static final String REGULAR_NAME = "+5 Dexterity Vest";
+    static final String AGED_BRIE_NAME = "Aged Brie";
+    static final String BACKSTAGE_NAME = "Backstage passes to a TAFKAL80ETC concert";
+    static final String SULFURAS_NAME = "Sulfuras, Hand of Ragnaros";
+    static final String CONJURED_NAME = "Conjured Mana Cake";
+    
+    private static final long SEED = 42L;
+    
+    /**
+     * Mezclas de tipos de item parametrizables desde los benchmarks.
+     */
+    public enum Mix {
+        ALL_REGULAR,
+        ALL_BACKSTAGE,
+        /** Mezcla realista: mayoría de items regulares y conjurados. */
+        BLEND
+    }
+    
+    private BenchmarkInventories() {
+    }
+    
+    static Item[] create(int count, Mix mix) {
+        Random random = new Random(SEED);
+        Item[] items = new Item[count];
+        for (int i = 0; i < count; i++) {
+            String name = nameFor(mix, random);
+            int sellIn = random.nextInt(40) - 5;
+            int quality = SULFURAS_NAME.equals(name) ? 80 : random.nextInt(51);
+            items[i] = new Item(name, sellIn, quality);
+        }
+        return items;
+    }
+    
+    private static String nameFor(Mix mix, Random random) {
+        switch (mix) {
+            case ALL_REGULAR:
+                return REGULAR_NAME;
+            case ALL_BACKSTAGE:
+                return BACKSTAGE_NAME;
+            default:
+                int roll = random.nextInt(100);
+                if (roll < 70) {
+                    return REGULAR_NAME;
+                } else if (roll < 85) {
+                    return CONJURED_NAME;
+                } else if (roll < 93) {
+                    return AGED_BRIE_NAME;
+                } else if (roll < 98) {
+                    return BACKSTAGE_NAME;
+                }
+                return SULFURAS_NAME;
+        }
+    }
+    
+    /**
+     * Restaura el estado de un inventario a partir de una copia, para que cada invocación
+     * del benchmark parta del mismo punto y no de items ya degradados a cero.
+     */
+    static void reset(Item[] target, Item[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i].sellIn = source[i].sellIn;
+            target[i].quality = source[i].quality;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Carga mixta sobre un inventario compartido: un hilo ejecuta ticks sin pausa mientras
+ * otros venden y reponen, ajustan calidad y leen items.
+ *
+ * CONCURRENT usa {@link ConcurrentInventory}; LOCKED es la alternativa actual, un
+ * {@link GildedRose} sobre una lista con todas las operaciones bajo un mismo lock, de modo
+ * que las escrituras esperan a que termine el tick. Los reintentos de CAS de cada iteración
+ * se informan como la métrica secundaria {@code casRetries}, medida de la contención.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConcurrentInventoryBenchmark {
+    
+    @Param({"100000", "1000000"})
+    int itemCount;
+    
+    @Param({"CONCURRENT", "LOCKED"})
+    String inventory;
+    
+    private ConcurrentInventory concurrent;
+    private LockedInventory locked;
+    private long retriesAtStart;
+    
+    @Setup(Level.Trial)
+    public void createInventory() {
+        Item[] items = BenchmarkInventories.create(itemCount, BenchmarkInventories.Mix.BLEND);
+        if ("CONCURRENT".equals(inventory)) {
+            concurrent = new ConcurrentInventory(items, new ItemUpdateStrategyManager());
+        } else {
+            locked = new LockedInventory(items);
+        }
+    }
+    
+    @Setup(Level.Iteration)
+    public void markRetries() {
+        retriesAtStart = concurrent == null ? 0 : concurrent.getCasRetries();
+    }
+    
+    /**
+     * Contador secundario de JMH: reintentos de CAS del inventario desde el inicio de la
+     * iteración hasta el último tick. Solo lo usa el hilo del tick, así que no se suma entre hilos.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Contention {
+        
+        public long casRetries;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            casRetries = 0;
+        }
+    }
+    
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void tick(Contention contention) {
+        if (concurrent != null) {
+            concurrent.updateQuality();
+            contention.casRetries = concurrent.getCasRetries() - retriesAtStart;
+        } else {
+            locked.updateQuality();
+        }
+    }
+    
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public Item sellAndRestock() {
+        int id = ThreadLocalRandom.current().nextInt(itemCount);
+        if (concurrent != null) {
+            Item sold = concurrent.sell(id);
+            if (sold != null) {
+                concurrent.add(sold.name, 10, Math.min(50, sold.quality));
+            }
+            return sold;
+        }
+        return locked.sellAndRestock(id);
+    }
+    
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public boolean adjustQuality() {
+        int id = ThreadLocalRandom.current().nextInt(itemCount);
+        return concurrent != null ? concurrent.adjustQuality(id, 1) : locked.adjustQuality(id, 1);
+    }
+    
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Item read() {
+        int id = ThreadLocalRandom.current().nextInt(itemCount);
+        return concurrent != null ? concurrent.getItem(id) : locked.getItem(id);
+    }
+    
+    /**
+     * GildedRose con un lock global: el modelo en el que las ventas esperan al tick.
+     */
+    static final class LockedInventory {
+        
+        private final List<Item> items;
+        private final GildedRose rose;
+        
+        LockedInventory(Item[] initial) {
+            items = new ArrayList<>(List.of(initial));
+            rose = new GildedRose(items);
+        }
+        
+        synchronized void updateQuality() {
+            rose.updateQuality();
+        }
+        
+        synchronized Item sellAndRestock(int index) {
+            Item sold = items.get(index);
+            if (sold != null) {
+                items.set(index, new Item(sold.name, 10, Math.min(50, sold.quality)));
+            }
+            return sold;
+        }
+        
+        synchronized boolean adjustQuality(int index, int delta) {
+            Item item = items.get(index);
+            if (item == null) {
+                return false;
+            }
+            item.setQuality(item.quality + delta);
+            return true;
+        }
+        
+        synchronized Item getItem(int index) {
+            Item item = items.get(index);
+            return item == null ? null : Item.restore(item.name, item.sellIn, item.quality);
+        }
+    }
+}
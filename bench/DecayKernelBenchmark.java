@@ -0,0 +1,106 @@
+package com.gildedrose;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara un día de envejecimiento de items regulares y conjurados (mezcla BLEND sin los
+ * especiales) con sus estrategias sobre Item, con el bucle escalar de {@link DecayKernel}
+ * y con su versión sobre la Vector API.
+ *
+ * Cada invocación parte del inventario inicial y avanza {@link #DAYS} días; el tiempo
+ * informado es por día. Como el reinicio es por invocación, el inventario más chico es de
+ * 100K items: con 1K, los {@link #DAYS} días del kernel vectorial duran menos de un microsegundo
+ * y {@code Level.Invocation} mediría sobre todo su propia toma de tiempos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules=jdk.incubator.vector"})
+public class DecayKernelBenchmark {
+    
+    static final int DAYS = 10;
+    
+    @Param({"100000", "1000000"})
+    int itemCount;
+    
+    /** STRATEGY: updateItem sobre Item; SCALAR: DecayKernel.applyScalar; VECTOR: DecayKernel.apply. */
+    @Param({"STRATEGY", "SCALAR", "VECTOR"})
+    String implementation;
+    
+    private Item[] initial;
+    private Item[] items;
+    private ItemUpdateStrategy[] strategies;
+    private int[] sellIns;
+    private int[] qualities;
+    private int[] rates;
+    
+    @Setup(Level.Trial)
+    public void createInventory() {
+        if ("VECTOR".equals(implementation) && !DecayKernel.isVectorized()) {
+            throw new IllegalStateException("La Vector API no está disponible en esta JVM");
+        }
+        
+        ItemUpdateStrategyManager manager = new ItemUpdateStrategyManager();
+        initial = BenchmarkInventories.create(itemCount, BenchmarkInventories.Mix.BLEND);
+        for (int i = 0; i < itemCount; i++) {
+            if (DecayKernel.rateFor(manager.findStrategy(initial[i])) == DecayKernel.RATE_NONE) {
+                initial[i] = new Item(BenchmarkInventories.REGULAR_NAME, initial[i].sellIn, Math.min(50, initial[i].quality));
+            }
+        }
+        
+        items = new Item[itemCount];
+        strategies = new ItemUpdateStrategy[itemCount];
+        rates = new int[itemCount];
+        sellIns = new int[itemCount];
+        qualities = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            items[i] = new Item(initial[i].name, initial[i].sellIn, initial[i].quality);
+            strategies[i] = manager.findStrategy(items[i]);
+            rates[i] = DecayKernel.rateFor(strategies[i]);
+        }
+    }
+    
+    @Setup(Level.Invocation)
+    public void resetInventory() {
+        BenchmarkInventories.reset(items, initial);
+        for (int i = 0; i < itemCount; i++) {
+            sellIns[i] = initial[i].sellIn;
+            qualities[i] = initial[i].quality;
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public void updateDay() {
+        for (int day = 0; day < DAYS; day++) {
+            switch (implementation) {
+                case "STRATEGY":
+                    for (int i = 0; i < itemCount; i++) {
+                        strategies[i].updateItem(items[i]);
+                    }
+                    break;
+                case "SCALAR":
+                    DecayKernel.applyScalar(sellIns, qualities, rates, 0, itemCount);
+                    break;
+                default:
+                    DecayKernel.apply(sellIns, qualities, rates, 0, itemCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.gildedrose;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide la construcción de {@link Item}, incluyendo la validación de nombre y calidad.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemConstructionBenchmark {
+    
+    // Campos no finales para que el JIT no pliegue las constantes
+    private String regularName = BenchmarkInventories.REGULAR_NAME;
+    private String sulfurasName = BenchmarkInventories.SULFURAS_NAME;
+    private String paddedName = "   " + BenchmarkInventories.REGULAR_NAME + "   ";
+    private int sellIn = 10;
+    private int quality = 20;
+    
+    @Benchmark
+    public Item regularItem() {
+        return new Item(regularName, sellIn, quality);
+    }
+    
+    @Benchmark
+    public Item sulfurasItem() {
+        return new Item(sulfurasName, sellIn, 80);
+    }
+    
+    @Benchmark
+    public Item paddedNameItem() {
+        return new Item(paddedName, sellIn, quality);
+    }
+}
@@ -0,0 +1,82 @@
+package com.gildedrose;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mide el costo de resolver la estrategia de un item con 5 o 50 estrategias personalizadas
+ * registradas: resolución cacheada (camino normal) frente al recorrido completo de canHandle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyDispatchBenchmark {
+    
+    @Param({"5", "50"})
+    int customStrategies;
+    
+    private ItemUpdateStrategyManager manager;
+    private Item[] probes;
+    
+    @Setup
+    public void registerStrategies() {
+        manager = new ItemUpdateStrategyManager();
+        for (int i = 0; i < customStrategies; i++) {
+            manager.addStrategy(new NamedStrategy("Custom item " + i));
+        }
+        
+        // Los peores casos del recorrido son los items que caen en la estrategia default
+        probes = BenchmarkInventories.create(1024, BenchmarkInventories.Mix.BLEND);
+    }
+    
+    @Benchmark
+    public void findStrategyCached(Blackhole blackhole) {
+        for (Item probe : probes) {
+            blackhole.consume(manager.findStrategy(probe));
+        }
+    }
+    
+    @Benchmark
+    public void findStrategyFullScan(Blackhole blackhole) {
+        for (Item probe : probes) {
+            blackhole.consume(manager.scanStrategies(probe));
+        }
+    }
+    
+    /**
+     * Estrategia personalizada mínima que solo reconoce un nombre exacto.
+     */
+    static final class NamedStrategy implements ItemUpdateStrategy {
+        
+        private final String name;
+        
+        NamedStrategy(String name) {
+            this.name = name;
+        }
+        
+        @Override
+        public boolean canHandle(Item item) {
+            return name.equals(item.name);
+        }
+        
+        @Override
+        public void updateItem(Item item) {
+            item.sellIn--;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.gildedrose;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide un tick completo de {@link GildedRose#updateQuality()} según tamaño y mezcla del inventario,
+ * con despacho item a item o por lotes de estrategia.
+ *
+ * Cada invocación parte del inventario inicial y ejecuta {@link #TICKS} ticks; el tiempo
+ * informado es por tick. Así se mide siempre un inventario recién creado y no uno que, tras
+ * miles de ticks, ya está asentado con calidades en 0 o 50.
+ *
+ * El reinicio usa {@code Level.Invocation}, que JMH solo considera fiable si cada invocación
+ * dura bastante más que la toma de tiempos que agrega alrededor (del orden de milisegundos).
+ * Por eso el inventario más chico es de 100K items: con 1K, los {@link #TICKS} ticks duran
+ * unos pocos microsegundos y el resultado lo domina el costo del setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class UpdateQualityBenchmark {
+    
+    static final int TICKS = 10;
+    
+    @Param({"100000", "1000000", "10000000"})
+    int itemCount;
+    
+    @Param({"ALL_REGULAR", "ALL_BACKSTAGE", "BLEND"})
+    BenchmarkInventories.Mix mix;
+    
+    /** PER_ITEM: despacho item a item; BATCH: grupos por estrategia (enableBatchDispatch). */
+    @Param({"PER_ITEM", "BATCH"})
+    String dispatch;
+    
+    private Item[] initial;
+    private Item[] items;
+    private GildedRose app;
+    
+    @Setup(Level.Trial)
+    public void createInventory() {
+        initial = BenchmarkInventories.create(itemCount, mix);
+        items = BenchmarkInventories.create(itemCount, mix);
+        app = new GildedRose(items);
+        if ("BATCH".equals(dispatch)) {
+            app.enableBatchDispatch();
+        }
+    }
+    
+    @Setup(Level.Invocation)
+    public void resetInventory() {
+        BenchmarkInventories.reset(items, initial);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void updateQuality() {
+        for (int tick = 0; tick < TICKS; tick++) {
+            app.updateQuality();
+        }
+    }
+}
@@ -28,4 +28,42 @@ public class AgedBrieStrategy implements ItemUpdateStrategy {
         // Aplicar mejora respetando límite máximo
         item.quality = Math.min(MAX_QUALITY, item.quality + qualityIncrease);
     }
+    
+    @Override
+    public void updateItems(Item[] items, int from, int to) {
+        for (int i = from; i < to; i++) {
+            updateItem(items[i]);
+        }
+    }
+    
+    /**
+     * Fórmula cerrada: la mejora es monótona, así que el máximo se aplica una sola vez
+     * sobre la suma de ambos tramos.
+     */
+    @Override
+    public void advanceItem(Item item, int days) {
+        if (days <= 0) {
+            return;
+        }
+        
+        long freshDays = AgingMath.daysBeforeExpiry(item.sellIn, days);
+        long totalIncrease = freshDays * QUALITY_INCREASE_RATE
+            + (days - freshDays) * EXPIRED_QUALITY_INCREASE_RATE;
+        
+        item.sellIn -= days;
+        item.quality = AgingMath.clampToInt(Math.min(MAX_QUALITY, item.quality + totalIncrease));
+    }
+    
+    @Override
+    public boolean supportsAnalyticAdvance() {
+        return true;
+    }
+    
+    /**
+     * La calidad solo sube: al llegar al máximo ya no cambia.
+     */
+    @Override
+    public boolean isSettled(Item item) {
+        return item.quality == MAX_QUALITY;
+    }
 } 
\ No newline at end of file
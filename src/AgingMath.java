@@ -0,0 +1,46 @@
+package com.gildedrose;
+
+/**
+ * Utilidades aritméticas compartidas por las fórmulas cerradas de avance multi-día.
+ * Principio DRY: el conteo de días por tramo de sellIn se calcula en un solo lugar.
+ */
+final class AgingMath {
+    
+    private AgingMath() {
+    }
+    
+    /**
+     * Cuenta cuántos de los próximos {@code days} días terminan con sellIn no negativo,
+     * sabiendo que el día i (1..days) deja el sellIn en {@code sellIn - i} con aritmética de
+     * int, igual que {@code sellIn--}: al bajar de {@link Integer#MIN_VALUE} vuelve a
+     * {@link Integer#MAX_VALUE} y deja de estar vencido.
+     */
+    static long daysBeforeExpiry(int sellIn, int days) {
+        long first = (long) sellIn - days;
+        long last = sellIn - 1L;
+        return overlap(first, last, 0, Integer.MAX_VALUE) + daysWrapped(sellIn, days);
+    }
+    
+    /**
+     * Cuenta cuántos de los próximos {@code days} días dejan el sellIn por debajo de
+     * {@link Integer#MIN_VALUE} (y por lo tanto, con aritmética de int, en valores positivos).
+     * Esos días son siempre los últimos del periodo.
+     */
+    static long daysWrapped(int sellIn, int days) {
+        return overlap((long) sellIn - days, sellIn - 1L, Long.MIN_VALUE, Integer.MIN_VALUE - 1L);
+    }
+    
+    /**
+     * Cuenta los enteros del intervalo [from, to] que caen dentro de [low, high].
+     */
+    static long overlap(long from, long to, long low, long high) {
+        return Math.max(0L, Math.min(to, high) - Math.max(from, low) + 1);
+    }
+    
+    /**
+     * Convierte a int un valor ya acotado por un límite de calidad.
+     */
+    static int clampToInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+}
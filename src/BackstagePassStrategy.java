@@ -34,6 +34,13 @@ public class BackstagePassStrategy implements ItemUpdateStrategy {
         }
     }
     
+    @Override
+    public void updateItems(Item[] items, int from, int to) {
+        for (int i = from; i < to; i++) {
+            updateItem(items[i]);
+        }
+    }
+    
     /**
      * Calcula el incremento de calidad basado en días restantes al concierto.
      * Principio KISS: lógica compleja dividida en métodos simples y comprensibles.
@@ -52,4 +59,61 @@ public class BackstagePassStrategy implements ItemUpdateStrategy {
         
         return increase;
     }
+    
+    /**
+     * Fórmula cerrada: si el concierto pasa dentro del periodo la calidad termina en cero;
+     * si no, se suma el incremento de cada tramo (más de 10, 6-10 y 0-5 días) y se aplica
+     * el máximo una sola vez. Los días en que sellIn baja de {@link Integer#MIN_VALUE} y
+     * vuelve a valores positivos (como con {@code sellIn--}) suman otra vez después del cero.
+     */
+    @Override
+    public void advanceItem(Item item, int days) {
+        if (days <= 0) {
+            return;
+        }
+        
+        long firstSellIn = (long) item.sellIn - days;
+        long lastSellIn = item.sellIn - 1L;
+        item.sellIn -= days;
+        
+        long quality = item.quality;
+        long totalIncrease;
+        if (AgingMath.overlap(firstSellIn, lastSellIn, Integer.MIN_VALUE, -1) > 0) {
+            quality = 0;
+            totalIncrease = 0;
+        } else {
+            totalIncrease = increaseBetween(Math.max(firstSellIn, 0), lastSellIn);
+        }
+        if (firstSellIn < Integer.MIN_VALUE) {
+            // Los últimos días dejan sellIn entre firstSellIn + 2^32 e Integer.MAX_VALUE
+            totalIncrease += increaseBetween(firstSellIn + (1L << Integer.SIZE), Integer.MAX_VALUE);
+        }
+        
+        item.quality = AgingMath.clampToInt(Math.min(MAX_QUALITY, quality + totalIncrease));
+    }
+    
+    /**
+     * Suma de los incrementos de los días que terminan con sellIn entre {@code from} y {@code to}.
+     */
+    private long increaseBetween(long from, long to) {
+        int baseIncrease = BASE_QUALITY_INCREASE;
+        int mediumIncrease = BASE_QUALITY_INCREASE + MEDIUM_PROXIMITY_BONUS;
+        int highIncrease = BASE_QUALITY_INCREASE + HIGH_PROXIMITY_BONUS;
+        return AgingMath.overlap(from, to, 0, CONCERT_THRESHOLD_2) * highIncrease
+            + AgingMath.overlap(from, to, CONCERT_THRESHOLD_2 + 1, CONCERT_THRESHOLD_1) * mediumIncrease
+            + AgingMath.overlap(from, to, CONCERT_THRESHOLD_1 + 1, Long.MAX_VALUE) * baseIncrease;
+    }
+    
+    @Override
+    public boolean supportsAnalyticAdvance() {
+        return true;
+    }
+    
+    /**
+     * Después del concierto la calidad queda fija en cero.
+     */
+    @Override
+    public boolean isSettled(Item item) {
+        return item.sellIn < 0 && item.quality == 0;
+    }
 } 
\ No newline at end of file
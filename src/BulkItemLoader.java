@@ -0,0 +1,154 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Carga masiva de items a partir de arrays de columnas o de un stream delimitado
+ * ({@code nombre|sellIn|quality} por línea).
+ *
+ * Frente a crear cada item con su constructor:
+ * - los nombres se internan en un {@link NameDictionary}, así que millones de items comparten
+ *   unos pocos miles de Strings;
+ * - el nombre se valida antes de internarlo (un nombre rechazado no entra al diccionario) y la
+ *   estrategia se resuelve una vez por nombre distinto; la calidad se valida por fila sin crear objetos;
+ * - las filas inválidas se acumulan como rechazos en lugar de abortar en la primera.
+ */
+public class BulkItemLoader {
+    
+    private static final int STREAM_BUFFER_SIZE = 1 << 20;
+    
+    private final ItemUpdateStrategyManager strategyManager;
+    
+    public BulkItemLoader() {
+        this(new ItemUpdateStrategyManager());
+    }
+    
+    public BulkItemLoader(ItemUpdateStrategyManager strategyManager) {
+        if (strategyManager == null) {
+            throw new IllegalArgumentException("strategyManager no puede ser null");
+        }
+        this.strategyManager = strategyManager;
+    }
+    
+    /**
+     * Carga items desde arrays paralelos de igual longitud.
+     * Las filas rechazadas se informan por su índice en los arrays.
+     */
+    public BulkLoadResult load(String[] names, int[] sellIns, int[] qualities) {
+        if (names == null || sellIns == null || qualities == null
+            || names.length != sellIns.length || names.length != qualities.length) {
+            throw new IllegalArgumentException("Los arrays deben existir y tener la misma longitud");
+        }
+        
+        Accumulator accumulator = new Accumulator(names.length);
+        for (int row = 0; row < names.length; row++) {
+            String name = names[row];
+            // Se valida antes de internar para que los nombres rechazados no crezcan el diccionario
+            if (!Item.isValidName(name)) {
+                accumulator.reject(row, Item.INVALID_NAME_MESSAGE);
+            } else {
+                accumulator.accept(row, accumulator.dictionary.idOf(name), sellIns[row], qualities[row]);
+            }
+        }
+        return accumulator.result();
+    }
+    
+    /**
+     * Carga items desde un stream en formato {@code nombre|sellIn|quality}.
+     * Las filas rechazadas (incluidas las mal formadas) se informan por número de línea.
+     * El stream se cierra al terminar.
+     */
+    public BulkLoadResult load(InputStream input) throws IOException {
+        Accumulator accumulator = new Accumulator(1024);
+        try (ItemRecordReader reader = new ItemRecordReader(
+                 Channels.newChannel(input), new Utf8NameIndex(accumulator.dictionary), STREAM_BUFFER_SIZE)) {
+            while (true) {
+                try {
+                    if (!reader.next()) {
+                        break;
+                    }
+                } catch (IllegalArgumentException e) {
+                    accumulator.reject(reader.lineNumber(), e.getMessage());
+                    continue;
+                }
+                accumulator.accept(reader.lineNumber(), reader.nameId(), reader.sellIn(), reader.quality());
+            }
+        }
+        return accumulator.result();
+    }
+    
+    /**
+     * Acumula las filas aceptadas en columnas y la información por nombre distinto.
+     */
+    private final class Accumulator {
+        
+        final NameDictionary dictionary = new NameDictionary();
+        private final List<BulkLoadResult.RejectedRow> rejected = new ArrayList<>();
+        
+        private int[] nameIds;
+        private int[] sellIns;
+        private int[] qualities;
+        private int size;
+        
+        // Por id de nombre: calidad fija y estrategia resueltas una sola vez
+        private boolean[] fixedQuality = new boolean[64];
+        private ItemUpdateStrategy[] strategies = new ItemUpdateStrategy[64];
+        
+        Accumulator(int expectedRows) {
+            int capacity = Math.max(expectedRows, 16);
+            this.nameIds = new int[capacity];
+            this.sellIns = new int[capacity];
+            this.qualities = new int[capacity];
+        }
+        
+        /**
+         * Agrega una fila cuyo nombre ya fue validado antes de internarlo.
+         */
+        void accept(long row, int nameId, int sellIn, int quality) {
+            resolve(nameId);
+            String qualityError = Item.qualityError(quality, fixedQuality[nameId]);
+            if (qualityError != null) {
+                reject(row, qualityError);
+                return;
+            }
+            
+            if (size == nameIds.length) {
+                int newCapacity = size + (size >> 1);
+                nameIds = Arrays.copyOf(nameIds, newCapacity);
+                sellIns = Arrays.copyOf(sellIns, newCapacity);
+                qualities = Arrays.copyOf(qualities, newCapacity);
+            }
+            nameIds[size] = nameId;
+            sellIns[size] = sellIn;
+            qualities[size] = Item.normalizedQuality(quality, fixedQuality[nameId]);
+            size++;
+        }
+        
+        void reject(long row, String reason) {
+            rejected.add(new BulkLoadResult.RejectedRow(row, reason));
+        }
+        
+        private void resolve(int nameId) {
+            if (nameId >= strategies.length) {
+                int newLength = Math.max(nameId + 1, strategies.length * 2);
+                fixedQuality = Arrays.copyOf(fixedQuality, newLength);
+                strategies = Arrays.copyOf(strategies, newLength);
+            }
+            
+            if (strategies[nameId] == null) {
+                String name = dictionary.nameOf(nameId);
+                fixedQuality[nameId] = Item.hasFixedQuality(name);
+                strategies[nameId] = strategyManager.findStrategy(Item.restore(name, 0, 0));
+            }
+        }
+        
+        BulkLoadResult result() {
+            return new BulkLoadResult(dictionary, strategies, nameIds, sellIns, qualities, size, rejected, strategyManager);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.gildedrose;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una carga masiva con {@link BulkItemLoader}: las filas aceptadas en columnas
+ * con nombres internados, la estrategia ya resuelta por nombre y las filas rechazadas.
+ */
+public class BulkLoadResult {
+    
+    /**
+     * Fila rechazada durante la carga.
+     */
+    public static final class RejectedRow {
+        
+        private final long row;
+        private final String reason;
+        
+        public RejectedRow(long row, String reason) {
+            this.row = row;
+            this.reason = reason;
+        }
+        
+        /**
+         * Posición de la fila en la entrada: índice (base 0) para arrays, número de línea para streams.
+         */
+        public long getRow() {
+            return row;
+        }
+        
+        public String getReason() {
+            return reason;
+        }
+        
+        @Override
+        public String toString() {
+            return "Fila " + row + ": " + reason;
+        }
+    }
+    
+    private final NameDictionary names;
+    private final ItemUpdateStrategy[] strategiesByNameId;
+    private final int[] nameIds;
+    private final int[] sellIns;
+    private final int[] qualities;
+    private final int acceptedCount;
+    private final List<RejectedRow> rejectedRows;
+    private final ItemUpdateStrategyManager strategyManager;
+    
+    BulkLoadResult(NameDictionary names, ItemUpdateStrategy[] strategiesByNameId, int[] nameIds, int[] sellIns,
+                   int[] qualities, int acceptedCount, List<RejectedRow> rejectedRows,
+                   ItemUpdateStrategyManager strategyManager) {
+        this.names = names;
+        this.strategiesByNameId = strategiesByNameId;
+        this.nameIds = nameIds;
+        this.sellIns = sellIns;
+        this.qualities = qualities;
+        this.acceptedCount = acceptedCount;
+        this.rejectedRows = Collections.unmodifiableList(rejectedRows);
+        this.strategyManager = strategyManager;
+    }
+    
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+    
+    public List<RejectedRow> getRejectedRows() {
+        return rejectedRows;
+    }
+    
+    /**
+     * Diccionario con una única instancia de String por nombre distinto.
+     */
+    public NameDictionary getNames() {
+        return names;
+    }
+    
+    /**
+     * Estrategia resuelta en la carga para el item aceptado en la posición indicada.
+     */
+    public ItemUpdateStrategy getStrategy(int acceptedIndex) {
+        checkIndex(acceptedIndex);
+        return strategiesByNameId[nameIds[acceptedIndex]];
+    }
+    
+    /**
+     * Crea los items aceptados; todos los items con el mismo nombre comparten su String.
+     */
+    public Item[] toItems() {
+        Item[] items = new Item[acceptedCount];
+        for (int i = 0; i < acceptedCount; i++) {
+            items[i] = Item.restore(names.nameOf(nameIds[i]), sellIns[i], qualities[i]);
+        }
+        return items;
+    }
+    
+    /**
+     * Vuelca las filas aceptadas en un inventario columnar, sin materializar objetos Item.
+     */
+    public ColumnarInventory toColumnarInventory() {
+        ColumnarInventory inventory = new ColumnarInventory(acceptedCount, strategyManager);
+        for (int i = 0; i < acceptedCount; i++) {
+            inventory.addTrusted(names.nameOf(nameIds[i]), sellIns[i], qualities[i]);
+        }
+        return inventory;
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= acceptedCount) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + index);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.gildedrose;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Almacén frío, solo de anexado y comprimido, de items archivados.
+ *
+ * Cada registro guarda nombre (como id de un {@link NameDictionary}), sellIn, quality y el
+ * día en que se archivó. Los registros se acumulan en un bloque abierto de
+ * {@link #BLOCK_RECORDS} registros; al llenarse el bloque se serializa por columnas (todos
+ * los ids de nombre, luego los sellIn, etc.) y se comprime con {@link Deflater}. Las columnas
+ * de items asentados son muy repetitivas, por lo que un registro ocupa pocos bytes.
+ *
+ * Leer un registro de un bloque cerrado descomprime el bloque completo; se conserva el último
+ * bloque descomprimido para que las lecturas cercanas no repitan el trabajo. No es seguro
+ * usarlo desde varios hilos a la vez.
+ */
+public class ColdItemArchive {
+
+    static final int BLOCK_RECORDS = 256;
+
+    private static final int COLUMNS = 4;
+    private static final int BLOCK_BYTES = BLOCK_RECORDS * COLUMNS * Integer.BYTES;
+
+    private final NameDictionary names = new NameDictionary();
+    private final List<byte[]> sealedBlocks = new ArrayList<>();
+    private long compressedBytes;
+
+    // Bloque abierto, sin comprimir
+    private final int[] openNameIds = new int[BLOCK_RECORDS];
+    private final int[] openSellIns = new int[BLOCK_RECORDS];
+    private final int[] openQualities = new int[BLOCK_RECORDS];
+    private final int[] openDays = new int[BLOCK_RECORDS];
+    private int openCount;
+
+    // Último bloque cerrado descomprimido; cachedBlock < 0 si no hay ninguno
+    private final int[] cachedColumns = new int[BLOCK_RECORDS * COLUMNS];
+    private int cachedBlock = -1;
+
+    private final byte[] scratch = new byte[BLOCK_BYTES];
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * Agrega un registro al final del archivo.
+     * @param day día del inventario al que corresponden sellIn y quality
+     * @return número del registro, estable mientras exista el archivo
+     */
+    public int append(String name, int sellIn, int quality, int day) {
+        if (!Item.isValidName(name)) {
+            throw new IllegalArgumentException(Item.INVALID_NAME_MESSAGE);
+        }
+
+        int record = sealedBlocks.size() * BLOCK_RECORDS + openCount;
+        openNameIds[openCount] = names.idOf(name);
+        openSellIns[openCount] = sellIn;
+        openQualities[openCount] = quality;
+        openDays[openCount] = day;
+        if (++openCount == BLOCK_RECORDS) {
+            seal();
+        }
+        return record;
+    }
+
+    /**
+     * Reconstruye el item del registro tal como se archivó (sin avanzarlo).
+     */
+    public Item getItem(int record) {
+        int offset = locate(record);
+        if (offset < 0) {
+            int open = offset + BLOCK_RECORDS;
+            return Item.restore(names.nameOf(openNameIds[open]), openSellIns[open], openQualities[open]);
+        }
+        return Item.restore(names.nameOf(cachedColumns[offset]),
+                            cachedColumns[BLOCK_RECORDS + offset],
+                            cachedColumns[2 * BLOCK_RECORDS + offset]);
+    }
+
+    /**
+     * Día del inventario en que se archivó el registro.
+     */
+    public int getArchivedDay(int record) {
+        int offset = locate(record);
+        if (offset < 0) {
+            return openDays[offset + BLOCK_RECORDS];
+        }
+        return cachedColumns[3 * BLOCK_RECORDS + offset];
+    }
+
+    public int getRecordCount() {
+        return sealedBlocks.size() * BLOCK_RECORDS + openCount;
+    }
+
+    /**
+     * Bytes ocupados por los bloques cerrados, ya comprimidos.
+     */
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    public int getSealedBlockCount() {
+        return sealedBlocks.size();
+    }
+
+    /**
+     * Ubica un registro. Si está en un bloque cerrado lo deja descomprimido en la cache y
+     * devuelve su posición dentro del bloque; si está en el bloque abierto devuelve su
+     * posición menos {@link #BLOCK_RECORDS}.
+     */
+    private int locate(int record) {
+        if (record < 0 || record >= getRecordCount()) {
+            throw new IndexOutOfBoundsException("Registro fuera de rango: " + record);
+        }
+
+        int block = record / BLOCK_RECORDS;
+        int offset = record % BLOCK_RECORDS;
+        if (block == sealedBlocks.size()) {
+            return offset - BLOCK_RECORDS;
+        }
+        if (block != cachedBlock) {
+            inflate(block);
+        }
+        return offset;
+    }
+
+    private void seal() {
+        ByteBuffer columns = ByteBuffer.wrap(scratch);
+        columns.asIntBuffer()
+            .put(openNameIds)
+            .put(openSellIns)
+            .put(openQualities)
+            .put(openDays);
+
+        deflater.reset();
+        deflater.setInput(scratch, 0, BLOCK_BYTES);
+        deflater.finish();
+        byte[] compressed = new byte[64];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        sealedBlocks.add(Arrays.copyOf(compressed, length));
+        compressedBytes += length;
+        openCount = 0;
+    }
+
+    private void inflate(int block) {
+        inflater.reset();
+        inflater.setInput(sealedBlocks.get(block));
+        try {
+            int length = 0;
+            while (length < BLOCK_BYTES && !inflater.finished()) {
+                int inflated = inflater.inflate(scratch, length, BLOCK_BYTES - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != BLOCK_BYTES) {
+                throw new IllegalStateException("Bloque " + block + " del archivo incompleto");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Bloque " + block + " del archivo corrupto", e);
+        }
+
+        ByteBuffer.wrap(scratch).asIntBuffer().get(cachedColumns);
+        cachedBlock = block;
+    }
+}
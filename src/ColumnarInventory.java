@@ -0,0 +1,296 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+
+/**
+ * Backend de inventario columnar: sellIn y quality viven en arrays primitivos y los
+ * nombres se codifican con un {@link NameDictionary}.
+ *
+ * Frente a una lista de objetos {@link Item} evita un header de objeto y un puntero por
+ * item, y el recorrido de {@link #updateQuality()} es secuencial sobre memoria contigua.
+ * Las reglas se siguen aplicando a través del {@link ItemUpdateStrategyManager}, por lo que
+ * el resultado es idéntico al de {@link GildedRose} (incluidas estrategias personalizadas).
+ * La estrategia se resuelve una vez por id de nombre y se guarda en un array indexado por
+ * ese id, así el tick no busca el nombre en la cache del manager por cada item; el array
+ * se rehace si se registran estrategias.
+ *
+ * Nota: {@link #getItem(int)} devuelve una copia; modificarla no altera el inventario.
+ */
+public class ColumnarInventory implements Inventory {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final ItemUpdateStrategyManager strategyManager;
+    private final NameDictionary names;
+
+    private int[] nameIds;
+    private int[] sellIns;
+    private int[] qualities;
+    private int size;
+
+    // Un item reutilizable por nombre distinto: las estrategias trabajan sobre Item
+    private Item[] scratchItems;
+
+    // Estrategia resuelta por id de nombre para los primeros resolvedNames nombres
+    private ItemUpdateStrategy[] strategyByNameId = new ItemUpdateStrategy[DEFAULT_CAPACITY];
+    private int resolvedNames;
+    private long resolvedStrategyVersion;
+
+    // Kernel opcional: tasa por item para DecayKernel e índices de los items que siguen
+    // pasando por su estrategia; se reconstruye si cambian el tamaño o las estrategias
+    private boolean decayKernel;
+    private int[] rates;
+    private int[] strategyIndices;
+    private int strategyCount;
+    private int kernelLayoutSize = -1;
+    private long kernelStrategyVersion;
+
+    /**
+     * Constructor que carga los items de un array, igual que {@link GildedRose#GildedRose(Item[])}.
+     */
+    public ColumnarInventory(Item[] items) {
+        this(items, new ItemUpdateStrategyManager());
+    }
+
+    /**
+     * Constructor con inyección del manager de estrategias.
+     */
+    public ColumnarInventory(Item[] items, ItemUpdateStrategyManager strategyManager) {
+        this(items == null ? 0 : items.length, strategyManager);
+        if (items == null) {
+            throw new IllegalArgumentException("Items array no puede ser null");
+        }
+
+        for (Item item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("El inventario columnar no admite items null");
+            }
+            append(names.idOf(item.name), item.sellIn, item.quality);
+        }
+    }
+
+    /**
+     * Constructor de un inventario vacío con capacidad inicial.
+     */
+    public ColumnarInventory(int initialCapacity, ItemUpdateStrategyManager strategyManager) {
+        if (initialCapacity < 0 || strategyManager == null) {
+            throw new IllegalArgumentException("Capacidad negativa o strategyManager null");
+        }
+
+        int capacity = Math.max(initialCapacity, DEFAULT_CAPACITY);
+        this.strategyManager = strategyManager;
+        this.names = new NameDictionary();
+        this.nameIds = new int[capacity];
+        this.sellIns = new int[capacity];
+        this.qualities = new int[capacity];
+        this.scratchItems = new Item[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Agrega un item aplicando las mismas validaciones que el constructor de {@link Item}.
+     * @return índice asignado al nuevo item
+     */
+    public int add(String name, int sellIn, int quality) {
+        Item validated = new Item(name, sellIn, quality);
+        return append(names.idOf(validated.name), validated.sellIn, validated.quality);
+    }
+
+    /**
+     * Agrega un item cuyo estado ya fue validado (por ejemplo, al restaurar un snapshot).
+     */
+    int addTrusted(String name, int sellIn, int quality) {
+        return append(names.idOf(name), sellIn, quality);
+    }
+
+    private int append(int nameId, int sellIn, int quality) {
+        if (size == nameIds.length) {
+            int newCapacity = nameIds.length + (nameIds.length >> 1);
+            nameIds = Arrays.copyOf(nameIds, newCapacity);
+            sellIns = Arrays.copyOf(sellIns, newCapacity);
+            qualities = Arrays.copyOf(qualities, newCapacity);
+        }
+
+        nameIds[size] = nameId;
+        sellIns[size] = sellIn;
+        qualities[size] = quality;
+        return size++;
+    }
+
+    /**
+     * Recorre las columnas secuencialmente aplicando la estrategia de cada item.
+     * Con el kernel activo, los items regulares y conjurados se actualizan con
+     * {@link DecayKernel} y solo el resto pasa por su estrategia.
+     */
+    @Override
+    public void updateQuality() {
+        resolveStrategies();
+        if (!decayKernel) {
+            for (int i = 0; i < size; i++) {
+                updateWithStrategy(i);
+            }
+            return;
+        }
+
+        ensureKernelLayout();
+        DecayKernel.apply(sellIns, qualities, rates, 0, size);
+        for (int i = 0; i < strategyCount; i++) {
+            updateWithStrategy(strategyIndices[i]);
+        }
+    }
+
+    private void updateWithStrategy(int index) {
+        int nameId = nameIds[index];
+        Item scratch = scratchItems[nameId];
+        scratch.sellIn = sellIns[index];
+        scratch.quality = qualities[index];
+
+        strategyManager.applyResolved(strategyByNameId[nameId], scratch);
+
+        sellIns[index] = scratch.sellIn;
+        qualities[index] = scratch.quality;
+    }
+
+    /**
+     * Resuelve la estrategia (y crea el item reutilizable) de los nombres agregados desde el
+     * último tick, o de todos si cambiaron las estrategias registradas.
+     */
+    private void resolveStrategies() {
+        long version = strategyManager.getStrategyVersion();
+        if (version != resolvedStrategyVersion) {
+            resolvedNames = 0;
+            resolvedStrategyVersion = version;
+        }
+        int nameCount = names.size();
+        if (nameCount > strategyByNameId.length) {
+            strategyByNameId = Arrays.copyOf(strategyByNameId, Math.max(nameCount, strategyByNameId.length * 2));
+        }
+        for (int nameId = resolvedNames; nameId < nameCount; nameId++) {
+            strategyByNameId[nameId] = strategyManager.findStrategy(scratchFor(nameId));
+        }
+        resolvedNames = nameCount;
+    }
+
+    /**
+     * Activa el kernel sin ramas para items regulares y conjurados (los que resuelven
+     * exactamente {@link RegularItemStrategy} o {@link ConjuredItemStrategy}).
+     * El resultado es el mismo; esos items no registran métricas por item en el manager.
+     */
+    public void enableDecayKernel() {
+        decayKernel = true;
+        kernelLayoutSize = -1;
+    }
+
+    public void disableDecayKernel() {
+        decayKernel = false;
+        rates = null;
+        strategyIndices = null;
+    }
+
+    /**
+     * Clasifica cada item por la estrategia resuelta de su nombre, una vez por nombre distinto.
+     */
+    private void ensureKernelLayout() {
+        long version = strategyManager.getStrategyVersion();
+        if (kernelLayoutSize == size && kernelStrategyVersion == version) {
+            return;
+        }
+
+        int[] rateByNameId = new int[names.size()];
+        for (int nameId = 0; nameId < rateByNameId.length; nameId++) {
+            rateByNameId[nameId] = DecayKernel.rateFor(strategyByNameId[nameId]);
+        }
+
+        rates = new int[size];
+        strategyIndices = new int[size];
+        strategyCount = 0;
+        for (int i = 0; i < size; i++) {
+            rates[i] = rateByNameId[nameIds[i]];
+            if (rates[i] == DecayKernel.RATE_NONE) {
+                strategyIndices[strategyCount++] = i;
+            }
+        }
+        strategyIndices = Arrays.copyOf(strategyIndices, strategyCount);
+        kernelLayoutSize = size;
+        kernelStrategyVersion = version;
+    }
+
+    /**
+     * Avanza el inventario varios días de una vez (ver {@link GildedRose#advance(int)}).
+     */
+    public void advance(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("El número de días no puede ser negativo");
+        }
+
+        resolveStrategies();
+        for (int i = 0; i < size; i++) {
+            int nameId = nameIds[i];
+            Item scratch = scratchItems[nameId];
+            scratch.sellIn = sellIns[i];
+            scratch.quality = qualities[i];
+
+            strategyManager.advanceResolved(strategyByNameId[nameId], scratch, days);
+
+            sellIns[i] = scratch.sellIn;
+            qualities[i] = scratch.quality;
+        }
+    }
+
+    /**
+     * Obtiene el item reutilizable asociado a un nombre, creándolo la primera vez.
+     */
+    private Item scratchFor(int nameId) {
+        if (nameId >= scratchItems.length) {
+            scratchItems = Arrays.copyOf(scratchItems, Math.max(nameId + 1, scratchItems.length * 2));
+        }
+
+        Item scratch = scratchItems[nameId];
+        if (scratch == null) {
+            scratch = Item.restore(names.nameOf(nameId), 0, 0);
+            scratchItems[nameId] = scratch;
+        }
+        return scratch;
+    }
+
+    /**
+     * Materializa una copia del item en la posición indicada.
+     */
+    @Override
+    public Item getItem(int index) {
+        checkIndex(index);
+        return Item.restore(names.nameOf(nameIds[index]), sellIns[index], qualities[index]);
+    }
+
+    @Override
+    public int getItemCount() {
+        return size;
+    }
+
+    public String getName(int index) {
+        checkIndex(index);
+        return names.nameOf(nameIds[index]);
+    }
+
+    public int getSellIn(int index) {
+        checkIndex(index);
+        return sellIns[index];
+    }
+
+    public int getQuality(int index) {
+        checkIndex(index);
+        return qualities[index];
+    }
+
+    /**
+     * Diccionario de nombres compartido por todos los items del inventario.
+     */
+    public NameDictionary getNames() {
+        return names;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + index);
+        }
+    }
+}
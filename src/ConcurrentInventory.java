@@ -0,0 +1,360 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Inventario que admite ventas, reposiciones y ajustes de calidad concurrentes con el tick.
+ *
+ * Cada item vive entero en un long (sellIn, quality e id de nombre) dentro de bloques de
+ * {@link AtomicLongArray}, y todas las operaciones, incluido el tick, lo reemplazan con CAS.
+ * Así:
+ * - escritores sobre items distintos no comparten ningún lock;
+ * - el tick ve cada item antes o después de una escritura concurrente, nunca a medias: si un
+ *   item cambia entre su lectura y su CAS, el tick vuelve a calcularlo sobre el valor nuevo;
+ * - una lectura siempre devuelve un estado que existió.
+ *
+ * Los ids de los items eliminados o vendidos se reutilizan en altas posteriores (como los
+ * descriptores de archivo), así que un id no debe usarse después de eliminarlo.
+ * Un alta concurrente con el tick puede o no recibir ese tick.
+ *
+ * Límites del empaquetado: quality debe caber en 16 bits con signo y hay como mucho
+ * 65535 nombres distintos.
+ */
+public class ConcurrentInventory implements Inventory {
+    
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_NAMES = 0xFFFF;
+    private static final long FREE = 0L;
+    
+    private final ItemUpdateStrategyManager strategyManager;
+    
+    // Bloques de estado; el directorio solo crece y los bloques existentes nunca se copian
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+    private final Object growLock = new Object();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Integer> freeIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger liveCount = new AtomicInteger();
+    
+    // Diccionario concurrente de nombres: el id se guarda en el estado de cada item
+    private final Map<String, Integer> nameIds = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[16];
+    private int nameCount;
+    
+    // Solo los usa el hilo que ejecuta el tick (serializado con tickLock)
+    private final Object tickLock = new Object();
+    private final Item scratch = Item.restore("", 0, 0);
+    private ItemUpdateStrategy[] strategies = new ItemUpdateStrategy[0];
+    private long strategiesVersion = -1;
+    
+    private final LongAdder casRetries = new LongAdder();
+    private final LongAdder ticks = new LongAdder();
+    
+    public ConcurrentInventory() {
+        this(new ItemUpdateStrategyManager());
+    }
+    
+    /**
+     * Constructor con inyección del manager de estrategias.
+     */
+    public ConcurrentInventory(ItemUpdateStrategyManager strategyManager) {
+        if (strategyManager == null) {
+            throw new IllegalArgumentException("strategyManager no puede ser null");
+        }
+        this.strategyManager = strategyManager;
+    }
+    
+    /**
+     * Carga los items de un array; sus ids son sus posiciones.
+     */
+    public ConcurrentInventory(Item[] items, ItemUpdateStrategyManager strategyManager) {
+        this(strategyManager);
+        if (items == null) {
+            throw new IllegalArgumentException("Items array no puede ser null");
+        }
+        for (Item item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("El inventario concurrente no admite items null");
+            }
+            add(item.name, item.sellIn, item.quality);
+        }
+    }
+    
+    /**
+     * Da de alta un item (reposición) con las mismas validaciones que el constructor de {@link Item}.
+     * @return id del item
+     */
+    public int add(String name, int sellIn, int quality) {
+        Item validated = new Item(name, sellIn, quality);
+        long state = pack(nameIdOf(validated.name), validated.sellIn, validated.quality);
+        
+        Integer reused = freeIds.poll();
+        int id = reused != null ? reused : nextId.getAndIncrement();
+        chunkFor(id).set(id & CHUNK_MASK, state);
+        liveCount.incrementAndGet();
+        return id;
+    }
+    
+    /**
+     * Elimina un item (por ejemplo, retirado del inventario).
+     * @return false si el id no tenía un item
+     */
+    public boolean remove(int id) {
+        return take(id) != FREE;
+    }
+    
+    /**
+     * Vende un item: lo retira atómicamente y devuelve su estado en el momento de la venta.
+     * @return el item vendido, o null si el id no tenía un item (por ejemplo, ya vendido)
+     */
+    public Item sell(int id) {
+        long state = take(id);
+        return state == FREE ? null : toItem(state);
+    }
+    
+    private long take(int id) {
+        AtomicLongArray chunk = existingChunk(id);
+        if (chunk == null) {
+            return FREE;
+        }
+        
+        int slot = id & CHUNK_MASK;
+        while (true) {
+            long state = chunk.get(slot);
+            if (state == FREE) {
+                return FREE;
+            }
+            if (chunk.compareAndSet(slot, state, FREE)) {
+                liveCount.decrementAndGet();
+                freeIds.offer(id);
+                return state;
+            }
+            casRetries.increment();
+        }
+    }
+    
+    /**
+     * Suma {@code delta} a la calidad respetando los mismos límites que {@link Item#setQuality}
+     * (entre 0 y 50; los items de calidad fija no cambian).
+     * @return false si el id no tenía un item
+     */
+    public boolean adjustQuality(int id, int delta) {
+        AtomicLongArray chunk = existingChunk(id);
+        if (chunk == null) {
+            return false;
+        }
+        
+        int slot = id & CHUNK_MASK;
+        while (true) {
+            long state = chunk.get(slot);
+            if (state == FREE) {
+                return false;
+            }
+            int nameId = nameIdOf(state);
+            if (Item.hasFixedQuality(names[nameId])) {
+                return true;
+            }
+            long quality = Math.max(0, Math.min(50, (long) qualityOf(state) + delta));
+            long updated = pack(nameId, sellInOf(state), (int) quality);
+            if (chunk.compareAndSet(slot, state, updated)) {
+                return true;
+            }
+            casRetries.increment();
+        }
+    }
+    
+    /**
+     * Aplica un día a todos los items. Los ticks se serializan entre sí, pero no bloquean
+     * ninguna otra operación.
+     */
+    @Override
+    public void updateQuality() {
+        synchronized (tickLock) {
+            refreshStrategies();
+            AtomicLongArray[] snapshot = chunks;
+            int limit = nextId.get();
+            for (int c = 0; c < snapshot.length && (c << CHUNK_BITS) < limit; c++) {
+                AtomicLongArray chunk = snapshot[c];
+                int slots = Math.min(CHUNK_SIZE, limit - (c << CHUNK_BITS));
+                for (int slot = 0; slot < slots; slot++) {
+                    tickSlot(chunk, slot);
+                }
+            }
+            ticks.increment();
+        }
+    }
+    
+    private void tickSlot(AtomicLongArray chunk, int slot) {
+        while (true) {
+            long state = chunk.get(slot);
+            if (state == FREE) {
+                return;
+            }
+            
+            int nameId = nameIdOf(state);
+            if (nameId >= strategies.length) {
+                refreshStrategies();
+            }
+            scratch.name = names[nameId];
+            scratch.sellIn = sellInOf(state);
+            scratch.quality = qualityOf(state);
+            strategies[nameId].updateItem(scratch);
+            
+            if (chunk.compareAndSet(slot, state, pack(nameId, scratch.sellIn, scratch.quality))) {
+                return;
+            }
+            casRetries.increment();
+        }
+    }
+    
+    /**
+     * Resuelve la estrategia de cada nombre; se repite si cambian las estrategias del
+     * manager o aparecen nombres nuevos.
+     */
+    private void refreshStrategies() {
+        String[] currentNames = names;
+        long version = strategyManager.getStrategyVersion();
+        int count = Math.min(nameCountSnapshot(), currentNames.length);
+        if (version == strategiesVersion && count <= strategies.length) {
+            return;
+        }
+        
+        ItemUpdateStrategy[] resolved = new ItemUpdateStrategy[count];
+        for (int nameId = 0; nameId < count; nameId++) {
+            resolved[nameId] = strategyManager.findStrategy(Item.restore(currentNames[nameId], 0, 0));
+        }
+        strategies = resolved;
+        strategiesVersion = version;
+    }
+    
+    /**
+     * Copia consistente del item, o null si el id no tiene un item.
+     */
+    @Override
+    public Item getItem(int id) {
+        AtomicLongArray chunk = existingChunk(id);
+        long state = chunk == null ? FREE : chunk.get(id & CHUNK_MASK);
+        return state == FREE ? null : toItem(state);
+    }
+    
+    /**
+     * Límite superior (exclusivo) de los ids asignados; algunos pueden estar libres.
+     */
+    @Override
+    public int getItemCount() {
+        return nextId.get();
+    }
+    
+    /**
+     * Número de items presentes.
+     */
+    public int getLiveCount() {
+        return liveCount.get();
+    }
+    
+    /**
+     * CAS fallidos por escrituras concurrentes sobre el mismo item (tick incluido): medida de contención.
+     */
+    public long getCasRetries() {
+        return casRetries.sum();
+    }
+    
+    public long getTickCount() {
+        return ticks.sum();
+    }
+    
+    private Item toItem(long state) {
+        return Item.restore(names[nameIdOf(state)], sellInOf(state), qualityOf(state));
+    }
+    
+    private AtomicLongArray existingChunk(int id) {
+        if (id < 0) {
+            throw new IndexOutOfBoundsException("Id inválido: " + id);
+        }
+        AtomicLongArray[] current = chunks;
+        int chunk = id >>> CHUNK_BITS;
+        return chunk < current.length ? current[chunk] : null;
+    }
+    
+    private AtomicLongArray chunkFor(int id) {
+        AtomicLongArray chunk = existingChunk(id);
+        if (chunk != null) {
+            return chunk;
+        }
+        synchronized (growLock) {
+            AtomicLongArray[] current = chunks;
+            int needed = (id >>> CHUNK_BITS) + 1;
+            if (needed > current.length) {
+                AtomicLongArray[] grown = Arrays.copyOf(current, Math.max(needed, current.length * 2));
+                for (int c = current.length; c < grown.length; c++) {
+                    grown[c] = new AtomicLongArray(CHUNK_SIZE);
+                }
+                chunks = grown;
+                return grown[id >>> CHUNK_BITS];
+            }
+            return current[id >>> CHUNK_BITS];
+        }
+    }
+    
+    private int nameIdOf(String name) {
+        Integer id = nameIds.get(name);
+        return id != null ? id : registerName(name);
+    }
+    
+    private int registerName(String name) {
+        synchronized (nameIds) {
+            Integer id = nameIds.get(name);
+            if (id != null) {
+                return id;
+            }
+            if (nameCount == MAX_NAMES) {
+                throw new IllegalStateException("Se alcanzó el máximo de " + MAX_NAMES + " nombres distintos");
+            }
+            String[] current = names;
+            if (nameCount == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[nameCount] = name;
+            // El array se publica antes que el id: quien lea el id ya ve el nombre
+            names = current;
+            nameIds.put(name, nameCount);
+            return nameCount++;
+        }
+    }
+    
+    private int nameCountSnapshot() {
+        synchronized (nameIds) {
+            return nameCount;
+        }
+    }
+    
+    /**
+     * Empaqueta un item: sellIn en los 32 bits altos, quality en 16 bits y el id de nombre
+     * más uno en los 16 bajos, de modo que 0 ({@link #FREE}) nunca es un item.
+     */
+    private static long pack(int nameId, int sellIn, int quality) {
+        if (quality != (short) quality) {
+            throw new IllegalStateException("Calidad fuera del rango del inventario concurrente: " + quality);
+        }
+        return ((long) sellIn << 32) | ((long) (quality & 0xFFFF) << 16) | (nameId + 1);
+    }
+    
+    private static int sellInOf(long state) {
+        return (int) (state >> 32);
+    }
+    
+    private static int qualityOf(long state) {
+        return (short) (state >>> 16);
+    }
+    
+    private static int nameIdOf(long state) {
+        return (int) (state & 0xFFFF) - 1;
+    }
+}
@@ -32,4 +32,42 @@ public class ConjuredItemStrategy implements ItemUpdateStrategy {
         // Aplicar degradación respetando límites
         item.quality = Math.max(MIN_QUALITY, item.quality - qualityDecrease);
     }
+    
+    @Override
+    public void updateItems(Item[] items, int from, int to) {
+        for (int i = from; i < to; i++) {
+            updateItem(items[i]);
+        }
+    }
+    
+    /**
+     * Fórmula cerrada equivalente a aplicar updateItem día a día.
+     */
+    @Override
+    public void advanceItem(Item item, int days) {
+        if (days <= 0) {
+            return;
+        }
+        
+        int freshDecrease = BASE_QUALITY_DECREASE * QUALITY_DECREASE_MULTIPLIER;
+        int expiredDecrease = freshDecrease * QUALITY_DECREASE_MULTIPLIER;
+        long freshDays = AgingMath.daysBeforeExpiry(item.sellIn, days);
+        long totalDecrease = freshDays * freshDecrease + (days - freshDays) * expiredDecrease;
+        
+        item.sellIn -= days;
+        item.quality = AgingMath.clampToInt(Math.max(MIN_QUALITY, item.quality - totalDecrease));
+    }
+    
+    @Override
+    public boolean supportsAnalyticAdvance() {
+        return true;
+    }
+    
+    /**
+     * Igual que un item normal: al llegar al mínimo la calidad ya no cambia.
+     */
+    @Override
+    public boolean isSettled(Item item) {
+        return item.quality == MIN_QUALITY;
+    }
 } 
\ No newline at end of file
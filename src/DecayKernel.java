@@ -0,0 +1,106 @@
+package com.gildedrose;
+
+/**
+ * Kernel de envejecimiento sin ramas para items regulares y conjurados sobre columnas
+ * primitivas de sellIn y quality.
+ *
+ * Cada item tiene una tasa de degradación por día: 1 para regulares, 2 para conjurados y 0
+ * para los que el kernel no debe tocar. Para tasa distinta de cero el resultado es idéntico
+ * bit a bit a {@link RegularItemStrategy#updateItem} y {@link ConjuredItemStrategy#updateItem}:
+ * <pre>
+ * sellIn  = sellIn - 1
+ * quality = max(0, quality - (sellIn &lt; 0 ? 2 * tasa : tasa))
+ * </pre>
+ *
+ * Si el módulo {@code jdk.incubator.vector} está disponible en tiempo de ejecución
+ * ({@code --add-modules jdk.incubator.vector}) se usa la implementación con la Vector API,
+ * que procesa varios items por instrucción; si no, un bucle escalar equivalente.
+ * La propiedad {@code -Dgildedrose.decayKernel.scalar=true} fuerza el bucle escalar.
+ */
+public final class DecayKernel {
+    
+    public static final int RATE_NONE = 0;
+    public static final int RATE_REGULAR = 1;
+    public static final int RATE_CONJURED = 2;
+    
+    /**
+     * Implementación intercambiable del kernel; la vectorial solo se carga si la API existe.
+     */
+    interface Implementation {
+        void apply(int[] sellIns, int[] qualities, int[] rates, int from, int to);
+    }
+    
+    private static final Implementation VECTOR = loadVectorImplementation();
+    
+    private DecayKernel() {
+    }
+    
+    private static Implementation loadVectorImplementation() {
+        if (Boolean.getBoolean("gildedrose.decayKernel.scalar")) {
+            return null;
+        }
+        try {
+            return (Implementation) Class.forName("com.gildedrose.VectorDecayKernel")
+                .getDeclaredConstructor()
+                .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Sin jdk.incubator.vector en el module graph la clase no puede enlazarse
+            return null;
+        }
+    }
+    
+    /**
+     * Indica si {@link #apply} usa la Vector API.
+     */
+    public static boolean isVectorized() {
+        return VECTOR != null;
+    }
+    
+    /**
+     * Aplica un día a los items {@code [from, to)} con la mejor implementación disponible.
+     */
+    public static void apply(int[] sellIns, int[] qualities, int[] rates, int from, int to) {
+        checkRange(sellIns, qualities, rates, from, to);
+        if (VECTOR != null) {
+            VECTOR.apply(sellIns, qualities, rates, from, to);
+        } else {
+            applyScalar(sellIns, qualities, rates, from, to);
+        }
+    }
+    
+    /**
+     * Versión escalar del kernel: sin saltos dependientes de los datos, así que también
+     * es candidata a la auto-vectorización de C2.
+     */
+    public static void applyScalar(int[] sellIns, int[] qualities, int[] rates, int from, int to) {
+        checkRange(sellIns, qualities, rates, from, to);
+        for (int i = from; i < to; i++) {
+            int rate = rates[i];
+            int active = (rate | -rate) >>> 31;
+            int sellIn = sellIns[i] - active;
+            int decayed = Math.max(0, qualities[i] - (rate << (sellIn >>> 31)));
+            sellIns[i] = sellIn;
+            qualities[i] = active != 0 ? decayed : qualities[i];
+        }
+    }
+    
+    /**
+     * Tasa del kernel para una estrategia ya resuelta. Solo se delegan las clases exactas:
+     * una subclase puede cambiar las reglas.
+     */
+    static int rateFor(ItemUpdateStrategy strategy) {
+        if (strategy.getClass() == RegularItemStrategy.class) {
+            return RATE_REGULAR;
+        }
+        if (strategy.getClass() == ConjuredItemStrategy.class) {
+            return RATE_CONJURED;
+        }
+        return RATE_NONE;
+    }
+    
+    private static void checkRange(int[] sellIns, int[] qualities, int[] rates, int from, int to) {
+        if (from < 0 || from > to || to > sellIns.length || to > qualities.length || to > rates.length) {
+            throw new IndexOutOfBoundsException("Rango inválido [" + from + ", " + to + ")");
+        }
+    }
+}
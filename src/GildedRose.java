@@ -1,7 +1,13 @@
 package com.gildedrose;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
 
 /**
  * Clase GildedRose refactorizada aplicando principios SOLID y patrón Strategy.
@@ -13,11 +19,35 @@ import java.util.List;
  * - Interface Segregation: interfaces específicas y enfocadas
  * - Dependency Inversion: depende de abstracciones, no de implementaciones concretas
  */
-public class GildedRose {
+public class GildedRose implements Inventory {
+    
+    // Items por bloque entregado a los agregados de updateQuality(TickAggregate...)
+    private static final int AGGREGATE_BLOCK_SIZE = 512;
     
     private final List<Item> items;
     private final ItemUpdateStrategyManager strategyManager;
     
+    // Modo paralelo opcional: null significa actualización secuencial
+    private ForkJoinPool parallelPool;
+    private int parallelThreshold;
+    
+    private UpdateMetrics metrics = UpdateMetrics.NOOP;
+    
+    // Días transcurridos desde la creación e historial opcional por día
+    private int currentDay;
+    private InventoryHistory history;
+    
+    // Observadores notificados dentro del mismo recorrido del tick
+    private final List<ItemChangeListener> listeners = new ArrayList<>();
+    private InventoryIndexes indexes;
+    
+    // Notificados al terminar cada tick, sin recibir los items uno a uno
+    private final List<IntConsumer> tickEndListeners = new ArrayList<>();
+    
+    // Despacho por lotes: items agrupados por estrategia, reutilizado entre ticks
+    private boolean batchDispatch;
+    private StrategyGrouping grouping;
+    
     /**
      * Constructor que acepta array para mantener compatibilidad con código legacy.
      * Internamente usa List para mejor manejo de colecciones.
@@ -68,12 +98,333 @@ public class GildedRose {
      * - KISS: lógica simple y directa
      * - Single Responsibility: solo coordina, no implementa lógica específica
      */
+    @Override
     public void updateQuality() {
-        for (Item item : items) {
-            if (item != null) {
-                strategyManager.updateItem(item);
+        long start = System.nanoTime();
+        
+        if (!listeners.isEmpty()) {
+            updateSequentially(1, null);
+        } else if (batchDispatch) {
+            if (!currentGrouping().update(items, strategyManager, parallelPool, parallelThreshold, metrics)) {
+                grouping = null;
+            }
+        } else if (shouldRunInParallel()) {
+            parallelPool.invoke(new ParallelUpdateTask(
+                items, strategyManager, 0, items.size(), parallelThreshold));
+        } else {
+            for (Item item : items) {
+                if (item != null) {
+                    strategyManager.updateItem(item);
+                }
             }
         }
+        
+        metrics.recordTick(System.nanoTime() - start, items.size());
+        endOfDays(1);
+    }
+    
+    /**
+     * Tick que además calcula los agregados indicados en la misma pasada sobre los items,
+     * sin recorrer el inventario otra vez al terminar (ver {@link TickAggregates}).
+     * Los items se actualizan en bloques y cada agregado recibe el bloque mientras sigue en
+     * cache. Este tick es secuencial aunque estén activos el modo paralelo o por lotes.
+     * @throws IllegalArgumentException si algún agregado es null o aparece más de una vez
+     */
+    public TickResult updateQuality(TickAggregate<?>... aggregates) {
+        if (aggregates == null) {
+            throw new IllegalArgumentException("Aggregates no puede ser null");
+        }
+        // Un agregado repetido recibiría cada bloque dos veces y contaría doble
+        for (int i = 0; i < aggregates.length; i++) {
+            if (aggregates[i] == null) {
+                throw new IllegalArgumentException("Aggregate no puede ser null");
+            }
+            for (int j = 0; j < i; j++) {
+                if (aggregates[j] == aggregates[i]) {
+                    throw new IllegalArgumentException("El mismo agregado se pasó más de una vez");
+                }
+            }
+        }
+        
+        long start = System.nanoTime();
+        for (TickAggregate<?> aggregate : aggregates) {
+            aggregate.reset();
+        }
+        updateSequentially(1, new AggregateBlocks(aggregates));
+        long elapsed = System.nanoTime() - start;
+        metrics.recordTick(elapsed, items.size());
+        endOfDays(1);
+        
+        Map<TickAggregate<?>, Object> results = new IdentityHashMap<>();
+        for (TickAggregate<?> aggregate : aggregates) {
+            results.put(aggregate, aggregate.result());
+        }
+        return new TickResult(currentDay, elapsed, results);
+    }
+    
+    /**
+     * Avanza el inventario varios días de una vez.
+     * Equivale a llamar {@link #updateQuality()} {@code days} veces, pero las estrategias con
+     * fórmula cerrada lo resuelven en O(1) por item en lugar de O(días).
+     * Las métricas lo registran como un avance de {@code days} días, no como {@code days} ticks.
+     */
+    public void advance(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("El número de días no puede ser negativo");
+        }
+        
+        long start = System.nanoTime();
+        if (!listeners.isEmpty()) {
+            updateSequentially(days, null);
+        } else {
+            for (Item item : items) {
+                if (item != null) {
+                    strategyManager.advanceItem(item, days);
+                }
+            }
+        }
+        metrics.recordAdvance(System.nanoTime() - start, items.size(), days);
+        endOfDays(days);
+    }
+    
+    /**
+     * Recorrido secuencial que notifica a los listeners cada cambio con su estado anterior.
+     * {@code sink}, si no es null, recibe los mismos cambios después de los listeners y
+     * termina antes que ellos; así se alimentan los agregados de un tick.
+     */
+    private void updateSequentially(int days, ItemChangeListener sink) {
+        int day = currentDay + days;
+        for (ItemChangeListener listener : listeners) {
+            listener.onTickStart(day, days);
+        }
+        
+        for (int index = 0; index < items.size(); index++) {
+            Item item = items.get(index);
+            if (item == null) {
+                continue;
+            }
+            
+            int oldSellIn = item.sellIn;
+            int oldQuality = item.quality;
+            ItemUpdateStrategy strategy = days == 1
+                ? strategyManager.applyUpdate(item)
+                : strategyManager.applyAdvance(item, days);
+            
+            for (ItemChangeListener listener : listeners) {
+                listener.onItemUpdated(index, item, strategy, oldSellIn, oldQuality);
+            }
+            if (sink != null) {
+                sink.onItemUpdated(index, item, strategy, oldSellIn, oldQuality);
+            }
+        }
+        
+        if (sink != null) {
+            sink.onTickEnd(day);
+        }
+        for (ItemChangeListener listener : listeners) {
+            listener.onTickEnd(day);
+        }
+    }
+    
+    /**
+     * Junta los items actualizados en bloques y entrega cada bloque a los agregados mientras
+     * sigue en cache; el último bloque, incompleto, se entrega al terminar el tick.
+     */
+    private static final class AggregateBlocks implements ItemChangeListener {
+        private final TickAggregate<?>[] aggregates;
+        private final Item[] block = new Item[AGGREGATE_BLOCK_SIZE];
+        private final ItemUpdateStrategy[] strategies = new ItemUpdateStrategy[AGGREGATE_BLOCK_SIZE];
+        private final int[] oldSellIns = new int[AGGREGATE_BLOCK_SIZE];
+        private final int[] oldQualities = new int[AGGREGATE_BLOCK_SIZE];
+        private int count;
+        
+        AggregateBlocks(TickAggregate<?>[] aggregates) {
+            this.aggregates = aggregates;
+        }
+        
+        @Override
+        public void onItemUpdated(int index, Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality) {
+            block[count] = item;
+            strategies[count] = strategy;
+            oldSellIns[count] = oldSellIn;
+            oldQualities[count] = oldQuality;
+            if (++count == AGGREGATE_BLOCK_SIZE) {
+                flush();
+            }
+        }
+        
+        @Override
+        public void onTickEnd(int day) {
+            flush();
+        }
+        
+        private void flush() {
+            for (TickAggregate<?> aggregate : aggregates) {
+                aggregate.acceptAll(block, strategies, oldSellIns, oldQualities, count);
+            }
+            count = 0;
+        }
+    }
+    
+    /**
+     * Activa el despacho por lotes: los items se agrupan una vez por estrategia resuelta y
+     * cada estrategia recibe su grupo completo en {@link ItemUpdateStrategy#updateItems},
+     * de modo que cada bucle es monomórfico. La agrupación se reutiliza entre ticks y se
+     * reconstruye sola si se registran estrategias, cambia el tamaño de la lista o algún item
+     * reemplazado o renombrado cambia de estrategia; los que la conservan se toman sin reagrupar.
+     * Es compatible con el modo paralelo, que divide los grupos grandes en tramos.
+     */
+    public void enableBatchDispatch() {
+        batchDispatch = true;
+    }
+    
+    public void disableBatchDispatch() {
+        batchDispatch = false;
+        grouping = null;
+    }
+    
+    /**
+     * Descarta la agrupación por estrategia para que se reconstruya en el próximo tick.
+     * No hace falta para mantener el resultado correcto; sirve para reagrupar de una vez
+     * después de muchos cambios en la lista.
+     */
+    public void invalidateStrategyGrouping() {
+        grouping = null;
+    }
+    
+    private StrategyGrouping currentGrouping() {
+        if (grouping == null || !grouping.isValidFor(items, strategyManager)) {
+            grouping = StrategyGrouping.build(items, strategyManager);
+        }
+        return grouping;
+    }
+    
+    /**
+     * Registra un observador de los cambios de cada tick.
+     * Mientras haya listeners, la actualización es secuencial aunque el modo paralelo esté activo.
+     */
+    public void addChangeListener(ItemChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener no puede ser null");
+        }
+        listeners.add(listener);
+    }
+    
+    public void removeChangeListener(ItemChangeListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Registra una acción que se ejecuta al terminar cada tick o {@link #advance(int)}, con el
+     * día alcanzado. A diferencia de {@link ItemChangeListener} no recibe cada item, así que no
+     * obliga a actualizar de forma secuencial: el modo paralelo y el despacho por lotes siguen activos.
+     */
+    public void addTickEndListener(IntConsumer listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener no puede ser null");
+        }
+        tickEndListeners.add(listener);
+    }
+    
+    public void removeTickEndListener(IntConsumer listener) {
+        tickEndListeners.remove(listener);
+    }
+    
+    /**
+     * Construye los índices secundarios (vencimiento, calidad y tipo de estrategia) y los
+     * mantiene actualizados en cada tick, dentro del mismo recorrido sobre los items.
+     * @return los índices, también disponibles con {@link #getIndexes()}
+     */
+    public InventoryIndexes enableIndexes() {
+        if (indexes == null) {
+            indexes = new InventoryIndexes(items, strategyManager, currentDay);
+            addChangeListener(indexes);
+        }
+        return indexes;
+    }
+    
+    /**
+     * Índices secundarios, o null si no se activaron con {@link #enableIndexes()}.
+     */
+    public InventoryIndexes getIndexes() {
+        return indexes;
+    }
+    
+    private void endOfDays(int days) {
+        currentDay += days;
+        for (IntConsumer listener : tickEndListeners) {
+            listener.accept(currentDay);
+        }
+    }
+    
+    /**
+     * Activa el historial por día: a partir de ahora se puede consultar el estado de cada
+     * item en cualquier día de los últimos {@code retentionDays} con {@link #getItem(int, int)}.
+     * Los cambios se anotan dentro del mismo recorrido del tick y solo los items cuya calidad
+     * cambia ocupan memoria por día. La ventana empieza en el día actual, y los días
+     * intermedios de {@link #advance(int)} no se registran. Como con los demás listeners,
+     * mientras el historial esté activo el tick es secuencial.
+     */
+    public void enableHistory(int retentionDays) {
+        InventoryHistory enabled = new InventoryHistory(items, currentDay, retentionDays);
+        if (history != null) {
+            removeChangeListener(history);
+        }
+        history = enabled;
+        addChangeListener(history);
+    }
+    
+    /**
+     * Obtiene una copia del item tal como estaba al final del día indicado.
+     * @throws IllegalStateException si el historial no está activado
+     */
+    public Item getItem(int index, int day) {
+        if (history == null) {
+            throw new IllegalStateException("El historial no está activado, ver enableHistory");
+        }
+        return history.getItem(index, day);
+    }
+    
+    /**
+     * Número de días avanzados desde la creación del inventario.
+     */
+    public int getCurrentDay() {
+        return currentDay;
+    }
+    
+    /**
+     * Activa la actualización paralela: la lista se divide en tramos que se procesan en el pool.
+     * Las estrategias (incluidas las personalizadas) se ejecutan entonces concurrentemente sobre
+     * items distintos; ver el contrato de concurrencia de {@link ItemUpdateStrategy}.
+     * 
+     * @param pool pool donde se ejecutan los tramos
+     * @param sequentialThreshold tamaño de tramo por debajo del cual se actualiza secuencialmente;
+     *                            inventarios más pequeños que este valor no se paralelizan
+     */
+    public void enableParallelUpdates(ForkJoinPool pool, int sequentialThreshold) {
+        if (pool == null || sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Pool no puede ser null y el umbral debe ser positivo");
+        }
+        
+        this.parallelPool = pool;
+        this.parallelThreshold = sequentialThreshold;
+    }
+    
+    /**
+     * Vuelve a la actualización secuencial.
+     */
+    public void disableParallelUpdates() {
+        this.parallelPool = null;
+    }
+    
+    /**
+     * Solo se paraleliza si hay pool configurado, el inventario supera el umbral y la lista
+     * admite acceso por índice eficiente (una LinkedList se recorre secuencialmente).
+     */
+    private boolean shouldRunInParallel() {
+        return parallelPool != null
+            && items.size() > parallelThreshold
+            && items instanceof RandomAccess;
     }
     
     /**
@@ -88,6 +439,7 @@ public class GildedRose {
      * Obtiene un item específico por índice.
      * Mantiene compatibilidad con código que espera acceso por índice.
      */
+    @Override
     public Item getItem(int index) {
         if (index < 0 || index >= items.size()) {
             throw new IndexOutOfBoundsException("Índice fuera de rango: " + index);
@@ -98,10 +450,20 @@ public class GildedRose {
     /**
      * Obtiene el número total de items.
      */
+    @Override
     public int getItemCount() {
         return items.size();
     }
     
+    /**
+     * Activa la instrumentación del tick y de cada item (también en el manager de estrategias).
+     * Usar {@link UpdateMetrics#NOOP} para desactivarla.
+     */
+    public void setMetrics(UpdateMetrics metrics) {
+        strategyManager.setMetrics(metrics);
+        this.metrics = metrics;
+    }
+    
     /**
      * Permite agregar nuevas estrategias dinámicamente.
      * Útil para extensibilidad y testing.
@@ -0,0 +1,135 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Multimapa clave -> posiciones de item basado en listas doblemente enlazadas intrusivas
+ * sobre arrays de enteros. Mover un item de clave cuesta O(1) más la búsqueda del bucket
+ * destino y no asigna memoria salvo al crear un bucket nuevo.
+ */
+final class IntrusiveIndex<K> {
+    
+    private static final int NONE = -1;
+    
+    /**
+     * Lista de items que comparten una clave.
+     */
+    static final class Bucket<K> {
+        final K key;
+        int head = NONE;
+        int size;
+        
+        Bucket(K key) {
+            this.key = key;
+        }
+    }
+    
+    private final Map<K, Bucket<K>> buckets;
+    private int[] next;
+    private int[] previous;
+    private Bucket<K>[] bucketOf;
+    
+    IntrusiveIndex(Map<K, Bucket<K>> buckets, int initialCapacity) {
+        this.buckets = buckets;
+        this.next = new int[initialCapacity];
+        this.previous = new int[initialCapacity];
+        this.bucketOf = newBucketArray(initialCapacity);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <K> Bucket<K>[] newBucketArray(int length) {
+        return (Bucket<K>[]) new Bucket<?>[length];
+    }
+    
+    /**
+     * Asocia el item a la clave, moviéndolo si estaba asociado a otra.
+     */
+    void put(int item, K key) {
+        ensureCapacity(item);
+        Bucket<K> current = bucketOf[item];
+        if (current != null) {
+            if (current.key.equals(key)) {
+                return;
+            }
+            unlink(item, current);
+        }
+        
+        Bucket<K> target = buckets.computeIfAbsent(key, Bucket::new);
+        next[item] = target.head;
+        previous[item] = NONE;
+        if (target.head != NONE) {
+            previous[target.head] = item;
+        }
+        target.head = item;
+        target.size++;
+        bucketOf[item] = target;
+    }
+    
+    /**
+     * Clave a la que está asociado el item, o null si no está en el índice.
+     */
+    K keyOf(int item) {
+        Bucket<K> bucket = item < bucketOf.length ? bucketOf[item] : null;
+        return bucket == null ? null : bucket.key;
+    }
+    
+    /**
+     * Quita el item del índice (si estaba).
+     */
+    void remove(int item) {
+        if (item < bucketOf.length && bucketOf[item] != null) {
+            unlink(item, bucketOf[item]);
+        }
+    }
+    
+    private void unlink(int item, Bucket<K> bucket) {
+        int before = previous[item];
+        int after = next[item];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            bucket.head = after;
+        }
+        if (after != NONE) {
+            previous[after] = before;
+        }
+        
+        bucketOf[item] = null;
+        if (--bucket.size == 0) {
+            buckets.remove(bucket.key);
+        }
+    }
+    
+    /**
+     * Recorre los items de todos los buckets dados.
+     */
+    void forEachIn(Iterable<Bucket<K>> selected, IntConsumer action) {
+        for (Bucket<K> bucket : selected) {
+            for (int item = bucket.head; item != NONE; item = next[item]) {
+                action.accept(item);
+            }
+        }
+    }
+    
+    /**
+     * Número de items en los buckets dados.
+     */
+    static <K> int count(Iterable<Bucket<K>> selected) {
+        int total = 0;
+        for (Bucket<K> bucket : selected) {
+            total += bucket.size;
+        }
+        return total;
+    }
+    
+    private void ensureCapacity(int item) {
+        if (item >= next.length) {
+            int newLength = Math.max(item + 1, next.length + (next.length >> 1));
+            next = Arrays.copyOf(next, newLength);
+            previous = Arrays.copyOf(previous, newLength);
+            bucketOf = Arrays.copyOf(bucketOf, newLength);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.gildedrose;
+
+/**
+ * Contrato común de los distintos backends de inventario.
+ * Principio Dependency Inversion: el código cliente depende de esta abstracción y no
+ * de cómo se almacenan los items (lista de objetos, columnas primitivas, etc.).
+ */
+public interface Inventory {
+    
+    /**
+     * Avanza un día aplicando la estrategia correspondiente a cada item.
+     */
+    void updateQuality();
+    
+    /**
+     * Obtiene el item en la posición indicada.
+     * @param index posición del item, entre 0 y {@link #getItemCount()} - 1
+     * @return el item en esa posición
+     */
+    Item getItem(int index);
+    
+    /**
+     * Obtiene el número total de items.
+     */
+    int getItemCount();
+}
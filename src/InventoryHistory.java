@@ -0,0 +1,486 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Historial versionado por día del estado de cada item, mantenido como
+ * {@link ItemChangeListener} dentro del mismo recorrido del tick (ver
+ * {@link GildedRose#enableHistory(int)}).
+ *
+ * El sellIn no se guarda por día: cada item tiene una recta {@code (día, sellIn, ritmo)} y el
+ * sellIn de cualquier día se calcula a partir de ella (el ritmo es 1 para casi todos los items
+ * y 0 para Sulfuras). Solo se anota una versión cuando cambia la calidad de un item, y una
+ * recta nueva cuando el item se reemplaza o su sellIn se sale de la recta. Un item que no
+ * cambia no ocupa memoria por día.
+ *
+ * Las versiones de todos los items viven en arrays compartidos ({@link VersionChain}), pero
+ * cada una enlaza con la anterior del mismo item, así que consultar un día es una búsqueda
+ * O(log n) sobre las versiones de ese item, sin mirar los demás.
+ *
+ * Los días anteriores a la ventana de retención se consolidan periódicamente en el estado
+ * base de cada item. La ventana nunca empieza antes del día en que se activó el historial.
+ *
+ * Si un tick avanza varios días (por ejemplo con {@link GildedRose#advance(int)}) los días
+ * intermedios no tienen estado conocido y consultarlos se rechaza.
+ */
+public class InventoryHistory implements ItemChangeListener {
+
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int UNKNOWN_RATE = Integer.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int retentionDays;
+
+    // Estado base por item: vigente desde el inicio de la ventana; baseDays[i] == NONE si no existía
+    private int[] baseDays;
+    private int[] baseSellIns;
+    private int[] baseRates;
+    private int[] baseQualities;
+    private String[] baseNames;
+
+    // Último estado conocido por item, para detectar cambios sin guardar copias
+    private int[] lineDays;
+    private int[] lineSellIns;
+    private int[] lineRates;
+    private int[] currentQualities;
+    private String[] currentNames;
+    private int itemCapacity;
+
+    // Última versión de cada item en cada cadena (-1 si no tiene ninguna sin consolidar)
+    private int[] qualityHeads;
+    private int[] lineHeads;
+
+    // Cambios de calidad: nueva calidad
+    private final VersionChain qualityChain = new VersionChain();
+    private int[] versionQualities = new int[INITIAL_CAPACITY];
+
+    // Items nuevos, reemplazados o fuera de su recta de sellIn: estado completo
+    private final VersionChain lineChain = new VersionChain();
+    private int[] resetSellIns = new int[INITIAL_CAPACITY];
+    private int[] resetRates = new int[INITIAL_CAPACITY];
+    private int[] resetQualities = new int[INITIAL_CAPACITY];
+    private String[] resetNames = new String[INITIAL_CAPACITY];
+
+    private final int firstDay;
+    private int currentDay;
+    private int oldestDay;
+    private int lastCompactionDay;
+    private int tickDay;
+    private int tickDays;
+
+    // Rangos de días [inicio, fin] saltados por ticks de varios días, en orden creciente
+    private int[] gapStarts = new int[0];
+    private int[] gapEnds = new int[0];
+    private int gapCount;
+
+    /**
+     * Toma el estado inicial recorriendo el inventario una vez. El ritmo de sellIn de cada
+     * item todavía no se conoce: se toma del primer tick en que se observa el item.
+     * @param retentionDays número de días hacia atrás que se pueden consultar
+     */
+    InventoryHistory(List<Item> items, int day, int retentionDays) {
+        if (retentionDays < 0) {
+            throw new IllegalArgumentException("La retención no puede ser negativa");
+        }
+
+        this.retentionDays = retentionDays;
+        this.firstDay = day;
+        this.currentDay = day;
+        this.oldestDay = day;
+        this.lastCompactionDay = day;
+        this.tickDay = day;
+        allocateItems(Math.max(items.size(), INITIAL_CAPACITY));
+
+        for (int index = 0; index < items.size(); index++) {
+            Item item = items.get(index);
+            if (item == null) {
+                continue;
+            }
+
+            // En el día base el ritmo no influye; se corrige al aprender el ritmo real
+            setBase(index, day, item.sellIn, 0, item.quality, item.name);
+            setLine(index, day, item.sellIn, UNKNOWN_RATE, item.quality, item.name);
+        }
+    }
+
+    @Override
+    public void onTickStart(int day, int days) {
+        tickDay = day;
+        tickDays = days;
+    }
+
+    @Override
+    public void onItemUpdated(int index, Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality) {
+        if (index >= itemCapacity) {
+            growItems(index + 1);
+        }
+
+        boolean knownRate = lineRates[index] != UNKNOWN_RATE;
+        int observedRate = tickDays > 0 ? (oldSellIn - item.sellIn) / tickDays : knownRate ? lineRates[index] : 0;
+        int rate = knownRate ? lineRates[index] : observedRate;
+        boolean sameItem = lineDays[index] != NONE
+            && (currentNames[index] == item.name || currentNames[index].equals(item.name))
+            && lineSellIns[index] - rate * (tickDay - lineDays[index]) == item.sellIn;
+        if (!sameItem) {
+            appendReset(index, item.sellIn, observedRate, item.quality, item.name);
+            setLine(index, tickDay, item.sellIn, observedRate, item.quality, item.name);
+            return;
+        }
+
+        if (!knownRate && tickDays > 0) {
+            // La recta sigue siendo la del estado inicial, que también es el estado base
+            lineRates[index] = rate;
+            baseRates[index] = rate;
+        }
+        if (currentQualities[index] != item.quality) {
+            appendVersion(index, item.quality);
+            currentQualities[index] = item.quality;
+        }
+    }
+
+    @Override
+    public void onTickEnd(int day) {
+        if (day > currentDay + 1) {
+            addGap(currentDay + 1, day - 1);
+        }
+        currentDay = day;
+        oldestDay = Math.max(firstDay, day - retentionDays);
+        if (currentDay - lastCompactionDay >= Math.max(1, retentionDays)) {
+            consolidateExpiredDays();
+            lastCompactionDay = currentDay;
+        }
+    }
+
+    /**
+     * Obtiene una copia del item tal como estaba al final del día indicado.
+     * @throws IllegalArgumentException si el día está fuera de la ventana de retención o
+     *         cae en un salto de varios días que no se registró
+     */
+    public Item getItem(int index, int day) {
+        if (index < 0 || index >= itemCapacity) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + index);
+        }
+        if (day < oldestDay || day > currentDay) {
+            throw new IllegalArgumentException(
+                "Día " + day + " fuera de la ventana de retención [" + oldestDay + ", " + currentDay + "]");
+        }
+        if (isInGap(day)) {
+            throw new IllegalArgumentException("El día " + day + " no se registró: cae dentro de un avance de varios días");
+        }
+
+        String name;
+        int sellIn;
+        int quality;
+        int stateDay;
+        int reset = lineChain.find(lineHeads[index], day);
+        if (reset >= 0) {
+            stateDay = lineChain.days[reset];
+            name = resetNames[reset];
+            sellIn = resetSellIns[reset] - resetRates[reset] * (day - stateDay);
+            quality = resetQualities[reset];
+        } else if (baseDays[index] != NONE) {
+            stateDay = baseDays[index];
+            name = baseNames[index];
+            sellIn = baseSellIns[index] - baseRates[index] * (day - stateDay);
+            quality = baseQualities[index];
+        } else {
+            throw new IllegalArgumentException("El item " + index + " no existía el día " + day);
+        }
+
+        // Un cambio de calidad solo cuenta si es posterior al estado completo encontrado
+        int version = qualityChain.find(qualityHeads[index], day);
+        if (version >= 0 && qualityChain.days[version] > stateDay) {
+            quality = versionQualities[version];
+        }
+        return Item.restore(name, sellIn, quality);
+    }
+
+    /**
+     * Consolida en el estado base las versiones hasta {@code oldestDay}, en orden de día, y
+     * las descarta.
+     */
+    private void consolidateExpiredDays() {
+        int expiredGaps = 0;
+        while (expiredGaps < gapCount && gapEnds[expiredGaps] < oldestDay) {
+            expiredGaps++;
+        }
+        if (expiredGaps > 0) {
+            gapCount -= expiredGaps;
+            System.arraycopy(gapStarts, expiredGaps, gapStarts, 0, gapCount);
+            System.arraycopy(gapEnds, expiredGaps, gapEnds, 0, gapCount);
+        }
+
+        int expiredResets = lineChain.countUpTo(oldestDay);
+        int expiredVersions = qualityChain.countUpTo(oldestDay);
+        if (expiredResets == 0 && expiredVersions == 0) {
+            return;
+        }
+
+        int reset = 0;
+        int version = 0;
+        while (reset < expiredResets || version < expiredVersions) {
+            if (version == expiredVersions
+                || (reset < expiredResets && lineChain.days[reset] <= qualityChain.days[version])) {
+                setBase(lineChain.items[reset], lineChain.days[reset], resetSellIns[reset], resetRates[reset],
+                        resetQualities[reset], resetNames[reset]);
+                reset++;
+            } else {
+                baseQualities[qualityChain.items[version]] = versionQualities[version];
+                version++;
+            }
+        }
+
+        int resetCount = lineChain.drop(expiredResets, lineHeads, itemCapacity);
+        System.arraycopy(resetSellIns, expiredResets, resetSellIns, 0, resetCount);
+        System.arraycopy(resetRates, expiredResets, resetRates, 0, resetCount);
+        System.arraycopy(resetQualities, expiredResets, resetQualities, 0, resetCount);
+        System.arraycopy(resetNames, expiredResets, resetNames, 0, resetCount);
+        Arrays.fill(resetNames, resetCount, resetCount + expiredResets, null);
+
+        int versionCount = qualityChain.drop(expiredVersions, qualityHeads, itemCapacity);
+        System.arraycopy(versionQualities, expiredVersions, versionQualities, 0, versionCount);
+    }
+
+    private void appendVersion(int index, int quality) {
+        int version = qualityChain.append(qualityHeads[index], index, tickDay);
+        if (version == versionQualities.length) {
+            versionQualities = Arrays.copyOf(versionQualities, version * 2);
+        }
+        versionQualities[version] = quality;
+        qualityHeads[index] = version;
+    }
+
+    private void appendReset(int index, int sellIn, int rate, int quality, String name) {
+        int reset = lineChain.append(lineHeads[index], index, tickDay);
+        if (reset == resetSellIns.length) {
+            int newCapacity = reset * 2;
+            resetSellIns = Arrays.copyOf(resetSellIns, newCapacity);
+            resetRates = Arrays.copyOf(resetRates, newCapacity);
+            resetQualities = Arrays.copyOf(resetQualities, newCapacity);
+            resetNames = Arrays.copyOf(resetNames, newCapacity);
+        }
+        resetSellIns[reset] = sellIn;
+        resetRates[reset] = rate;
+        resetQualities[reset] = quality;
+        resetNames[reset] = name;
+        lineHeads[index] = reset;
+    }
+
+    private void setBase(int index, int day, int sellIn, int rate, int quality, String name) {
+        baseDays[index] = day;
+        baseSellIns[index] = sellIn;
+        baseRates[index] = rate;
+        baseQualities[index] = quality;
+        baseNames[index] = name;
+    }
+
+    private void setLine(int index, int day, int sellIn, int rate, int quality, String name) {
+        lineDays[index] = day;
+        lineSellIns[index] = sellIn;
+        lineRates[index] = rate;
+        currentQualities[index] = quality;
+        currentNames[index] = name;
+    }
+
+    private void allocateItems(int capacity) {
+        baseDays = new int[capacity];
+        baseSellIns = new int[capacity];
+        baseRates = new int[capacity];
+        baseQualities = new int[capacity];
+        baseNames = new String[capacity];
+        lineDays = new int[capacity];
+        lineSellIns = new int[capacity];
+        lineRates = new int[capacity];
+        currentQualities = new int[capacity];
+        currentNames = new String[capacity];
+        qualityHeads = new int[capacity];
+        lineHeads = new int[capacity];
+        Arrays.fill(baseDays, NONE);
+        Arrays.fill(lineDays, NONE);
+        Arrays.fill(qualityHeads, -1);
+        Arrays.fill(lineHeads, -1);
+        itemCapacity = capacity;
+    }
+
+    private void growItems(int size) {
+        int capacity = Math.max(size, itemCapacity + (itemCapacity >> 1));
+        baseDays = Arrays.copyOf(baseDays, capacity);
+        baseSellIns = Arrays.copyOf(baseSellIns, capacity);
+        baseRates = Arrays.copyOf(baseRates, capacity);
+        baseQualities = Arrays.copyOf(baseQualities, capacity);
+        baseNames = Arrays.copyOf(baseNames, capacity);
+        lineDays = Arrays.copyOf(lineDays, capacity);
+        lineSellIns = Arrays.copyOf(lineSellIns, capacity);
+        lineRates = Arrays.copyOf(lineRates, capacity);
+        currentQualities = Arrays.copyOf(currentQualities, capacity);
+        currentNames = Arrays.copyOf(currentNames, capacity);
+        qualityHeads = Arrays.copyOf(qualityHeads, capacity);
+        lineHeads = Arrays.copyOf(lineHeads, capacity);
+        Arrays.fill(baseDays, itemCapacity, capacity, NONE);
+        Arrays.fill(lineDays, itemCapacity, capacity, NONE);
+        Arrays.fill(qualityHeads, itemCapacity, capacity, -1);
+        Arrays.fill(lineHeads, itemCapacity, capacity, -1);
+        itemCapacity = capacity;
+    }
+
+    private void addGap(int start, int end) {
+        if (gapCount == gapStarts.length) {
+            int newCapacity = Math.max(4, gapCount * 2);
+            gapStarts = Arrays.copyOf(gapStarts, newCapacity);
+            gapEnds = Arrays.copyOf(gapEnds, newCapacity);
+        }
+        gapStarts[gapCount] = start;
+        gapEnds[gapCount] = end;
+        gapCount++;
+    }
+
+    /**
+     * Búsqueda binaria del último salto que empieza en o antes del día.
+     */
+    private boolean isInGap(int day) {
+        int low = 0;
+        int high = gapCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (gapStarts[middle] <= day) {
+                if (day <= gapEnds[middle]) {
+                    return true;
+                }
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Primer día que todavía puede consultarse.
+     */
+    public int getOldestDay() {
+        return oldestDay;
+    }
+
+    /**
+     * Último día registrado.
+     */
+    public int getCurrentDay() {
+        return currentDay;
+    }
+
+    /**
+     * Número de cambios retenidos sin consolidar, de calidad y de estado completo
+     * (medida del costo en memoria del historial más allá del estado base).
+     */
+    public long getVersionCount() {
+        return (long) qualityChain.count + lineChain.count;
+    }
+
+    /**
+     * Versiones de todos los items en orden de día, encadenadas por item. Cada versión guarda
+     * la anterior del mismo item y un salto más largo hacia atrás elegido como en una lista de
+     * acceso aleatorio binaria sesgada: desde la última versión de un item se llega a la
+     * vigente en cualquier día en O(log n) pasos, siendo n las versiones de ese item.
+     * Los datos de cada versión los guarda quien la usa, en arrays con el mismo índice.
+     */
+    private static final class VersionChain {
+
+        int[] items = new int[INITIAL_CAPACITY];
+        int[] days = new int[INITIAL_CAPACITY];
+        private int[] previous = new int[INITIAL_CAPACITY];
+        private int[] jumps = new int[INITIAL_CAPACITY];
+        private int[] depths = new int[INITIAL_CAPACITY];
+        int count;
+
+        /**
+         * Agrega una versión del item detrás de {@code head}, su versión anterior (-1 si no tiene).
+         * Los días deben agregarse en orden creciente.
+         * @return índice de la nueva versión
+         */
+        int append(int head, int item, int day) {
+            if (count == items.length) {
+                int newCapacity = count * 2;
+                items = Arrays.copyOf(items, newCapacity);
+                days = Arrays.copyOf(days, newCapacity);
+                previous = Arrays.copyOf(previous, newCapacity);
+                jumps = Arrays.copyOf(jumps, newCapacity);
+                depths = Arrays.copyOf(depths, newCapacity);
+            }
+
+            int jump = head;
+            if (head >= 0) {
+                int headJump = jumps[head];
+                int nextJump = headJump >= 0 ? jumps[headJump] : -1;
+                if (nextJump >= 0 && depths[head] - depths[headJump] == depths[headJump] - depths[nextJump]) {
+                    jump = nextJump;
+                }
+            }
+
+            int version = count++;
+            items[version] = item;
+            days[version] = day;
+            previous[version] = head;
+            jumps[version] = jump;
+            depths[version] = head >= 0 ? depths[head] + 1 : 0;
+            return version;
+        }
+
+        /**
+         * Última versión no posterior al día, empezando por {@code head}.
+         * @return índice de la versión, o -1 si todas las versiones retenidas son posteriores
+         */
+        int find(int head, int day) {
+            int version = head;
+            while (version >= 0 && days[version] > day) {
+                // Los días decrecen hacia atrás: si el salto sigue siendo posterior, no se pierde nada
+                int jump = jumps[version];
+                version = jump >= 0 && days[jump] > day ? jump : previous[version];
+            }
+            return version;
+        }
+
+        /**
+         * Número de versiones (las primeras) que no son posteriores al día.
+         */
+        int countUpTo(int day) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (days[middle] <= day) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Descarta las primeras {@code dropped} versiones, ya consolidadas, y reindexa los
+         * enlaces y las cabezas por item. Los enlaces a versiones descartadas pasan a -1.
+         * @return número de versiones que quedan
+         */
+        int drop(int dropped, int[] heads, int itemCount) {
+            if (dropped == 0) {
+                return count;
+            }
+
+            count -= dropped;
+            System.arraycopy(items, dropped, items, 0, count);
+            System.arraycopy(days, dropped, days, 0, count);
+            System.arraycopy(previous, dropped, previous, 0, count);
+            System.arraycopy(jumps, dropped, jumps, 0, count);
+            System.arraycopy(depths, dropped, depths, 0, count);
+            for (int version = 0; version < count; version++) {
+                previous[version] = Math.max(-1, previous[version] - dropped);
+                jumps[version] = Math.max(-1, jumps[version] - dropped);
+            }
+            for (int item = 0; item < itemCount; item++) {
+                heads[item] = Math.max(-1, heads[item] - dropped);
+            }
+            return count;
+        }
+    }
+}
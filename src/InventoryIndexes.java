@@ -0,0 +1,189 @@
+package com.gildedrose;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Índices secundarios del inventario por vencimiento, calidad y tipo de estrategia,
+ * mantenidos de forma incremental durante cada tick (ver {@link GildedRose#enableIndexes()}).
+ *
+ * El índice de vencimiento usa como clave el día absoluto de vencimiento
+ * ({@code día actual + sellIn}); como casi todos los items decrementan su sellIn en uno por
+ * día, esa clave no cambia y el tick no necesita moverlos. Antes de tocar el índice se
+ * compara con la clave actual, así el tick no crea un {@code Long} por item. Los índices de
+ * calidad y de estrategia solo mueven un item cuando su valor cambió.
+ *
+ * Como el tick visita las posiciones en orden, las que se salta (items null) y las que quedan
+ * después de la última visitada (la lista se achicó) se quitan de los índices en el mismo
+ * recorrido, sin una pasada extra.
+ *
+ * Los cambios hechos fuera de un tick (items agregados, reemplazados, puestos a null o
+ * modificados directamente) no se ven hasta el siguiente tick, salvo que se avise con
+ * {@link #reindex(int)}. Las consultas devuelven posiciones de item sin un orden particular.
+ */
+public class InventoryIndexes implements ItemChangeListener {
+    
+    private final NavigableMap<Long, IntrusiveIndex.Bucket<Long>> expiryBuckets = new TreeMap<>();
+    private final NavigableMap<Integer, IntrusiveIndex.Bucket<Integer>> qualityBuckets = new TreeMap<>();
+    private final Map<Class<?>, IntrusiveIndex.Bucket<Class<?>>> strategyBuckets = new HashMap<>();
+    
+    private final IntrusiveIndex<Long> expiryIndex;
+    private final IntrusiveIndex<Integer> qualityIndex;
+    private final IntrusiveIndex<Class<?>> strategyIndex;
+    
+    private final List<Item> items;
+    private final ItemUpdateStrategyManager strategyManager;
+    
+    // Día del estado indexado y día que se está produciendo durante un tick
+    private int currentDay;
+    private int tickDay;
+    
+    // Una posición más que la última indexada, y siguiente posición esperada durante un tick
+    private int indexedLimit;
+    private int nextPosition;
+    
+    /**
+     * Construye los índices recorriendo el inventario una vez.
+     */
+    InventoryIndexes(List<Item> items, ItemUpdateStrategyManager strategyManager, int currentDay) {
+        this.items = items;
+        this.strategyManager = strategyManager;
+        int capacity = Math.max(items.size(), 16);
+        this.expiryIndex = new IntrusiveIndex<>(expiryBuckets, capacity);
+        this.qualityIndex = new IntrusiveIndex<>(qualityBuckets, capacity);
+        this.strategyIndex = new IntrusiveIndex<>(strategyBuckets, capacity);
+        this.currentDay = currentDay;
+        this.tickDay = currentDay;
+        
+        for (int index = 0; index < items.size(); index++) {
+            Item item = items.get(index);
+            if (item != null) {
+                index(index, item, strategyManager.findStrategy(item), currentDay);
+            }
+        }
+    }
+    
+    @Override
+    public void onTickStart(int day, int days) {
+        tickDay = day;
+        nextPosition = 0;
+    }
+    
+    @Override
+    public void onItemUpdated(int index, Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality) {
+        removeRange(nextPosition, index);
+        index(index, item, strategy, tickDay);
+        nextPosition = index + 1;
+    }
+    
+    @Override
+    public void onTickEnd(int day) {
+        removeRange(nextPosition, indexedLimit);
+        indexedLimit = nextPosition;
+        currentDay = day;
+    }
+    
+    /**
+     * Vuelve a indexar una posición cambiada fuera de un tick: un item agregado al final,
+     * reemplazado o modificado se indexa con su estado actual, y una posición que quedó null
+     * o fuera de la lista se quita de los índices.
+     */
+    public void reindex(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + index);
+        }
+        
+        Item item = index < items.size() ? items.get(index) : null;
+        if (item == null) {
+            removeRange(index, index + 1);
+        } else {
+            index(index, item, strategyManager.findStrategy(item), currentDay);
+        }
+    }
+    
+    private void removeRange(int from, int to) {
+        for (int position = from; position < to; position++) {
+            expiryIndex.remove(position);
+            qualityIndex.remove(position);
+            strategyIndex.remove(position);
+        }
+    }
+    
+    private void index(int index, Item item, ItemUpdateStrategy strategy, int day) {
+        indexedLimit = Math.max(indexedLimit, index + 1);
+        long expiry = (long) day + item.sellIn;
+        Long indexedExpiry = expiryIndex.keyOf(index);
+        if (indexedExpiry == null || indexedExpiry != expiry) {
+            expiryIndex.put(index, expiry);
+        }
+        qualityIndex.put(index, item.quality);
+        strategyIndex.put(index, strategy.getClass());
+    }
+    
+    /**
+     * Items que vencen dentro de los próximos {@code days} días (sellIn entre 0 y days).
+     */
+    public int[] findExpiringWithin(int days) {
+        return collect(expiryIndex, expiryWindow(days));
+    }
+    
+    public int countExpiringWithin(int days) {
+        return IntrusiveIndex.count(expiryWindow(days).values());
+    }
+    
+    /**
+     * Items con calidad entre {@code minQuality} y {@code maxQuality}, ambos inclusive.
+     */
+    public int[] findByQualityRange(int minQuality, int maxQuality) {
+        return collect(qualityIndex, qualityWindow(minQuality, maxQuality));
+    }
+    
+    public int countByQualityRange(int minQuality, int maxQuality) {
+        return IntrusiveIndex.count(qualityWindow(minQuality, maxQuality).values());
+    }
+    
+    /**
+     * Items resueltos a la clase de estrategia indicada.
+     */
+    public int[] findByStrategy(Class<? extends ItemUpdateStrategy> strategyType) {
+        IntrusiveIndex.Bucket<Class<?>> bucket = strategyBuckets.get(strategyType);
+        return bucket == null ? new int[0] : collect(strategyIndex, Map.of(strategyType, bucket));
+    }
+    
+    public int countByStrategy(Class<? extends ItemUpdateStrategy> strategyType) {
+        IntrusiveIndex.Bucket<Class<?>> bucket = strategyBuckets.get(strategyType);
+        return bucket == null ? 0 : bucket.size;
+    }
+    
+    private NavigableMap<Long, IntrusiveIndex.Bucket<Long>> expiryWindow(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("El número de días no puede ser negativo");
+        }
+        return expiryBuckets.subMap((long) currentDay, true, (long) currentDay + days, true);
+    }
+    
+    private NavigableMap<Integer, IntrusiveIndex.Bucket<Integer>> qualityWindow(int minQuality, int maxQuality) {
+        if (minQuality > maxQuality) {
+            throw new IllegalArgumentException("Rango de calidad inválido: " + minQuality + " > " + maxQuality);
+        }
+        return qualityBuckets.subMap(minQuality, true, maxQuality, true);
+    }
+    
+    private static <K> int[] collect(IntrusiveIndex<K> index, Map<? extends K, IntrusiveIndex.Bucket<K>> selected) {
+        int[] result = new int[IntrusiveIndex.count(selected.values())];
+        IntConsumer collector = new IntConsumer() {
+            private int position;
+            
+            @Override
+            public void accept(int item) {
+                result[position++] = item;
+            }
+        };
+        index.forEachIn(selected.values(), collector);
+        return result;
+    }
+}
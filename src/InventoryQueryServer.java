@@ -0,0 +1,442 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Servidor NIO de consultas de solo lectura sobre un {@link GildedRose}.
+ *
+ * Un único hilo con un {@link Selector} atiende todas las conexiones. Cada conexión tiene
+ * un buffer directo de entrada y otro de salida que se reutilizan siempre, así que atender
+ * una petición no asigna memoria. Las peticiones se pueden encadenar sin esperar respuesta;
+ * se responden en orden.
+ *
+ * Las consultas leen de un snapshot por columnas que el servidor copia al terminar cada tick
+ * (ver {@link GildedRose#addTickEndListener}) y publica de una vez, por lo que una petición
+ * nunca ve un tick a medias; el tick en sí conserva el modo paralelo o por lotes. Hay dos
+ * juegos de columnas que se alternan: el que no está publicado se reescribe recién cuando el
+ * hilo del selector terminó de leerlo, así que en régimen estable copiar un tick no asigna memoria.
+ *
+ * Protocolo (big-endian):
+ * <pre>
+ * petición  GET  'G' requestId(int) count(short) count x index(int)
+ *           NAME 'N' requestId(int) nameId(int)
+ * respuesta GET  'G' requestId(int) day(int) count(short) count x [nameId(int) sellIn(int) quality(int)]
+ *           NAME 'N' requestId(int) day(int) length(short) bytes UTF-8
+ * </pre>
+ * Un índice inexistente o null responde nameId -1; un nameId desconocido responde
+ * length -1. Una petición mal formada o con más de {@link #MAX_BATCH} índices cierra la
+ * conexión.
+ */
+public class InventoryQueryServer implements AutoCloseable {
+
+    static final byte GET = 'G';
+    static final byte NAME = 'N';
+
+    static final int MAX_BATCH = 1024;
+
+    // Nombres más largos no se sirven por NAME (responde length -1)
+    static final int MAX_NAME_BYTES = 4096;
+
+    static final int GET_HEADER_BYTES = 1 + 4 + 2;
+    static final int NAME_REQUEST_BYTES = 1 + 4 + 4;
+    static final int RESPONSE_HEADER_BYTES = 1 + 4 + 4 + 2;
+    static final int ITEM_RESPONSE_BYTES = 3 * 4;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_RESPONSE_BYTES =
+        RESPONSE_HEADER_BYTES + Math.max(MAX_BATCH * ITEM_RESPONSE_BYTES, MAX_NAME_BYTES);
+
+    private final GildedRose inventory;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final SnapshotBuilder snapshots;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+
+    private volatile Snapshot snapshot;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    /**
+     * Abre el servidor en la dirección indicada (puerto 0 para uno efímero) y se registra
+     * como listener del inventario. Hay que llamar a {@link #start()} para empezar a atender.
+     */
+    public InventoryQueryServer(GildedRose inventory, InetSocketAddress address) throws IOException {
+        if (inventory == null || address == null) {
+            throw new IllegalArgumentException("Inventario y dirección son obligatorios");
+        }
+
+        this.inventory = inventory;
+        this.snapshots = new SnapshotBuilder();
+        snapshots.accept(inventory.getCurrentDay());
+        inventory.addTickEndListener(snapshots);
+
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(address);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            inventory.removeTickEndListener(snapshots);
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lanza el hilo del selector.
+     */
+    public synchronized void start() {
+        if (selectorThread != null) {
+            throw new IllegalStateException("El servidor ya fue iniciado");
+        }
+        running = true;
+        selectorThread = new Thread(this::serve, "inventory-query-server");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Peticiones atendidas desde el arranque.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Items consultados desde el arranque (suma de los lotes GET).
+     */
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    /**
+     * Día del snapshot que se está sirviendo.
+     */
+    public int getSnapshotDay() {
+        return snapshot.day;
+    }
+
+    private void serve() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            ((Connection) key.attachment()).process(key);
+                        }
+                    } catch (IOException e) {
+                        // Conexión caída o petición mal formada: solo se cierra esa conexión
+                        closeConnection(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            running = false;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+    }
+
+    /**
+     * Toma el snapshot publicado y lo marca como en lectura hasta {@link Snapshot#release()}.
+     * Si se publicó otro entre leer la referencia y marcarlo, se reintenta: un juego de
+     * columnas que ya no está publicado no debe ganar lectores nuevos.
+     */
+    private Snapshot acquireSnapshot() {
+        while (true) {
+            Snapshot current = snapshot;
+            current.readers.incrementAndGet();
+            if (current == snapshot) {
+                return current;
+            }
+            current.release();
+        }
+    }
+
+    private static void closeConnection(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // La conexión ya no se usa
+        }
+    }
+
+    /**
+     * Detiene el hilo del selector, cierra las conexiones y deja de escuchar los ticks.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        Thread thread;
+        synchronized (this) {
+            thread = selectorThread;
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        inventory.removeTickEndListener(snapshots);
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    /**
+     * Estado de una conexión: buffers directos propios y reutilizados.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Lee lo disponible, responde todas las peticiones completas que quepan en el buffer
+         * de salida y escribe. Si el cliente no consume las respuestas se deja de leer hasta
+         * que el buffer de salida se vacíe.
+         */
+        void process(SelectionKey key) throws IOException {
+            if (key.isReadable() && channel.read(in) < 0) {
+                throw new IOException("Conexión cerrada por el cliente");
+            }
+
+            boolean pending;
+            do {
+                in.flip();
+                handleRequests();
+                in.compact();
+
+                out.flip();
+                channel.write(out);
+                pending = out.hasRemaining();
+                out.compact();
+                // Si se vació la salida puede haber peticiones completas esperando espacio
+            } while (!pending && hasCompleteRequest());
+
+            key.interestOps(pending ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        private void handleRequests() throws IOException {
+            Snapshot current = acquireSnapshot();
+            try {
+                while (out.remaining() >= MAX_RESPONSE_BYTES) {
+                    int size = requestSize();
+                    if (size < 0 || in.remaining() < size) {
+                        return;
+                    }
+
+                    byte operation = in.get();
+                    int requestId = in.getInt();
+                    if (operation == GET) {
+                        handleGet(current, requestId, in.getShort());
+                    } else {
+                        handleName(current, requestId, in.getInt());
+                    }
+                    requests.increment();
+                }
+            } finally {
+                current.release();
+            }
+        }
+
+        private boolean hasCompleteRequest() throws IOException {
+            in.flip();
+            try {
+                int size = requestSize();
+                return size >= 0 && in.remaining() >= size;
+            } finally {
+                in.compact();
+            }
+        }
+
+        /**
+         * Tamaño de la petición al inicio del buffer, o -1 si aún no llegó su cabecera.
+         */
+        private int requestSize() throws IOException {
+            if (in.remaining() < 1) {
+                return -1;
+            }
+            byte operation = in.get(in.position());
+            if (operation == NAME) {
+                return NAME_REQUEST_BYTES;
+            }
+            if (operation != GET) {
+                throw new IOException("Operación desconocida: " + operation);
+            }
+            if (in.remaining() < GET_HEADER_BYTES) {
+                return -1;
+            }
+            int count = in.getShort(in.position() + 5);
+            if (count < 0 || count > MAX_BATCH) {
+                throw new IOException("Lote fuera de rango: " + count);
+            }
+            return GET_HEADER_BYTES + count * Integer.BYTES;
+        }
+
+        private void handleGet(Snapshot current, int requestId, int count) {
+            out.put(GET).putInt(requestId).putInt(current.day).putShort((short) count);
+            for (int i = 0; i < count; i++) {
+                int index = in.getInt();
+                if (index >= 0 && index < current.size && current.nameIds[index] >= 0) {
+                    out.putInt(current.nameIds[index])
+                       .putInt(current.sellIns[index])
+                       .putInt(current.qualities[index]);
+                } else {
+                    out.putInt(-1).putInt(0).putInt(0);
+                }
+            }
+            lookups.add(count);
+        }
+
+        private void handleName(Snapshot current, int requestId, int nameId) {
+            out.put(NAME).putInt(requestId).putInt(current.day);
+            byte[] name = nameId >= 0 && nameId < current.nameCount ? current.names[nameId] : null;
+            if (name == null || name.length > MAX_NAME_BYTES) {
+                out.putShort((short) -1);
+            } else {
+                out.putShort((short) name.length).put(name);
+            }
+        }
+    }
+
+    /**
+     * Columnas servidas a las consultas. nameIds vale -1 para posiciones null. Solo se
+     * reescriben mientras no están publicadas y sin lectores; los arreglos crecen si el
+     * inventario crece y se reutilizan el resto del tiempo.
+     */
+    private static final class Snapshot {
+        final AtomicInteger readers = new AtomicInteger();
+        int day;
+        int size;
+        int[] nameIds = new int[0];
+        int[] sellIns = new int[0];
+        int[] qualities = new int[0];
+        byte[][] names;
+        int nameCount;
+
+        void release() {
+            readers.decrementAndGet();
+        }
+
+        void awaitNoReaders() {
+            while (readers.get() != 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        void ensureCapacity(int required) {
+            if (nameIds.length < required) {
+                int capacity = Math.max(required, nameIds.length + (nameIds.length >> 1));
+                nameIds = new int[capacity];
+                sellIns = new int[capacity];
+                qualities = new int[capacity];
+            }
+        }
+    }
+
+    /**
+     * Copia el inventario en el juego de columnas libre al terminar cada tick y lo publica.
+     * Corre en el hilo del tick. Los ids de nombre se toman del snapshot anterior cuando la
+     * posición conserva el nombre, así el diccionario solo se consulta para nombres nuevos.
+     */
+    private final class SnapshotBuilder implements IntConsumer {
+        private final NameDictionary dictionary = new NameDictionary();
+        private byte[][] encodedNames = new byte[16][];
+        private final Snapshot[] buffers = {new Snapshot(), new Snapshot()};
+        private int next;
+
+        @Override
+        public void accept(int day) {
+            Snapshot previous = snapshot;
+            Snapshot target = buffers[next];
+            next ^= 1;
+            // El publicado es siempre el otro juego; solo falta que el selector suelte este
+            target.awaitNoReaders();
+
+            List<Item> items = inventory.getItems();
+            int size = items.size();
+            target.ensureCapacity(size);
+            int[] previousIds = previous == null ? null : previous.nameIds;
+            int previousSize = previous == null ? 0 : previous.size;
+            for (int index = 0; index < size; index++) {
+                Item item = items.get(index);
+                if (item == null) {
+                    target.nameIds[index] = -1;
+                    continue;
+                }
+                int nameId = index < previousSize ? previousIds[index] : -1;
+                if (nameId < 0 || !item.name.equals(dictionary.nameOf(nameId))) {
+                    nameId = nameIdOf(item.name);
+                }
+                target.nameIds[index] = nameId;
+                target.sellIns[index] = item.sellIn;
+                target.qualities[index] = item.quality;
+            }
+            target.day = day;
+            target.size = size;
+            target.names = encodedNames;
+            target.nameCount = dictionary.size();
+            snapshot = target;
+        }
+
+        private int nameIdOf(String name) {
+            int nameId = dictionary.idOf(name);
+            if (nameId >= encodedNames.length) {
+                encodedNames = Arrays.copyOf(encodedNames, Math.max(nameId + 1, encodedNames.length * 2));
+            }
+            if (encodedNames[nameId] == null) {
+                encodedNames[nameId] = name.getBytes(StandardCharsets.UTF_8);
+            }
+            return nameId;
+        }
+    }
+}
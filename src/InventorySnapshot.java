@@ -0,0 +1,242 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot binario del inventario leído y escrito mediante archivos mapeados en memoria.
+ *
+ * Formato (big-endian):
+ * <pre>
+ * cabecera   magic(int) version(int) itemCount(int) nameCount(int)
+ *            recordsOffset(long) dictionaryOffset(long) checksum(long)
+ * registros  itemCount x [nameId(int) sellIn(int) quality(int)]
+ * diccionario nameCount x [longitud(int) bytes UTF-8]
+ * </pre>
+ * El checksum es un CRC32C de todo lo que sigue a la cabecera seguido de los campos de la
+ * cabecera anteriores al checksum, de modo que un snapshot truncado o corrupto (incluidos
+ * los conteos de la cabecera) se rechaza en lugar de cargarse silenciosamente.
+ *
+ * El snapshot se escribe en un archivo temporal con nombre único junto al destino y solo al
+ * completarse reemplaza al anterior con un movimiento atómico: un fallo a mitad de escritura
+ * conserva el último snapshot válido, y dos escritores simultáneos no se pisan el temporal.
+ *
+ * Al abrir un snapshot solo se decodifica el diccionario de nombres; los items se
+ * materializan bajo demanda en {@link #getItem(int)} leyendo directamente del mapeo.
+ */
+public class InventorySnapshot {
+    
+    private static final int MAGIC = 0x47525331; // "GRS1"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 4 * 4 + 3 * 8;
+    private static final int RECORD_SIZE = 3 * 4;
+    private static final int CHECKSUM_POSITION = HEADER_SIZE - 8;
+    
+    private final ByteBuffer records;
+    private final String[] names;
+    private final int itemCount;
+    
+    private InventorySnapshot(ByteBuffer records, String[] names, int itemCount) {
+        this.records = records;
+        this.names = names;
+        this.itemCount = itemCount;
+    }
+    
+    /**
+     * Escribe un snapshot con el estado actual del inventario, reemplazando atómicamente
+     * el archivo si ya existía.
+     */
+    public static void write(Path path, Inventory inventory) throws IOException {
+        if (path == null || inventory == null) {
+            throw new IllegalArgumentException("Path e inventario no pueden ser null");
+        }
+        
+        int itemCount = inventory.getItemCount();
+        long recordsSize = (long) itemCount * RECORD_SIZE;
+        if (HEADER_SIZE + recordsSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Inventario demasiado grande para un snapshot: " + itemCount);
+        }
+        
+        // Nombre único junto al destino: dos escritores del mismo snapshot no comparten el temporal
+        Path target = path.toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            writeTo(temporary, inventory, itemCount, recordsSize);
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+    
+    private static void writeTo(Path path, Inventory inventory, int itemCount, long recordsSize) throws IOException {
+        NameDictionary dictionary = new NameDictionary();
+        CRC32C checksum = new CRC32C();
+        
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer recordRegion = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, recordsSize);
+            for (int i = 0; i < itemCount; i++) {
+                Item item = inventory.getItem(i);
+                if (item == null) {
+                    throw new IllegalArgumentException("El snapshot no admite items null (índice " + i + ")");
+                }
+                recordRegion.putInt(dictionary.idOf(item.name));
+                recordRegion.putInt(item.sellIn);
+                recordRegion.putInt(item.quality);
+            }
+            recordRegion.force();
+            checksum.update(recordRegion.flip());
+            
+            long dictionaryOffset = HEADER_SIZE + recordsSize;
+            ByteBuffer dictionaryBytes = encodeDictionary(dictionary);
+            MappedByteBuffer dictionaryRegion = channel.map(
+                FileChannel.MapMode.READ_WRITE, dictionaryOffset, dictionaryBytes.remaining());
+            dictionaryRegion.put(dictionaryBytes);
+            dictionaryRegion.force();
+            checksum.update(dictionaryRegion.flip());
+            
+            // La cabecera se escribe al final: un snapshot a medio escribir no tiene checksum válido
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(MAGIC)
+                  .putInt(VERSION)
+                  .putInt(itemCount)
+                  .putInt(dictionary.size())
+                  .putLong(HEADER_SIZE)
+                  .putLong(dictionaryOffset);
+            checksum.update(header.duplicate().flip());
+            header.putLong(checksum.getValue());
+            header.force();
+            channel.force(true);
+        }
+    }
+    
+    private static ByteBuffer encodeDictionary(NameDictionary dictionary) {
+        byte[][] encoded = new byte[dictionary.size()][];
+        int size = 0;
+        for (int id = 0; id < encoded.length; id++) {
+            encoded[id] = dictionary.nameOf(id).getBytes(StandardCharsets.UTF_8);
+            size += 4 + encoded[id].length;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] name : encoded) {
+            buffer.putInt(name.length).put(name);
+        }
+        return buffer.flip();
+    }
+    
+    /**
+     * Abre un snapshot validando cabecera, versión y checksum.
+     * @throws IOException si el archivo no es un snapshot válido o está corrupto
+     */
+    public static InventorySnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Tamaño de snapshot inválido: " + fileSize + " bytes");
+            }
+            
+            // El mapeo sigue siendo válido después de cerrar el canal
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException("El archivo no es un snapshot de inventario: " + path);
+            }
+            int version = mapped.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Versión de snapshot no soportada: " + version);
+            }
+            
+            int itemCount = mapped.getInt(8);
+            int nameCount = mapped.getInt(12);
+            long recordsOffset = mapped.getLong(16);
+            long dictionaryOffset = mapped.getLong(24);
+            if (itemCount < 0 || nameCount < 0 || recordsOffset != HEADER_SIZE
+                || dictionaryOffset != recordsOffset + (long) itemCount * RECORD_SIZE
+                || dictionaryOffset > fileSize) {
+                throw new IOException("Cabecera de snapshot inconsistente: " + path);
+            }
+            
+            CRC32C checksum = new CRC32C();
+            checksum.update(mapped.slice(HEADER_SIZE, (int) fileSize - HEADER_SIZE));
+            checksum.update(mapped.slice(0, CHECKSUM_POSITION));
+            if (checksum.getValue() != mapped.getLong(CHECKSUM_POSITION)) {
+                throw new IOException("Checksum de snapshot inválido, el archivo está corrupto: " + path);
+            }
+            
+            String[] names = decodeDictionary(mapped.slice((int) dictionaryOffset, (int) (fileSize - dictionaryOffset)), nameCount);
+            ByteBuffer records = mapped.slice(HEADER_SIZE, itemCount * RECORD_SIZE);
+            return new InventorySnapshot(records, names, itemCount);
+        }
+    }
+    
+    private static String[] decodeDictionary(ByteBuffer buffer, int nameCount) throws IOException {
+        String[] names = new String[nameCount];
+        for (int id = 0; id < nameCount; id++) {
+            if (buffer.remaining() < 4) {
+                throw new IOException("Diccionario de snapshot truncado");
+            }
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IOException("Diccionario de snapshot truncado");
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            names[id] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+    
+    /**
+     * Materializa el item en la posición indicada leyendo su registro del mapeo.
+     */
+    public Item getItem(int index) {
+        return Item.restore(getName(index), getSellIn(index), getQuality(index));
+    }
+    
+    public int getItemCount() {
+        return itemCount;
+    }
+    
+    public String getName(int index) {
+        int nameId = records.getInt(recordOffset(index));
+        if (nameId < 0 || nameId >= names.length) {
+            throw new IllegalStateException("Id de nombre inválido en el registro " + index);
+        }
+        return names[nameId];
+    }
+    
+    public int getSellIn(int index) {
+        return records.getInt(recordOffset(index) + 4);
+    }
+    
+    public int getQuality(int index) {
+        return records.getInt(recordOffset(index) + 8);
+    }
+    
+    /**
+     * Copia el snapshot a un inventario columnar para seguir aplicando ticks.
+     * No repite la validación de cada item: el estado ya fue validado al escribir el snapshot.
+     */
+    public ColumnarInventory toColumnarInventory(ItemUpdateStrategyManager strategyManager) {
+        ColumnarInventory inventory = new ColumnarInventory(itemCount, strategyManager);
+        for (int i = 0; i < itemCount; i++) {
+            inventory.addTrusted(getName(i), getSellIn(i), getQuality(i));
+        }
+        return inventory;
+    }
+    
+    private int recordOffset(int index) {
+        if (index < 0 || index >= itemCount) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + index);
+        }
+        return index * RECORD_SIZE;
+    }
+}
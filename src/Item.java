@@ -10,6 +10,8 @@ public class Item {
     private static final int MIN_QUALITY = 0;
     private static final int MAX_QUALITY = 50;
     private static final int SULFURAS_QUALITY = 80;
+    private static final String SULFURAS_NAME = "Sulfuras, Hand of Ragnaros";
+    static final String INVALID_NAME_MESSAGE = "El nombre del item no puede ser null o vacío";
     
     // Campos públicos mantenidos para compatibilidad legacy
     public String name;
@@ -17,9 +19,25 @@ public class Item {
     public int quality;
 
     public Item(String name, int sellIn, int quality) {
-        this.name = validateName(name);
+        this(name, sellIn, quality, true);
+    }
+    
+    /**
+     * Constructor interno que permite omitir la validación.
+     * Solo se usa para reconstruir items cuyo estado ya fue validado al ingresar al inventario.
+     */
+    private Item(String name, int sellIn, int quality, boolean validate) {
+        this.name = validate ? validateName(name) : name;
         this.sellIn = sellIn;
-        this.quality = validateQuality(quality, name);
+        this.quality = validate ? validateQuality(quality, name) : quality;
+    }
+    
+    /**
+     * Reconstruye un item a partir de un estado ya validado (por ejemplo, columnas de un inventario).
+     * No aplica validaciones: el estado puede venir de una estrategia que ya respetó sus propios límites.
+     */
+    static Item restore(String name, int sellIn, int quality) {
+        return new Item(name, sellIn, quality, false);
     }
     
     /**
@@ -27,32 +45,72 @@ public class Item {
      * Principio de fail-fast: detectar errores temprano.
      */
     private String validateName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("El nombre del item no puede ser null o vacío");
+        if (!isValidName(name)) {
+            throw new IllegalArgumentException(INVALID_NAME_MESSAGE);
         }
         return name;
     }
     
+    /**
+     * Un nombre es válido si no es null y tiene algún carácter que trim() no eliminaría.
+     * Equivale a {@code !name.trim().isEmpty()} pero sin crear un String nuevo.
+     */
+    static boolean isValidName(String name) {
+        if (name == null) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Valida que la calidad esté en el rango correcto según el tipo de item.
      * Principio Single Responsibility: cada método tiene una sola función.
      */
     private int validateQuality(int quality, String itemName) {
-        if (quality < MIN_QUALITY) {
-            throw new IllegalArgumentException("La calidad no puede ser negativa");
+        boolean fixedQuality = hasFixedQuality(itemName);
+        String error = qualityError(quality, fixedQuality);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
         
-        // Sulfuras tiene calidad fija
-        if ("Sulfuras, Hand of Ragnaros".equals(itemName)) {
-            return SULFURAS_QUALITY;
+        return normalizedQuality(quality, fixedQuality);
+    }
+    
+    /**
+     * Describe por qué una calidad no es válida, o devuelve null si lo es.
+     * Los items de calidad fija no tienen máximo porque su calidad se reemplaza.
+     */
+    static String qualityError(int quality, boolean fixedQuality) {
+        if (quality < MIN_QUALITY) {
+            return "La calidad no puede ser negativa";
         }
         
         // Otros items no pueden exceder el máximo
-        if (quality > MAX_QUALITY) {
-            throw new IllegalArgumentException("La calidad no puede exceder " + MAX_QUALITY);
+        if (!fixedQuality && quality > MAX_QUALITY) {
+            return "La calidad no puede exceder " + MAX_QUALITY;
         }
         
-        return quality;
+        return null;
+    }
+    
+    /**
+     * Calidad con la que queda un item válido: la fija para Sulfuras, la recibida para el resto.
+     */
+    static int normalizedQuality(int quality, boolean fixedQuality) {
+        return fixedQuality ? SULFURAS_QUALITY : quality;
+    }
+    
+    /**
+     * Indica si el nombre corresponde a un item legendario de calidad fija (Sulfuras).
+     * Permite a los cargadores masivos decidir una sola vez por nombre si hace falta la validación completa.
+     */
+    static boolean hasFixedQuality(String itemName) {
+        return SULFURAS_NAME.equals(itemName);
     }
     
     /**
@@ -61,7 +119,7 @@ public class Item {
      */
     public void setQuality(int newQuality) {
         // Sulfuras nunca cambia
-        if ("Sulfuras, Hand of Ragnaros".equals(this.name)) {
+        if (hasFixedQuality(this.name)) {
             return;
         }
         
@@ -74,7 +132,7 @@ public class Item {
      * Sulfuras nunca cambia su sellIn.
      */
     public void decrementSellIn() {
-        if (!"Sulfuras, Hand of Ragnaros".equals(this.name)) {
+        if (!hasFixedQuality(this.name)) {
             this.sellIn--;
         }
     }
@@ -0,0 +1,36 @@
+package com.gildedrose;
+
+/**
+ * Observador de los cambios que produce cada tick, notificado dentro del mismo recorrido
+ * sobre los items (sin pasadas adicionales).
+ *
+ * Mientras haya listeners registrados, {@link GildedRose} actualiza los items de forma
+ * secuencial, así que las implementaciones no necesitan ser seguras entre hilos.
+ */
+public interface ItemChangeListener {
+    
+    /**
+     * Se invoca antes de actualizar el primer item.
+     * @param day día que resultará al terminar el tick
+     * @param days número de días que avanza este tick (1 para updateQuality)
+     */
+    default void onTickStart(int day, int days) {
+    }
+    
+    /**
+     * Se invoca después de actualizar cada item no null, en orden creciente de posición.
+     * @param index posición del item en el inventario
+     * @param item el item ya actualizado
+     * @param strategy estrategia que se le aplicó
+     * @param oldSellIn sellIn antes de la actualización
+     * @param oldQuality quality antes de la actualización
+     */
+    void onItemUpdated(int index, Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality);
+    
+    /**
+     * Se invoca después de actualizar el último item.
+     * @param day día alcanzado
+     */
+    default void onTickEnd(int day) {
+    }
+}
@@ -0,0 +1,203 @@
+package com.gildedrose;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Lector incremental de registros de items en formato de texto delimitado:
+ * {@code nombre|sellIn|quality} con un registro por línea (UTF-8).
+ *
+ * Lee el canal por bloques sobre un único buffer reutilizable y convierte los campos
+ * numéricos directamente desde los bytes; el nombre se resuelve a un id del diccionario
+ * sin crear un String por registro. Las líneas vacías se ignoran.
+ */
+final class ItemRecordReader implements Closeable {
+    
+    static final byte FIELD_SEPARATOR = '|';
+    static final byte RECORD_SEPARATOR = '\n';
+    
+    private final ReadableByteChannel channel;
+    private final Utf8NameIndex names;
+    private final byte[] buffer;
+    private final ByteBuffer window;
+    
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private long lineNumber;
+    
+    // Campos del registro actual
+    private int nameId;
+    private int sellIn;
+    private int quality;
+    
+    ItemRecordReader(ReadableByteChannel channel, Utf8NameIndex names, int bufferSize) {
+        this.channel = channel;
+        this.names = names;
+        this.buffer = new byte[bufferSize];
+        this.window = ByteBuffer.wrap(buffer);
+    }
+    
+    /**
+     * Avanza al siguiente registro.
+     * @return false si no quedan registros
+     */
+    boolean next() throws IOException {
+        while (true) {
+            int end = indexOf(RECORD_SEPARATOR, position, limit);
+            if (end >= 0) {
+                int start = position;
+                position = end + 1;
+                lineNumber++;
+                if (parseRecord(start, end)) {
+                    return true;
+                }
+                continue;
+            }
+            
+            if (endOfInput) {
+                if (position < limit) {
+                    int start = position;
+                    position = limit;
+                    lineNumber++;
+                    return parseRecord(start, limit) || next();
+                }
+                return false;
+            }
+            
+            fill();
+        }
+    }
+    
+    int nameId() {
+        return nameId;
+    }
+    
+    int sellIn() {
+        return sellIn;
+    }
+    
+    int quality() {
+        return quality;
+    }
+    
+    /**
+     * Número de línea (base 1) del registro actual, para mensajes de error.
+     */
+    long lineNumber() {
+        return lineNumber;
+    }
+    
+    private void fill() throws IOException {
+        int pending = limit - position;
+        System.arraycopy(buffer, position, buffer, 0, pending);
+        position = 0;
+        limit = pending;
+        
+        if (limit == buffer.length) {
+            throw new IOException(
+                "Línea " + (lineNumber + 1) + ": el registro excede el tamaño del buffer (" + buffer.length + " bytes)");
+        }
+        
+        window.clear().position(limit);
+        int read = channel.read(window);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+    
+    /**
+     * Interpreta los bytes [start, end) como un registro.
+     * Los separadores se buscan desde el final para permitir '|' dentro del nombre.
+     * @return false si la línea está vacía
+     */
+    private boolean parseRecord(int start, int end) {
+        if (end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        if (end == start) {
+            return false;
+        }
+        
+        int qualitySeparator = lastIndexOf(FIELD_SEPARATOR, start, end);
+        int sellInSeparator = qualitySeparator < 0 ? -1 : lastIndexOf(FIELD_SEPARATOR, start, qualitySeparator);
+        if (sellInSeparator < 0) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": se esperaban 3 campos separados por '|'");
+        }
+        
+        // El nombre se valida antes de internarlo: un nombre rechazado no debe quedar en el diccionario
+        if (!hasVisibleCharacter(start, sellInSeparator)) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": " + Item.INVALID_NAME_MESSAGE);
+        }
+        nameId = names.idOf(buffer, start, sellInSeparator - start);
+        sellIn = parseInt(sellInSeparator + 1, qualitySeparator);
+        quality = parseInt(qualitySeparator + 1, end);
+        return true;
+    }
+    
+    /**
+     * Equivale a {@link Item#isValidName(String)} sobre los bytes UTF-8: todo byte de un carácter
+     * no ASCII es negativo, así que basta con encontrar uno fuera de [0, ' '].
+     */
+    private boolean hasVisibleCharacter(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer[i] > ' ' || buffer[i] < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private int parseInt(int start, int end) {
+        boolean negative = start < end && buffer[start] == '-';
+        int digitsStart = negative ? start + 1 : start;
+        if (digitsStart == end) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": campo numérico vacío");
+        }
+        
+        long value = 0;
+        for (int i = digitsStart; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": campo numérico inválido");
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": número fuera de rango");
+            }
+        }
+        
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": número fuera de rango");
+        }
+        return (int) value;
+    }
+    
+    private int indexOf(byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private int lastIndexOf(byte target, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (buffer[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.gildedrose;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Escritor de registros de items en el mismo formato que lee {@link ItemRecordReader},
+ * de modo que la salida de un tick sirve como entrada del siguiente.
+ * Escribe nombres y números directamente como bytes sobre un buffer reutilizable.
+ */
+final class ItemRecordWriter implements Closeable, Flushable {
+    
+    // Espacio máximo para los dos números, dos separadores y el fin de línea
+    private static final int MAX_NUMERIC_BYTES = 2 * 11 + 3;
+    
+    private final WritableByteChannel channel;
+    private final Utf8NameIndex names;
+    private final byte[] buffer;
+    private final ByteBuffer window;
+    private int count;
+    
+    ItemRecordWriter(WritableByteChannel channel, Utf8NameIndex names, int bufferSize) {
+        this.channel = channel;
+        this.names = names;
+        this.buffer = new byte[bufferSize];
+        this.window = ByteBuffer.wrap(buffer);
+    }
+    
+    void write(int nameId, int sellIn, int quality) throws IOException {
+        byte[] name = names.bytesOf(nameId);
+        if (count + name.length + MAX_NUMERIC_BYTES > buffer.length) {
+            flush();
+            if (name.length + MAX_NUMERIC_BYTES > buffer.length) {
+                throw new IllegalArgumentException("El registro excede el tamaño del buffer");
+            }
+        }
+        
+        System.arraycopy(name, 0, buffer, count, name.length);
+        count += name.length;
+        buffer[count++] = ItemRecordReader.FIELD_SEPARATOR;
+        writeInt(sellIn);
+        buffer[count++] = ItemRecordReader.FIELD_SEPARATOR;
+        writeInt(quality);
+        buffer[count++] = ItemRecordReader.RECORD_SEPARATOR;
+    }
+    
+    private void writeInt(int value) {
+        long remaining = value;
+        if (remaining < 0) {
+            buffer[count++] = '-';
+            remaining = -remaining;
+        }
+        
+        int digitsStart = count;
+        do {
+            buffer[count++] = (byte) ('0' + (remaining % 10));
+            remaining /= 10;
+        } while (remaining > 0);
+        
+        // Los dígitos se generaron al revés
+        for (int left = digitsStart, right = count - 1; left < right; left++, right--) {
+            byte swap = buffer[left];
+            buffer[left] = buffer[right];
+            buffer[right] = swap;
+        }
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        window.clear().limit(count);
+        while (window.hasRemaining()) {
+            channel.write(window);
+        }
+        count = 0;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Regla declarativa que describe cómo envejece un tipo de item, sin escribir una clase nueva.
+ *
+ * Cada día el sellIn baja {@code sellInStep} unidades y, según el tramo en que cae el nuevo
+ * sellIn, la calidad pasa a {@code quality * multiplicador + delta}, acotada a [floor, ceiling].
+ * Los tramos se declaran por su sellIn mínimo; el primero debe empezar en
+ * {@link Integer#MIN_VALUE} para cubrir todos los valores.
+ *
+ * Las reglas se compilan en tablas con {@link RuleEngine}.
+ */
+public final class ItemRule {
+    
+    /**
+     * Forma de comparar el nombre del item con el patrón de la regla.
+     */
+    public enum NameMatch {
+        EXACT,
+        PREFIX,
+        /** Coincide con cualquier nombre; útil como regla por defecto al final de la lista. */
+        ANY
+    }
+    
+    /**
+     * Tramo de sellIn con su transformación de calidad.
+     */
+    public static final class Segment {
+        
+        private final int minSellIn;
+        private final int qualityMultiplier;
+        private final int qualityDelta;
+        
+        /**
+         * @param minSellIn sellIn mínimo (ya decrementado) desde el que aplica el tramo
+         * @param qualityMultiplier 1 para conservar la calidad actual, 0 para reemplazarla
+         * @param qualityDelta cantidad que se suma a la calidad
+         */
+        public Segment(int minSellIn, int qualityMultiplier, int qualityDelta) {
+            if (qualityMultiplier != 0 && qualityMultiplier != 1) {
+                throw new IllegalArgumentException("El multiplicador de calidad debe ser 0 o 1");
+            }
+            this.minSellIn = minSellIn;
+            this.qualityMultiplier = qualityMultiplier;
+            this.qualityDelta = qualityDelta;
+        }
+        
+        public int getMinSellIn() {
+            return minSellIn;
+        }
+        
+        public int getQualityMultiplier() {
+            return qualityMultiplier;
+        }
+        
+        public int getQualityDelta() {
+            return qualityDelta;
+        }
+    }
+    
+    private final NameMatch match;
+    private final String pattern;
+    private final int sellInStep;
+    private final int floor;
+    private final int ceiling;
+    private final List<Segment> segments;
+    
+    /**
+     * @param match forma de comparar el nombre
+     * @param pattern nombre exacto o prefijo (ignorado con {@link NameMatch#ANY})
+     * @param sellInStep cuánto baja el sellIn por día
+     * @param floor calidad mínima ({@link Integer#MIN_VALUE} para no acotar)
+     * @param ceiling calidad máxima ({@link Integer#MAX_VALUE} para no acotar)
+     * @param segments tramos ordenados por sellIn mínimo creciente
+     */
+    public ItemRule(NameMatch match, String pattern, int sellInStep, int floor, int ceiling, List<Segment> segments) {
+        if (match == null || (match != NameMatch.ANY && pattern == null)) {
+            throw new IllegalArgumentException("La regla necesita un tipo de coincidencia y un patrón");
+        }
+        if (floor > ceiling) {
+            throw new IllegalArgumentException("El mínimo de calidad no puede superar al máximo");
+        }
+        validateSegments(segments);
+        
+        this.match = match;
+        this.pattern = pattern;
+        this.sellInStep = sellInStep;
+        this.floor = floor;
+        this.ceiling = ceiling;
+        this.segments = Collections.unmodifiableList(new ArrayList<>(segments));
+    }
+    
+    private static void validateSegments(List<Segment> segments) {
+        if (segments == null || segments.isEmpty() || segments.get(0).minSellIn != Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("El primer tramo debe empezar en Integer.MIN_VALUE");
+        }
+        for (int i = 1; i < segments.size(); i++) {
+            if (segments.get(i).minSellIn <= segments.get(i - 1).minSellIn) {
+                throw new IllegalArgumentException("Los tramos deben estar ordenados por sellIn creciente");
+            }
+        }
+    }
+    
+    /**
+     * Reglas equivalentes a las estrategias incorporadas, en el mismo orden de prioridad
+     * que {@link ItemUpdateStrategyManager} y con la regla de items regulares al final.
+     */
+    public static List<ItemRule> standardRules() {
+        int unbounded = Integer.MIN_VALUE;
+        List<ItemRule> rules = new ArrayList<>();
+        
+        rules.add(new ItemRule(NameMatch.EXACT, "Sulfuras, Hand of Ragnaros", 0, unbounded, Integer.MAX_VALUE,
+            List.of(new Segment(unbounded, 1, 0))));
+        rules.add(new ItemRule(NameMatch.EXACT, "Aged Brie", 1, unbounded, 50,
+            List.of(new Segment(unbounded, 1, 2), new Segment(0, 1, 1))));
+        rules.add(new ItemRule(NameMatch.EXACT, "Backstage passes to a TAFKAL80ETC concert", 1, unbounded, 50,
+            List.of(new Segment(unbounded, 0, 0), new Segment(0, 1, 3), new Segment(6, 1, 2), new Segment(11, 1, 1))));
+        rules.add(new ItemRule(NameMatch.PREFIX, "Conjured", 1, 0, Integer.MAX_VALUE,
+            List.of(new Segment(unbounded, 1, -4), new Segment(0, 1, -2))));
+        rules.add(new ItemRule(NameMatch.ANY, null, 1, 0, Integer.MAX_VALUE,
+            List.of(new Segment(unbounded, 1, -2), new Segment(0, 1, -1))));
+        
+        return rules;
+    }
+    
+    public boolean matches(String itemName) {
+        switch (match) {
+            case EXACT:
+                return pattern.equals(itemName);
+            case PREFIX:
+                return itemName.startsWith(pattern);
+            default:
+                return true;
+        }
+    }
+    
+    public int getSellInStep() {
+        return sellInStep;
+    }
+    
+    public int getFloor() {
+        return floor;
+    }
+    
+    public int getCeiling() {
+        return ceiling;
+    }
+    
+    public List<Segment> getSegments() {
+        return segments;
+    }
+    
+    @Override
+    public String toString() {
+        return match == NameMatch.ANY ? "ItemRule[*]" : "ItemRule[" + match + " " + pattern + "]";
+    }
+}
@@ -3,6 +3,10 @@ package com.gildedrose;
 /**
  * Strategy interface para definir cómo cada tipo de item actualiza su calidad.
  * Implementa el principio de Open/Closed: abierto para extensión, cerrado para modificación.
+ *
+ * Contrato de concurrencia: una misma instancia puede recibir llamadas simultáneas desde
+ * varios hilos, siempre sobre items distintos. Las implementaciones no deben guardar estado
+ * mutable compartido entre llamadas (o deben sincronizarlo ellas mismas).
  */
 public interface ItemUpdateStrategy {
     
@@ -18,4 +22,52 @@ public interface ItemUpdateStrategy {
      * @return true si esta estrategia maneja este tipo de item
      */
     boolean canHandle(Item item);
+    
+    /**
+     * Actualiza un lote de items que ya se sabe que maneja esta estrategia.
+     * La implementación por defecto llama a {@link #updateItem(Item)} por cada item, pero ese
+     * bucle es compartido por todas las estrategias y su llamada queda megamórfica; las
+     * estrategias sobrescriben este método con su propio bucle para que el JIT pueda inlinear
+     * updateItem. Ver {@link GildedRose#enableBatchDispatch()}.
+     * @param items array con los items del lote
+     * @param from primera posición (inclusive)
+     * @param to última posición (exclusive)
+     */
+    default void updateItems(Item[] items, int from, int to) {
+        for (int i = from; i < to; i++) {
+            updateItem(items[i]);
+        }
+    }
+    
+    /**
+     * Avanza un item varios días de una vez.
+     * La implementación por defecto repite {@link #updateItem(Item)} día a día; las estrategias
+     * cuyas reglas son lineales por tramos pueden sobrescribirlo con una fórmula cerrada O(1),
+     * que debe dar exactamente el mismo resultado que {@code days} llamadas a updateItem.
+     * @param item El item a actualizar
+     * @param days Número de días a avanzar (no negativo)
+     */
+    default void advanceItem(Item item, int days) {
+        for (int day = 0; day < days; day++) {
+            updateItem(item);
+        }
+    }
+    
+    /**
+     * Indica si {@link #advanceItem(Item, int)} está implementado con una fórmula cerrada
+     * en lugar de iterar día a día.
+     */
+    default boolean supportsAnalyticAdvance() {
+        return false;
+    }
+    
+    /**
+     * Indica si el item llegó a un estado terminal: su calidad ya no cambiará con más días,
+     * aunque sellIn pueda seguir bajando. {@link TieredInventory} archiva estos items para
+     * no recorrerlos en cada tick. Por defecto ningún item se considera asentado.
+     * @param item El item a evaluar, manejado por esta estrategia
+     */
+    default boolean isSettled(Item item) {
+        return false;
+    }
 } 
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.gildedrose;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Manager que coordina las diferentes estrategias de actualización de items.
@@ -9,20 +12,42 @@ import java.util.List;
  * - Single Responsibility: solo maneja la selección y ejecución de estrategias
  * - Open/Closed: fácil agregar nuevas estrategias sin modificar este código
  * - Dependency Inversion: depende de abstracciones (ItemUpdateStrategy), no de implementaciones
+ *
+ * La resolución de estrategias se cachea por nombre de item: el recorrido completo de
+ * {@code canHandle} solo ocurre la primera vez que aparece un nombre. Por eso las
+ * estrategias deben decidir {@code canHandle} únicamente a partir de {@code item.name}.
+ *
+ * Es seguro usar el manager desde varios hilos a la vez sobre items distintos
+ * (ver {@link GildedRose#enableParallelUpdates}). Registrar estrategias mientras hay
+ * una actualización en curso no está soportado.
  */
 public class ItemUpdateStrategyManager {
-    
+
     private final List<ItemUpdateStrategy> strategies;
     private final ItemUpdateStrategy defaultStrategy;
+
+    // Cache nombre -> estrategia, invalidada cada vez que cambia la lista de estrategias
+    private final Map<String, ItemUpdateStrategy> resolutionCache;
+    private final LongAdder cacheHits;
+    private final LongAdder cacheMisses;
     
+    private UpdateMetrics metrics;
+    
+    // Cambia cada vez que se registra una estrategia, para invalidar agrupaciones cacheadas
+    private volatile long strategyVersion;
+
     /**
      * Constructor que inicializa todas las estrategias disponibles.
      * Principio de Dependency Injection: las dependencias se inyectan, no se crean internamente.
      */
     public ItemUpdateStrategyManager() {
-        this.strategies = new ArrayList<>();
+        this.strategies = new CopyOnWriteArrayList<>();
         this.defaultStrategy = new RegularItemStrategy();
-        
+        this.resolutionCache = new ConcurrentHashMap<>();
+        this.cacheHits = new LongAdder();
+        this.cacheMisses = new LongAdder();
+        this.metrics = UpdateMetrics.NOOP;
+
         // Registrar estrategias específicas (orden importante: más específicas primero)
         strategies.add(new SulfurasStrategy());
         strategies.add(new AgedBrieStrategy());
@@ -30,7 +55,7 @@ public class ItemUpdateStrategyManager {
         strategies.add(new ConjuredItemStrategy());
         // RegularItemStrategy se usa como default, no necesita registrarse
     }
-    
+
     /**
      * Encuentra y ejecuta la estrategia apropiada para el item dado.
      * Principio Single Responsibility: solo coordina, no implementa lógica específica.
@@ -39,40 +64,153 @@ public class ItemUpdateStrategyManager {
         if (item == null) {
             throw new IllegalArgumentException("Item no puede ser null");
         }
-        
+
+        applyUpdate(item);
+    }
+    
+    /**
+     * Actualiza un item no null y devuelve la estrategia que se le aplicó.
+     */
+    ItemUpdateStrategy applyUpdate(Item item) {
         ItemUpdateStrategy strategy = findStrategy(item);
+        applyResolved(strategy, item);
+        return strategy;
+    }
+    
+    /**
+     * Actualiza un item con una estrategia ya resuelta por quien llama (por ejemplo, cacheada
+     * por id de nombre), registrando las métricas igual que {@link #updateItem(Item)}.
+     */
+    void applyResolved(ItemUpdateStrategy strategy, Item item) {
+        int oldQuality = item.quality;
         strategy.updateItem(item);
+        metrics.recordItemUpdate(strategy, item, oldQuality);
+    }
+
+    /**
+     * Avanza un item varios días usando la fórmula cerrada de su estrategia si existe,
+     * o iterando día a día en caso contrario.
+     */
+    public void advanceItem(Item item, int days) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item no puede ser null");
+        }
+        if (days < 0) {
+            throw new IllegalArgumentException("El número de días no puede ser negativo");
+        }
+        
+        applyAdvance(item, days);
+    }
+    
+    /**
+     * Avanza un item no null varios días y devuelve la estrategia que se le aplicó.
+     */
+    ItemUpdateStrategy applyAdvance(Item item, int days) {
+        ItemUpdateStrategy strategy = findStrategy(item);
+        advanceResolved(strategy, item, days);
+        return strategy;
+    }
+    
+    /**
+     * Avanza un item con una estrategia ya resuelta, registrando las métricas igual que
+     * {@link #applyResolved(ItemUpdateStrategy, Item)}.
+     */
+    void advanceResolved(ItemUpdateStrategy strategy, Item item, int days) {
+        int oldQuality = item.quality;
+        strategy.advanceItem(item, days);
+        metrics.recordItemUpdate(strategy, item, oldQuality);
     }
     
     /**
      * Encuentra la estrategia correcta para un item específico.
+     * Tras la primera resolución de un nombre, el costo es una sola búsqueda en la cache.
+     */
+    ItemUpdateStrategy findStrategy(Item item) {
+        ItemUpdateStrategy cached = resolutionCache.get(item.name);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        cacheMisses.increment();
+        long start = System.nanoTime();
+        ItemUpdateStrategy resolved = scanStrategies(item);
+        resolutionCache.put(item.name, resolved);
+        metrics.recordResolution(System.nanoTime() - start);
+        return resolved;
+    }
+
+    /**
+     * Recorre las estrategias registradas en orden de prioridad.
      * Principio KISS: lógica simple y directa de selección.
      */
-    private ItemUpdateStrategy findStrategy(Item item) {
+    ItemUpdateStrategy scanStrategies(Item item) {
         for (ItemUpdateStrategy strategy : strategies) {
             if (strategy.canHandle(item)) {
                 return strategy;
             }
         }
-        
+
         // Si ninguna estrategia específica maneja el item, usar la default
         return defaultStrategy;
     }
-    
+
     /**
      * Permite agregar nuevas estrategias dinámicamente.
      * Principio Open/Closed: extensible sin modificación.
+     * La cache se vacía porque la nueva estrategia puede tener prioridad sobre resoluciones previas.
      */
     public void addStrategy(ItemUpdateStrategy strategy) {
         if (strategy != null) {
             strategies.add(0, strategy); // Agregar al inicio para mayor prioridad
+            resolutionCache.clear();
+            strategyVersion++;
         }
     }
-    
+
     /**
      * Obtiene el número de estrategias registradas (útil para testing).
      */
     public int getStrategyCount() {
         return strategies.size() + 1; // +1 por la default strategy
     }
-} 
\ No newline at end of file
+
+    /**
+     * Configura dónde se registran las métricas de actualización (por defecto {@link UpdateMetrics#NOOP}).
+     * Debe configurarse antes de empezar a actualizar items.
+     */
+    public void setMetrics(UpdateMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics no puede ser null, usar UpdateMetrics.NOOP");
+        }
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Versión de la lista de estrategias; cambia con cada {@link #addStrategy}.
+     */
+    public long getStrategyVersion() {
+        return strategyVersion;
+    }
+    
+    /**
+     * Número de resoluciones servidas desde la cache.
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Número de resoluciones que requirieron recorrer todas las estrategias.
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Número de nombres distintos actualmente resueltos en la cache.
+     */
+    public int getCachedNameCount() {
+        return resolutionCache.size();
+    }
+}
@@ -0,0 +1,115 @@
+package com.gildedrose;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con buckets logarítmicos en base 2 sobre contadores striped.
+ * Registrar un valor no asigna memoria ni bloquea; los percentiles se aproximan al límite
+ * superior del bucket correspondiente. Sin sub-buckets el error relativo máximo es de 2x;
+ * con {@code 2^subBucketBits} sub-buckets lineales por potencia de dos baja a
+ * {@code 1 / 2^subBucketBits} (6,25% con 4 bits), lo que hace usables las colas p99.9 y p99.99.
+ */
+final class LatencyHistogram {
+    
+    // Exponente máximo de un long positivo
+    private static final int MAX_EXPONENT = 62;
+    
+    private final int subBucketBits;
+    private final LongAdder[] buckets;
+    private final LongAccumulator max;
+    
+    LatencyHistogram() {
+        this(0);
+    }
+    
+    /**
+     * @param subBucketBits log2 del número de sub-buckets lineales por potencia de dos (0 a 10)
+     */
+    LatencyHistogram(int subBucketBits) {
+        if (subBucketBits < 0 || subBucketBits > 10) {
+            throw new IllegalArgumentException("subBucketBits debe estar entre 0 y 10: " + subBucketBits);
+        }
+        this.subBucketBits = subBucketBits;
+        this.buckets = new LongAdder[(MAX_EXPONENT - subBucketBits + 2) << subBucketBits];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+        this.max = new LongAccumulator(Math::max, 0L);
+    }
+    
+    void record(long nanos) {
+        long value = Math.max(nanos, 1L);
+        buckets[indexOf(value)].increment();
+        max.accumulate(value);
+    }
+    
+    /**
+     * Los valores menores que {@code 2^subBucketBits} tienen un bucket exacto cada uno; el
+     * resto se ubica por su exponente y los {@code subBucketBits} bits siguientes al más alto.
+     */
+    private int indexOf(long value) {
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent < subBucketBits) {
+            return (int) value;
+        }
+        int shift = exponent - subBucketBits;
+        int subBucket = (int) (value >>> shift) & ((1 << subBucketBits) - 1);
+        return ((shift + 1) << subBucketBits) + subBucket;
+    }
+    
+    private long upperBoundOf(int index) {
+        int shift = (index >>> subBucketBits) - 1;
+        if (shift < 0) {
+            return index;
+        }
+        int subBucket = index & ((1 << subBucketBits) - 1);
+        long lower = (1L << (shift + subBucketBits)) + ((long) subBucket << shift);
+        return lower + ((1L << shift) - 1);
+    }
+    
+    long count() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+    
+    long max() {
+        return max.get();
+    }
+    
+    /**
+     * Percentil aproximado.
+     * @param percentile valor entre 0 y 1 (por ejemplo 0.99)
+     */
+    long percentile(double percentile) {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        
+        long target = Math.max(1L, (long) Math.ceil(percentile * total));
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(upperBoundOf(i), max());
+            }
+        }
+        return max();
+    }
+    
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        max.reset();
+    }
+}
@@ -0,0 +1,240 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+
+/**
+ * Inventario con envejecimiento perezoso basado en épocas.
+ *
+ * Cada item guarda su estado en un día base y el inventario mantiene un contador global
+ * de días. Para los items cuya estrategia tiene fórmula cerrada
+ * ({@link ItemUpdateStrategy#supportsAnalyticAdvance()}) el tick no hace ningún trabajo:
+ * sus valores se calculan al leerlos aplicando {@code advanceItem} desde el día base.
+ * Solo los items con estrategias sin fórmula cerrada se actualizan en cada tick, por lo que
+ * el costo del tick es proporcional a esos items y no al tamaño del inventario.
+ *
+ * La estrategia de cada nombre se resuelve la primera vez que aparece; si se registran
+ * nuevas estrategias en el manager hay que llamar a {@link #refreshStrategies()}.
+ */
+public class LazyAgingInventory implements Inventory {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final ItemUpdateStrategyManager strategyManager;
+    private final NameDictionary names;
+
+    // Estado base de cada item y día al que corresponde
+    private int[] nameIds;
+    private int[] baseSellIns;
+    private int[] baseQualities;
+    private int[] baseDays;
+    private int size;
+
+    private int currentDay;
+
+    // Estrategia resuelta por id de nombre
+    private ItemUpdateStrategy[] strategies;
+
+    // Índices de items que deben actualizarse en cada tick (sin fórmula cerrada)
+    private int[] eagerIndices;
+    private int eagerCount;
+
+    public LazyAgingInventory(Item[] items) {
+        this(items, new ItemUpdateStrategyManager());
+    }
+
+    /**
+     * Constructor con inyección del manager de estrategias.
+     */
+    public LazyAgingInventory(Item[] items, ItemUpdateStrategyManager strategyManager) {
+        if (items == null || strategyManager == null) {
+            throw new IllegalArgumentException("Items y strategyManager no pueden ser null");
+        }
+
+        int capacity = Math.max(items.length, DEFAULT_CAPACITY);
+        this.strategyManager = strategyManager;
+        this.names = new NameDictionary();
+        this.nameIds = new int[capacity];
+        this.baseSellIns = new int[capacity];
+        this.baseQualities = new int[capacity];
+        this.baseDays = new int[capacity];
+        this.strategies = new ItemUpdateStrategy[DEFAULT_CAPACITY];
+        this.eagerIndices = new int[DEFAULT_CAPACITY];
+
+        for (Item item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("El inventario perezoso no admite items null");
+            }
+            append(item.name, item.sellIn, item.quality);
+        }
+    }
+
+    /**
+     * Agrega un item aplicando las mismas validaciones que el constructor de {@link Item}.
+     * Su estado inicial corresponde al día actual del inventario.
+     * @return índice asignado al nuevo item
+     */
+    public int add(String name, int sellIn, int quality) {
+        Item validated = new Item(name, sellIn, quality);
+        return append(validated.name, validated.sellIn, validated.quality);
+    }
+
+    private int append(String name, int sellIn, int quality) {
+        if (size == nameIds.length) {
+            int newCapacity = nameIds.length + (nameIds.length >> 1);
+            nameIds = Arrays.copyOf(nameIds, newCapacity);
+            baseSellIns = Arrays.copyOf(baseSellIns, newCapacity);
+            baseQualities = Arrays.copyOf(baseQualities, newCapacity);
+            baseDays = Arrays.copyOf(baseDays, newCapacity);
+        }
+
+        int index = size++;
+        int nameId = names.idOf(name);
+        nameIds[index] = nameId;
+        baseSellIns[index] = sellIn;
+        baseQualities[index] = quality;
+        baseDays[index] = currentDay;
+
+        if (!strategyFor(nameId).supportsAnalyticAdvance()) {
+            addEager(index);
+        }
+        return index;
+    }
+
+    /**
+     * Avanza un día. Solo se recorren los items sin fórmula cerrada.
+     */
+    @Override
+    public void updateQuality() {
+        currentDay++;
+        for (int i = 0; i < eagerCount; i++) {
+            int index = eagerIndices[i];
+            Item item = baseItem(index);
+            strategyFor(nameIds[index]).updateItem(item);
+            storeBase(index, item);
+        }
+    }
+
+    /**
+     * Avanza varios días de una vez (ver {@link GildedRose#advance(int)}).
+     */
+    public void advance(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("El número de días no puede ser negativo");
+        }
+
+        currentDay += days;
+        for (int i = 0; i < eagerCount; i++) {
+            int index = eagerIndices[i];
+            Item item = baseItem(index);
+            strategyFor(nameIds[index]).advanceItem(item, days);
+            storeBase(index, item);
+        }
+    }
+
+    /**
+     * Calcula el estado actual del item: su estado base avanzado hasta el día actual.
+     * Devuelve una copia; modificarla no altera el inventario.
+     */
+    @Override
+    public Item getItem(int index) {
+        checkIndex(index);
+        Item item = baseItem(index);
+        int elapsedDays = currentDay - baseDays[index];
+        if (elapsedDays > 0) {
+            strategyFor(nameIds[index]).advanceItem(item, elapsedDays);
+        }
+        return item;
+    }
+
+    @Override
+    public int getItemCount() {
+        return size;
+    }
+
+    public int getSellIn(int index) {
+        return getItem(index).sellIn;
+    }
+
+    public int getQuality(int index) {
+        return getItem(index).quality;
+    }
+
+    /**
+     * Día actual del inventario (número de días avanzados desde su creación).
+     */
+    public int getCurrentDay() {
+        return currentDay;
+    }
+
+    /**
+     * Número de items que se recorren en cada tick.
+     */
+    public int getEagerItemCount() {
+        return eagerCount;
+    }
+
+    /**
+     * Consolida el estado de todos los items en el día actual.
+     * Útil antes de cambiar estrategias o para acotar la distancia entre día base y día actual.
+     */
+    public void rebase() {
+        for (int index = 0; index < size; index++) {
+            if (baseDays[index] != currentDay) {
+                storeBase(index, getItem(index));
+            }
+        }
+    }
+
+    /**
+     * Vuelve a resolver las estrategias de todos los nombres (por ejemplo, tras
+     * registrar una estrategia nueva en el manager). El estado se consolida antes con las
+     * estrategias anteriores para no reinterpretar días ya transcurridos.
+     */
+    public void refreshStrategies() {
+        rebase();
+        Arrays.fill(strategies, null);
+
+        eagerCount = 0;
+        for (int index = 0; index < size; index++) {
+            if (!strategyFor(nameIds[index]).supportsAnalyticAdvance()) {
+                addEager(index);
+            }
+        }
+    }
+
+    private ItemUpdateStrategy strategyFor(int nameId) {
+        if (nameId >= strategies.length) {
+            strategies = Arrays.copyOf(strategies, Math.max(nameId + 1, strategies.length * 2));
+        }
+
+        ItemUpdateStrategy strategy = strategies[nameId];
+        if (strategy == null) {
+            strategy = strategyManager.findStrategy(Item.restore(names.nameOf(nameId), 0, 0));
+            strategies[nameId] = strategy;
+        }
+        return strategy;
+    }
+
+    private void addEager(int index) {
+        if (eagerCount == eagerIndices.length) {
+            eagerIndices = Arrays.copyOf(eagerIndices, eagerCount * 2);
+        }
+        eagerIndices[eagerCount++] = index;
+    }
+
+    private Item baseItem(int index) {
+        return Item.restore(names.nameOf(nameIds[index]), baseSellIns[index], baseQualities[index]);
+    }
+
+    private void storeBase(int index, Item item) {
+        baseSellIns[index] = item.sellIn;
+        baseQualities[index] = item.quality;
+        baseDays[index] = currentDay;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + index);
+        }
+    }
+}
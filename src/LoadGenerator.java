@@ -0,0 +1,276 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * Generador de carga para planificación de capacidad y pruebas de soak: sintetiza un
+ * inventario según un {@link LoadProfile}, ejecuta los ticks y mide rendimiento, latencia
+ * por tick, asignación de memoria y GC con los MXBeans de la JVM.
+ *
+ * Uso:
+ * <pre>
+ * java -cp build com.gildedrose.LoadGenerator --items 20000000 --days 365 --mode batch \
+ *      --mix regular=70,conjured=15,brie=8,backstage=5,sulfuras=2 --out resumen.json
+ * </pre>
+ * El resumen legible se imprime por consola y el JSON se escribe en {@code --out}.
+ */
+public class LoadGenerator {
+    
+    private static final String USAGE = String.join("\n",
+        "Uso: LoadGenerator [opciones]",
+        "  --items N         items a generar (1000000)",
+        "  --days D          ticks medidos (30)",
+        "  --warmup D        ticks previos sin medir (3)",
+        "  --mix SPEC        pesos por tipo: regular, conjured, brie, backstage, sulfuras, custom-N",
+        "                    (regular=70,conjured=15,brie=8,backstage=5,sulfuras=2)",
+        "  --names K         nombres distintos por tipo genérico (2000)",
+        "  --sell-in MIN:MAX rango uniforme de sellIn (-5:40)",
+        "  --quality MIN:MAX rango uniforme de quality dentro de [0, 50] (0:50)",
+        "  --mode M          sequential, parallel, batch, columnar o kernel (sequential)",
+        "  --seed S          semilla del generador (42)",
+        "  --out FILE        resumen JSON (target/load-summary.json)");
+    
+    public static void main(String[] args) throws IOException {
+        LoadProfile profile = new LoadProfile();
+        Path out = null;
+        try {
+            out = parseArguments(args, profile);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        if (out == null) {
+            System.out.println(USAGE);
+            return;
+        }
+        
+        LoadReport report = run(profile);
+        System.out.print(report);
+        Path directory = out.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Files.write(out, report.toJson().getBytes(StandardCharsets.UTF_8));
+        System.out.println("Resumen escrito en " + out.toAbsolutePath());
+    }
+    
+    /**
+     * Aplica los argumentos al perfil.
+     * @return archivo de salida del resumen, o null si se pidió la ayuda
+     */
+    static Path parseArguments(String[] args, LoadProfile profile) {
+        Path out = Paths.get("target", "load-summary.json");
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if ("--help".equals(option) || "-h".equals(option)) {
+                return null;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--items":
+                        profile.itemCount = Integer.parseInt(value);
+                        break;
+                    case "--days":
+                        profile.days = Integer.parseInt(value);
+                        break;
+                    case "--warmup":
+                        profile.warmupDays = Integer.parseInt(value);
+                        break;
+                    case "--mix":
+                        profile.parseMix(value);
+                        break;
+                    case "--names":
+                        profile.distinctNames = Integer.parseInt(value);
+                        break;
+                    case "--sell-in": {
+                        int[] range = parseRange(value);
+                        profile.minSellIn = range[0];
+                        profile.maxSellIn = range[1];
+                        break;
+                    }
+                    case "--quality": {
+                        int[] range = parseRange(value);
+                        profile.minQuality = range[0];
+                        profile.maxQuality = range[1];
+                        break;
+                    }
+                    case "--mode":
+                        profile.mode = LoadProfile.Mode.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--seed":
+                        profile.seed = Long.parseLong(value);
+                        break;
+                    case "--out":
+                        out = Paths.get(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor numérico inválido para " + option + ": " + value);
+            }
+        }
+        profile.validate();
+        return out;
+    }
+    
+    private static int[] parseRange(String value) {
+        int separator = value.indexOf(':', 1);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Rango inválido, se espera MIN:MAX: " + value);
+        }
+        return new int[] {
+            Integer.parseInt(value.substring(0, separator)),
+            Integer.parseInt(value.substring(separator + 1))
+        };
+    }
+    
+    /**
+     * Genera el inventario del perfil, ejecuta los ticks de calentamiento y mide los demás.
+     */
+    public static LoadReport run(LoadProfile profile) {
+        profile.validate();
+        ItemUpdateStrategyManager manager = profile.createStrategyManager();
+        Inventory inventory = profile.createInventory(profile.generateItems(), manager);
+        
+        for (int day = 0; day < profile.warmupDays; day++) {
+            inventory.updateQuality();
+        }
+        
+        GcRecorder gc = new GcRecorder();
+        Map<Long, Long> allocationStart = threadAllocations();
+        long[] tickNanos = new long[profile.days];
+        long start = System.nanoTime();
+        for (int day = 0; day < profile.days; day++) {
+            long tickStart = System.nanoTime();
+            inventory.updateQuality();
+            tickNanos[day] = System.nanoTime() - tickStart;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedSince(allocationStart);
+        List<LoadReport.GcActivity> gcActivity = gc.finish();
+        
+        return new LoadReport(profile.describe(), inventory.getItemCount(), tickNanos, elapsed, allocated, gcActivity);
+    }
+    
+    /**
+     * Bytes asignados por cada hilo vivo, o null si la JVM no expone la medición.
+     */
+    private static Map<Long, Long> threadAllocations() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threads;
+        if (!allocationBean.isThreadAllocatedMemorySupported() || !allocationBean.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+        
+        long[] ids = allocationBean.getAllThreadIds();
+        long[] bytes = allocationBean.getThreadAllocatedBytes(ids);
+        Map<Long, Long> allocations = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                allocations.put(ids[i], bytes[i]);
+            }
+        }
+        return allocations;
+    }
+    
+    /**
+     * Suma lo asignado desde la medición inicial por los hilos vivos al final (incluidos los
+     * creados durante la corrida, como los del pool paralelo). Lo asignado por hilos que ya
+     * terminaron no se cuenta.
+     */
+    private static long allocatedSince(Map<Long, Long> start) {
+        if (start == null) {
+            return -1;
+        }
+        long total = 0;
+        for (Map.Entry<Long, Long> end : threadAllocations().entrySet()) {
+            total += end.getValue() - start.getOrDefault(end.getKey(), 0L);
+        }
+        return total;
+    }
+    
+    /**
+     * Mide la actividad de cada recolector entre su creación y {@link #finish()}: colecciones
+     * y tiempo total por los contadores de los MXBeans, y la pausa más larga por las
+     * notificaciones de GC cuando la JVM las publica.
+     */
+    private static final class GcRecorder implements NotificationListener {
+        
+        private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        private final Map<String, long[]> startCounters = new HashMap<>();
+        private final Map<String, Long> maxPauses = new ConcurrentHashMap<>();
+        private final List<NotificationEmitter> emitters = new ArrayList<>();
+        
+        GcRecorder() {
+            for (GarbageCollectorMXBean collector : collectors) {
+                startCounters.put(collector.getName(),
+                                  new long[] {collector.getCollectionCount(), collector.getCollectionTime()});
+                if (collector instanceof NotificationEmitter) {
+                    NotificationEmitter emitter = (NotificationEmitter) collector;
+                    emitter.addNotificationListener(this, null, null);
+                    emitters.add(emitter);
+                }
+            }
+        }
+        
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                maxPauses.merge(info.getGcName(), info.getGcInfo().getDuration(), Math::max);
+            }
+        }
+        
+        List<LoadReport.GcActivity> finish() {
+            for (NotificationEmitter emitter : emitters) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (ListenerNotFoundException e) {
+                    // Ya no estaba registrado: nada que limpiar
+                }
+            }
+            
+            List<LoadReport.GcActivity> activity = new ArrayList<>();
+            for (GarbageCollectorMXBean collector : collectors) {
+                long[] start = startCounters.get(collector.getName());
+                long maxPause = emitters.isEmpty() ? -1 : maxPauses.getOrDefault(collector.getName(), 0L);
+                activity.add(new LoadReport.GcActivity(collector.getName(),
+                                                       collector.getCollectionCount() - start[0],
+                                                       collector.getCollectionTime() - start[1],
+                                                       maxPause));
+            }
+            return activity;
+        }
+    }
+}
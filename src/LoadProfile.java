@@ -0,0 +1,274 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuración de una corrida de {@link LoadGenerator}: tamaño, mezcla de tipos,
+ * distribución de valores, estrategias personalizadas y modo de actualización.
+ *
+ * La mezcla son pesos relativos por tipo; los tipos {@code custom-N} generan items que
+ * resuelve la N-ésima estrategia sintética registrada en el manager.
+ */
+public class LoadProfile {
+    
+    /**
+     * Backend y forma de despacho con que se ejecutan los ticks.
+     */
+    public enum Mode {
+        /** GildedRose item a item. */
+        SEQUENTIAL,
+        /** GildedRose con tramos en el ForkJoinPool común. */
+        PARALLEL,
+        /** GildedRose agrupado por estrategia. */
+        BATCH,
+        /** ColumnarInventory. */
+        COLUMNAR,
+        /** ColumnarInventory con DecayKernel. */
+        KERNEL
+    }
+    
+    static final String REGULAR = "regular";
+    static final String CONJURED = "conjured";
+    static final String AGED_BRIE = "brie";
+    static final String BACKSTAGE = "backstage";
+    static final String SULFURAS = "sulfuras";
+    static final String CUSTOM_PREFIX = "custom-";
+    
+    private static final int PARALLEL_THRESHOLD = 8192;
+    
+    int itemCount = 1_000_000;
+    int days = 30;
+    int warmupDays = 3;
+    long seed = 42L;
+    int distinctNames = 2000;
+    int minSellIn = -5;
+    int maxSellIn = 40;
+    int minQuality = 0;
+    int maxQuality = 50;
+    Mode mode = Mode.SEQUENTIAL;
+    final Map<String, Integer> mix = new LinkedHashMap<>();
+    
+    LoadProfile() {
+        mix.put(REGULAR, 70);
+        mix.put(CONJURED, 15);
+        mix.put(AGED_BRIE, 8);
+        mix.put(BACKSTAGE, 5);
+        mix.put(SULFURAS, 2);
+    }
+    
+    /**
+     * Reemplaza la mezcla a partir de {@code tipo=peso,tipo=peso}.
+     */
+    void parseMix(String spec) {
+        mix.clear();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada de mezcla inválida: " + entry);
+            }
+            String type = parts[0].trim();
+            if (!isKnownType(type)) {
+                throw new IllegalArgumentException("Tipo de item desconocido: " + type);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo para " + type);
+            }
+            mix.merge(type, weight, Integer::sum);
+        }
+        if (totalWeight() == 0) {
+            throw new IllegalArgumentException("La mezcla debe tener algún peso positivo");
+        }
+    }
+    
+    private static boolean isKnownType(String type) {
+        switch (type) {
+            case REGULAR:
+            case CONJURED:
+            case AGED_BRIE:
+            case BACKSTAGE:
+            case SULFURAS:
+                return true;
+            default:
+                return customIndex(type) >= 0;
+        }
+    }
+    
+    private static int customIndex(String type) {
+        if (!type.startsWith(CUSTOM_PREFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(type.substring(CUSTOM_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    void validate() {
+        if (itemCount < 1 || days < 1 || warmupDays < 0 || distinctNames < 1) {
+            throw new IllegalArgumentException("items, days y names deben ser positivos y warmup no negativo");
+        }
+        if (minSellIn > maxSellIn || minQuality > maxQuality || minQuality < 0 || maxQuality > 50) {
+            throw new IllegalArgumentException("Rangos inválidos: sellIn [min, max], quality dentro de [0, 50]");
+        }
+    }
+    
+    private int totalWeight() {
+        int total = 0;
+        for (int weight : mix.values()) {
+            total += weight;
+        }
+        return total;
+    }
+    
+    /**
+     * Número de estrategias sintéticas que requiere la mezcla (la mayor N de {@code custom-N} más uno).
+     */
+    int customStrategyCount() {
+        int count = 0;
+        for (String type : mix.keySet()) {
+            count = Math.max(count, customIndex(type) + 1);
+        }
+        return count;
+    }
+    
+    /**
+     * Crea el manager con las estrategias sintéticas que use la mezcla.
+     */
+    ItemUpdateStrategyManager createStrategyManager() {
+        ItemUpdateStrategyManager manager = new ItemUpdateStrategyManager();
+        for (int i = 0; i < customStrategyCount(); i++) {
+            manager.addStrategy(new SyntheticStrategy(CUSTOM_PREFIX + i + " ", i + 1));
+        }
+        return manager;
+    }
+    
+    /**
+     * Genera los items con la semilla del perfil: la misma configuración produce siempre el
+     * mismo inventario. Cada tipo reparte sus items entre hasta {@code distinctNames} nombres,
+     * y los items con el mismo nombre comparten la instancia de String.
+     */
+    Item[] generateItems() {
+        Random random = new Random(seed);
+        List<String> types = new ArrayList<>(mix.keySet());
+        int[] cumulativeWeights = new int[types.size()];
+        String[][] namePools = new String[types.size()][];
+        int total = 0;
+        for (int t = 0; t < types.size(); t++) {
+            total += mix.get(types.get(t));
+            cumulativeWeights[t] = total;
+            namePools[t] = namePool(types.get(t));
+        }
+        
+        Item[] items = new Item[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            int roll = random.nextInt(total);
+            int t = 0;
+            while (roll >= cumulativeWeights[t]) {
+                t++;
+            }
+            String[] pool = namePools[t];
+            String name = pool[random.nextInt(pool.length)];
+            int sellIn = minSellIn + random.nextInt(maxSellIn - minSellIn + 1);
+            int quality = minQuality + random.nextInt(maxQuality - minQuality + 1);
+            items[i] = new Item(name, sellIn, quality);
+        }
+        return items;
+    }
+    
+    private String[] namePool(String type) {
+        switch (type) {
+            case AGED_BRIE:
+                return new String[] {"Aged Brie"};
+            case BACKSTAGE:
+                return new String[] {"Backstage passes to a TAFKAL80ETC concert"};
+            case SULFURAS:
+                return new String[] {"Sulfuras, Hand of Ragnaros"};
+            default:
+                String prefix = REGULAR.equals(type) ? "Regular item "
+                    : CONJURED.equals(type) ? "Conjured item " : type + " item ";
+                String[] pool = new String[distinctNames];
+                for (int i = 0; i < pool.length; i++) {
+                    pool[i] = prefix + i;
+                }
+                return pool;
+        }
+    }
+    
+    /**
+     * Crea el inventario según el modo configurado.
+     */
+    Inventory createInventory(Item[] items, ItemUpdateStrategyManager manager) {
+        switch (mode) {
+            case PARALLEL: {
+                GildedRose rose = new GildedRose(items, manager);
+                rose.enableParallelUpdates(ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+                return rose;
+            }
+            case BATCH: {
+                GildedRose rose = new GildedRose(items, manager);
+                rose.enableBatchDispatch();
+                return rose;
+            }
+            case COLUMNAR:
+                return new ColumnarInventory(items, manager);
+            case KERNEL: {
+                ColumnarInventory columnar = new ColumnarInventory(items, manager);
+                columnar.enableDecayKernel();
+                return columnar;
+            }
+            default:
+                return new GildedRose(items, manager);
+        }
+    }
+    
+    /**
+     * Descripción de la configuración para el resumen JSON.
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("items", itemCount);
+        description.put("days", days);
+        description.put("warmupDays", warmupDays);
+        description.put("seed", seed);
+        description.put("distinctNames", distinctNames);
+        description.put("sellIn", minSellIn + ":" + maxSellIn);
+        description.put("quality", minQuality + ":" + maxQuality);
+        description.put("mode", mode.name());
+        description.put("mix", new LinkedHashMap<>(mix));
+        return description;
+    }
+    
+    /**
+     * Estrategia personalizada sintética: los items ganan o pierden calidad según su paridad
+     * de sellIn, con un paso propio de cada estrategia, dentro de [0, 50].
+     */
+    static final class SyntheticStrategy implements ItemUpdateStrategy {
+        
+        private final String prefix;
+        private final int step;
+        
+        SyntheticStrategy(String prefix, int step) {
+            this.prefix = prefix;
+            this.step = step;
+        }
+        
+        @Override
+        public boolean canHandle(Item item) {
+            return item.name.startsWith(prefix);
+        }
+        
+        @Override
+        public void updateItem(Item item) {
+            item.sellIn--;
+            int delta = (item.sellIn & 1) == 0 ? step : -step;
+            item.quality = Math.max(0, Math.min(50, item.quality + delta));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de una corrida de {@link LoadGenerator}: rendimiento, latencia por tick,
+ * asignación de memoria y pausas de GC durante los ticks medidos.
+ */
+public class LoadReport {
+    
+    /**
+     * Actividad de un recolector durante los ticks medidos.
+     */
+    public static final class GcActivity {
+        
+        private final String collector;
+        private final long collections;
+        private final long totalMillis;
+        private final long maxPauseMillis;
+        
+        public GcActivity(String collector, long collections, long totalMillis, long maxPauseMillis) {
+            this.collector = collector;
+            this.collections = collections;
+            this.totalMillis = totalMillis;
+            this.maxPauseMillis = maxPauseMillis;
+        }
+        
+        public String getCollector() {
+            return collector;
+        }
+        
+        public long getCollections() {
+            return collections;
+        }
+        
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+        
+        /**
+         * Pausa más larga observada, o -1 si la JVM no publica notificaciones de GC.
+         */
+        public long getMaxPauseMillis() {
+            return maxPauseMillis;
+        }
+    }
+    
+    private final Map<String, Object> profile;
+    private final long itemCount;
+    private final long[] tickNanos;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+    private final List<GcActivity> gcActivity;
+    
+    public LoadReport(Map<String, Object> profile, long itemCount, long[] tickNanos, long elapsedNanos,
+                      long allocatedBytes, List<GcActivity> gcActivity) {
+        this.profile = profile;
+        this.itemCount = itemCount;
+        this.tickNanos = tickNanos.clone();
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcActivity = List.copyOf(gcActivity);
+        Arrays.sort(this.tickNanos);
+    }
+    
+    public int getTicks() {
+        return tickNanos.length;
+    }
+    
+    /**
+     * Items actualizados por segundo sobre el tiempo total de los ticks medidos.
+     */
+    public double getItemsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : itemCount * tickNanos.length * 1_000_000_000.0 / elapsedNanos;
+    }
+    
+    /**
+     * Latencia de tick en el percentil indicado (0-100), por el método del rango más cercano.
+     */
+    public long getTickPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentil fuera de [0, 100]: " + percentile);
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * tickNanos.length);
+        return tickNanos[Math.max(0, rank - 1)];
+    }
+    
+    /**
+     * Bytes asignados por los hilos de la JVM durante los ticks medidos, o -1 si la JVM no
+     * lo informa.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+    
+    public double getAllocationBytesPerSecond() {
+        return allocatedBytes < 0 || elapsedNanos == 0 ? -1 : allocatedBytes * 1_000_000_000.0 / elapsedNanos;
+    }
+    
+    public List<GcActivity> getGcActivity() {
+        return gcActivity;
+    }
+    
+    /**
+     * Resumen legible por máquina con la configuración y todas las métricas.
+     */
+    public String toJson() {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("min", tickNanos[0]);
+        latency.put("p50", getTickPercentileNanos(50));
+        latency.put("p90", getTickPercentileNanos(90));
+        latency.put("p99", getTickPercentileNanos(99));
+        latency.put("max", tickNanos[tickNanos.length - 1]);
+        
+        Map<String, Object> gc = new LinkedHashMap<>();
+        for (GcActivity activity : gcActivity) {
+            Map<String, Object> collector = new LinkedHashMap<>();
+            collector.put("collections", activity.getCollections());
+            collector.put("totalMillis", activity.getTotalMillis());
+            collector.put("maxPauseMillis", activity.getMaxPauseMillis());
+            gc.put(activity.getCollector(), collector);
+        }
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("profile", profile);
+        summary.put("ticks", tickNanos.length);
+        summary.put("elapsedNanos", elapsedNanos);
+        summary.put("itemsPerSecond", getItemsPerSecond());
+        summary.put("tickLatencyNanos", latency);
+        summary.put("allocatedBytes", allocatedBytes);
+        summary.put("allocationBytesPerSecond", getAllocationBytesPerSecond());
+        summary.put("gc", gc);
+        
+        StringBuilder json = new StringBuilder();
+        appendJson(json, summary, "");
+        return json.append('\n').toString();
+    }
+    
+    private static void appendJson(StringBuilder json, Object value, String indent) {
+        if (value instanceof Map) {
+            String inner = indent + "  ";
+            json.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                json.append(first ? "\n" : ",\n").append(inner);
+                appendString(json, entry.getKey().toString());
+                json.append(": ");
+                appendJson(json, entry.getValue(), inner);
+                first = false;
+            }
+            json.append(first ? "}" : "\n" + indent + "}");
+        } else if (value instanceof Double) {
+            double number = (Double) value;
+            json.append(Double.isFinite(number) ? String.format(Locale.ROOT, "%.1f", number) : "null");
+        } else if (value instanceof Number) {
+            json.append(value);
+        } else {
+            appendString(json, String.valueOf(value));
+        }
+    }
+    
+    private static void appendString(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < ' ') {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%d ticks de %d items: %.0f items/s%n", tickNanos.length, itemCount, getItemsPerSecond()));
+        text.append(String.format("Latencia por tick: p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, máx %.2f ms%n",
+                                  getTickPercentileNanos(50) / 1e6, getTickPercentileNanos(90) / 1e6,
+                                  getTickPercentileNanos(99) / 1e6, tickNanos[tickNanos.length - 1] / 1e6));
+        if (allocatedBytes >= 0) {
+            text.append(String.format("Asignación: %.1f MB (%.1f MB/s)%n",
+                                      allocatedBytes / 1e6, getAllocationBytesPerSecond() / 1e6));
+        }
+        for (GcActivity activity : gcActivity) {
+            text.append(String.format("GC %s: %d colecciones, %d ms en total, pausa máx %d ms%n",
+                                      activity.getCollector(), activity.getCollections(),
+                                      activity.getTotalMillis(), activity.getMaxPauseMillis()));
+        }
+        return text.toString();
+    }
+}
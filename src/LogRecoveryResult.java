@@ -0,0 +1,59 @@
+package com.gildedrose;
+
+/**
+ * Resultado de {@link TickChangeLog#recover}.
+ */
+public class LogRecoveryResult {
+    
+    /**
+     * Qué se hizo con el tick sin confirmar del final del log.
+     */
+    public enum PartialTick {
+        /** El log terminaba en un tick confirmado. */
+        NONE,
+        /** El tick se descartó. */
+        ROLLED_BACK,
+        /** El tick se volvió a ejecutar y quedó confirmado en el log. */
+        ROLLED_FORWARD
+    }
+    
+    private final int recoveredDay;
+    private final int replayedTicks;
+    private final PartialTick partialTick;
+    private final int mismatchedChanges;
+    
+    public LogRecoveryResult(int recoveredDay, int replayedTicks, PartialTick partialTick, int mismatchedChanges) {
+        this.recoveredDay = recoveredDay;
+        this.replayedTicks = replayedTicks;
+        this.partialTick = partialTick;
+        this.mismatchedChanges = mismatchedChanges;
+    }
+    
+    /**
+     * Día del log en el que quedaron los items.
+     */
+    public int getRecoveredDay() {
+        return recoveredDay;
+    }
+    
+    public int getReplayedTicks() {
+        return replayedTicks;
+    }
+    
+    public PartialTick getPartialTick() {
+        return partialTick;
+    }
+    
+    /**
+     * En ROLL_FORWARD, cambios ya registrados del tick interrumpido que no coinciden con los
+     * de la nueva ejecución; distinto de cero indica estrategias no deterministas.
+     */
+    public int getMismatchedChanges() {
+        return mismatchedChanges;
+    }
+    
+    @Override
+    public String toString() {
+        return "Recuperado día " + recoveredDay + " (" + replayedTicks + " ticks, tick parcial " + partialTick + ")";
+    }
+}
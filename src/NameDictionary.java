@@ -0,0 +1,67 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario que codifica nombres de items como identificadores enteros densos.
+ * Permite que millones de items compartan unos pocos cientos de instancias de String.
+ */
+public class NameDictionary {
+    
+    private final Map<String, Integer> idsByName;
+    private final List<String> namesById;
+    
+    public NameDictionary() {
+        this.idsByName = new HashMap<>();
+        this.namesById = new ArrayList<>();
+    }
+    
+    /**
+     * Obtiene el id de un nombre, registrándolo si es la primera vez que aparece.
+     * @return id entre 0 y {@link #size()} - 1
+     */
+    public int idOf(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("El nombre no puede ser null");
+        }
+        
+        Integer id = idsByName.get(name);
+        if (id != null) {
+            return id;
+        }
+        
+        int newId = namesById.size();
+        namesById.add(name);
+        idsByName.put(name, newId);
+        return newId;
+    }
+    
+    /**
+     * Busca el id de un nombre sin registrarlo.
+     * @return el id, o -1 si el nombre no está en el diccionario
+     */
+    public int find(String name) {
+        Integer id = idsByName.get(name);
+        return id != null ? id : -1;
+    }
+    
+    /**
+     * Obtiene el nombre (instancia compartida) asociado a un id.
+     */
+    public String nameOf(int id) {
+        if (id < 0 || id >= namesById.size()) {
+            throw new IndexOutOfBoundsException("Id de nombre fuera de rango: " + id);
+        }
+        return namesById.get(id);
+    }
+    
+    /**
+     * Número de nombres distintos registrados.
+     */
+    public int size() {
+        return namesById.size();
+    }
+}
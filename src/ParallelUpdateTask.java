@@ -0,0 +1,60 @@
+package com.gildedrose;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tarea fork/join que actualiza un rango de items dividiéndolo en mitades
+ * hasta que el tramo es menor que el umbral secuencial.
+ * Cada item se actualiza de forma independiente, así que los tramos no comparten estado.
+ * Si un tramo falla, la tarea termina recién cuando terminaron todos los demás.
+ */
+class ParallelUpdateTask extends RecursiveAction {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final List<Item> items;
+    private final ItemUpdateStrategyManager strategyManager;
+    private final int from;
+    private final int to;
+    private final int sequentialThreshold;
+    
+    ParallelUpdateTask(List<Item> items, ItemUpdateStrategyManager strategyManager,
+                       int from, int to, int sequentialThreshold) {
+        this.items = items;
+        this.strategyManager = strategyManager;
+        this.from = from;
+        this.to = to;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+    
+    @Override
+    protected void compute() {
+        if (to - from <= sequentialThreshold) {
+            updateRange();
+            return;
+        }
+        
+        int middle = (from + to) >>> 1;
+        ParallelUpdateTask second = new ParallelUpdateTask(items, strategyManager, middle, to, sequentialThreshold);
+        second.fork();
+        try {
+            new ParallelUpdateTask(items, strategyManager, from, middle, sequentialThreshold).invoke();
+        } catch (RuntimeException | Error e) {
+            // invokeAll no espera al otro tramo si el primero falla; quien restaure el estado
+            // tras el error necesita que ningún item se siga modificando
+            second.quietlyJoin();
+            throw e;
+        }
+        second.join();
+    }
+    
+    private void updateRange() {
+        for (int i = from; i < to; i++) {
+            Item item = items.get(i);
+            if (item != null) {
+                strategyManager.updateItem(item);
+            }
+        }
+    }
+}
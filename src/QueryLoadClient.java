@@ -0,0 +1,292 @@
+package com.gildedrose;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cliente de carga para {@link InventoryQueryServer}: abre varias conexiones, mantiene en
+ * cada una {@code --pipeline} peticiones GET en vuelo con lotes de índices aleatorios y
+ * mide peticiones por segundo y latencia por petición (desde el envío hasta la respuesta).
+ *
+ * Sin {@code --port} levanta un servidor local sobre un inventario sintético de
+ * {@code --items} items y ejecuta un tick cada {@code --tick-ms} mientras dura la prueba,
+ * para medir las lecturas con el intercambio de snapshots en curso. Las latencias se
+ * agrupan con 16 sub-buckets por potencia de dos, así los percentiles informados tienen un
+ * error relativo de 6,25% como máximo.
+ *
+ * Uso:
+ * <pre>
+ * java -cp build com.gildedrose.QueryLoadClient --items 1000000 --connections 8 \
+ *      --pipeline 32 --batch 16 --seconds 20
+ * </pre>
+ */
+public class QueryLoadClient {
+
+    private static final String USAGE = String.join("\n",
+        "Uso: QueryLoadClient [opciones]",
+        "  --host H          servidor al que conectarse (localhost)",
+        "  --port P          puerto del servidor; sin él se levanta uno local",
+        "  --items N         items del inventario local, o rango de índices consultados (1000000)",
+        "  --connections C   conexiones simultáneas (4)",
+        "  --pipeline K      peticiones en vuelo por conexión (16)",
+        "  --batch B         índices por petición GET, hasta " + InventoryQueryServer.MAX_BATCH + " (16)",
+        "  --seconds S       duración de la medición (10)",
+        "  --tick-ms T       intervalo entre ticks del servidor local, 0 sin ticks (1000)");
+
+    private static final int RESPONSE_BUFFER_BYTES = 64 * 1024;
+
+    // 16 sub-buckets lineales por potencia de dos: error relativo máximo de 6,25% en p99.9/p99.99
+    private static final int LATENCY_SUB_BUCKET_BITS = 4;
+
+    String host = "localhost";
+    int port = -1;
+    int itemCount = 1_000_000;
+    int connections = 4;
+    int pipeline = 16;
+    int batch = 16;
+    int seconds = 10;
+    int tickMillis = 1000;
+
+    public static void main(String[] args) throws Exception {
+        QueryLoadClient client = new QueryLoadClient();
+        try {
+            if (!client.parseArguments(args)) {
+                System.out.println(USAGE);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        client.run();
+    }
+
+    /**
+     * @return false si se pidió la ayuda
+     */
+    boolean parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if ("--help".equals(option) || "-h".equals(option)) {
+                return false;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--host":
+                        host = value;
+                        break;
+                    case "--port":
+                        port = Integer.parseInt(value);
+                        break;
+                    case "--items":
+                        itemCount = Integer.parseInt(value);
+                        break;
+                    case "--connections":
+                        connections = Integer.parseInt(value);
+                        break;
+                    case "--pipeline":
+                        pipeline = Integer.parseInt(value);
+                        break;
+                    case "--batch":
+                        batch = Integer.parseInt(value);
+                        break;
+                    case "--seconds":
+                        seconds = Integer.parseInt(value);
+                        break;
+                    case "--tick-ms":
+                        tickMillis = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor numérico inválido para " + option + ": " + value);
+            }
+        }
+
+        if (itemCount < 1 || connections < 1 || pipeline < 1 || seconds < 1 || tickMillis < 0) {
+            throw new IllegalArgumentException("Items, conexiones, pipeline y segundos deben ser positivos");
+        }
+        if (batch < 1 || batch > InventoryQueryServer.MAX_BATCH) {
+            throw new IllegalArgumentException("El lote debe estar entre 1 y " + InventoryQueryServer.MAX_BATCH);
+        }
+        return true;
+    }
+
+    void run() throws Exception {
+        InventoryQueryServer server = null;
+        GildedRose inventory = null;
+        InetSocketAddress address;
+        if (port < 0) {
+            LoadProfile profile = new LoadProfile();
+            profile.itemCount = itemCount;
+            inventory = new GildedRose(profile.generateItems());
+            server = new InventoryQueryServer(inventory, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            server.start();
+            address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+            System.out.println("Servidor local con " + itemCount + " items en el puerto " + server.getPort());
+        } else {
+            address = new InetSocketAddress(host, port);
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram(LATENCY_SUB_BUCKET_BITS);
+        AtomicLong lookups = new AtomicLong();
+        AtomicLong missing = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (int c = 0; c < connections; c++) {
+            long seed = 31L * c + 7;
+            Thread thread = new Thread(() -> {
+                try {
+                    runConnection(address, seed, deadline, latencies, lookups, missing);
+                } catch (IOException e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            }, "query-load-" + c);
+            threads.add(thread);
+        }
+
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        int ticks = 0;
+        if (inventory != null && tickMillis > 0) {
+            while (System.nanoTime() + tickMillis * 1_000_000L < deadline) {
+                Thread.sleep(tickMillis);
+                inventory.updateQuality();
+                ticks++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (server != null) {
+            server.close();
+        }
+        printReport(latencies, lookups.get(), missing.get(), elapsed, ticks, errors);
+    }
+
+    /**
+     * Mantiene {@link #pipeline} peticiones en vuelo por la conexión hasta el plazo y luego
+     * espera las respuestas pendientes.
+     */
+    private void runConnection(InetSocketAddress address, long seed, long deadline, LatencyHistogram latencies,
+                               AtomicLong lookups, AtomicLong missing) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            int requestBytes = InventoryQueryServer.GET_HEADER_BYTES + batch * Integer.BYTES;
+            ByteBuffer request = ByteBuffer.allocateDirect(requestBytes * pipeline);
+            ByteBuffer response = ByteBuffer.allocateDirect(RESPONSE_BUFFER_BYTES);
+            response.limit(0);
+            SplittableRandom random = new SplittableRandom(seed);
+            long[] sentAt = new long[pipeline];
+
+            int nextId = 0;
+            for (; nextId < pipeline; nextId++) {
+                putRequest(request, nextId, random);
+                sentAt[nextId % pipeline] = System.nanoTime();
+            }
+            writeFully(channel, request);
+
+            int received = 0;
+            int lastDay = Integer.MIN_VALUE;
+            while (received < nextId) {
+                int responseBytes = InventoryQueryServer.RESPONSE_HEADER_BYTES + batch * InventoryQueryServer.ITEM_RESPONSE_BYTES;
+                fill(channel, response, responseBytes);
+                int requestId = response.getInt(response.position() + 1);
+                int day = response.getInt(response.position() + 5);
+                if (requestId != received || day < lastDay) {
+                    throw new IOException("Respuesta fuera de orden: petición " + requestId + ", día " + day);
+                }
+                lastDay = day;
+
+                long now = System.nanoTime();
+                latencies.record(now - sentAt[requestId % pipeline]);
+                int first = response.position() + InventoryQueryServer.RESPONSE_HEADER_BYTES;
+                int absent = 0;
+                for (int i = 0; i < batch; i++) {
+                    if (response.getInt(first + i * InventoryQueryServer.ITEM_RESPONSE_BYTES) < 0) {
+                        absent++;
+                    }
+                }
+                response.position(response.position() + responseBytes);
+                lookups.addAndGet(batch);
+                missing.addAndGet(absent);
+                received++;
+
+                if (now < deadline) {
+                    putRequest(request, nextId, random);
+                    sentAt[nextId % pipeline] = System.nanoTime();
+                    nextId++;
+                    writeFully(channel, request);
+                }
+            }
+        }
+    }
+
+    private void putRequest(ByteBuffer request, int requestId, SplittableRandom random) {
+        request.put(InventoryQueryServer.GET).putInt(requestId).putShort((short) batch);
+        for (int i = 0; i < batch; i++) {
+            request.putInt(random.nextInt(itemCount));
+        }
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Lee hasta que el buffer tenga al menos {@code bytes} bytes pendientes de procesar.
+     * El buffer está siempre en modo lectura, con la posición en la respuesta siguiente.
+     */
+    private static void fill(SocketChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        while (buffer.remaining() < bytes) {
+            buffer.compact();
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("El servidor cerró la conexión");
+            }
+            buffer.flip();
+        }
+    }
+
+    private void printReport(LatencyHistogram latencies, long lookups, long missing, long elapsedNanos,
+                             int ticks, List<Throwable> errors) {
+        double seconds = elapsedNanos / 1e9;
+        long requests = latencies.count();
+        System.out.printf(Locale.ROOT, "Conexiones %d, pipeline %d, lote %d, %.1f s, %d ticks del servidor%n",
+                          connections, pipeline, batch, seconds, ticks);
+        System.out.printf(Locale.ROOT, "Peticiones: %d (%.0f QPS), items consultados: %d (%.0f/s), inexistentes: %d%n",
+                          requests, requests / seconds, lookups, lookups / seconds, missing);
+        System.out.printf(Locale.ROOT, "Latencia (us): p50 %.1f  p99 %.1f  p99.9 %.1f  p99.99 %.1f  max %.1f%n",
+                          latencies.percentile(0.50) / 1e3, latencies.percentile(0.99) / 1e3,
+                          latencies.percentile(0.999) / 1e3, latencies.percentile(0.9999) / 1e3,
+                          latencies.max() / 1e3);
+        for (Throwable error : errors) {
+            System.out.println("Error en una conexión: " + error);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.gildedrose;
 
+import java.util.Set;
+
 /**
  * Strategy para items regulares que degradan en calidad con el tiempo.
  * Implementa Single Responsibility Principle: solo maneja la lógica de items regulares.
@@ -9,6 +11,12 @@ public class RegularItemStrategy implements ItemUpdateStrategy {
     private static final int MIN_QUALITY = 0;
     private static final int QUALITY_DECREASE_RATE = 1;
     private static final int EXPIRED_QUALITY_DECREASE_RATE = 2;
+    private static final String CONJURED_PREFIX = "Conjured";
+    private static final Set<String> SPECIAL_ITEM_NAMES = Set.of(
+        "Aged Brie",
+        "Backstage passes to a TAFKAL80ETC concert",
+        "Sulfuras, Hand of Ragnaros"
+    );
     
     @Override
     public boolean canHandle(Item item) {
@@ -29,14 +37,53 @@ public class RegularItemStrategy implements ItemUpdateStrategy {
         item.quality = Math.max(MIN_QUALITY, item.quality - qualityDecrease);
     }
     
+    /**
+     * Bucle propio para que la llamada a updateItem sea monomórfica y se pueda inlinear.
+     */
+    @Override
+    public void updateItems(Item[] items, int from, int to) {
+        for (int i = from; i < to; i++) {
+            updateItem(items[i]);
+        }
+    }
+    
+    /**
+     * Fórmula cerrada: la degradación es monótona, así que basta sumar la tasa de cada
+     * tramo (antes y después de expirar) y aplicar el mínimo una sola vez.
+     */
+    @Override
+    public void advanceItem(Item item, int days) {
+        if (days <= 0) {
+            return;
+        }
+        
+        long freshDays = AgingMath.daysBeforeExpiry(item.sellIn, days);
+        long totalDecrease = freshDays * QUALITY_DECREASE_RATE
+            + (days - freshDays) * EXPIRED_QUALITY_DECREASE_RATE;
+        
+        item.sellIn -= days;
+        item.quality = AgingMath.clampToInt(Math.max(MIN_QUALITY, item.quality - totalDecrease));
+    }
+    
+    @Override
+    public boolean supportsAnalyticAdvance() {
+        return true;
+    }
+    
+    /**
+     * La calidad solo baja: al llegar al mínimo ya no cambia.
+     */
+    @Override
+    public boolean isSettled(Item item) {
+        return item.quality == MIN_QUALITY;
+    }
+    
     /**
      * Determina si un item es especial (tiene reglas particulares).
      * Principio DRY: lógica centralizada para identificar items especiales.
      */
     private boolean isSpecialItem(String itemName) {
-        return itemName.equals("Aged Brie") ||
-               itemName.equals("Backstage passes to a TAFKAL80ETC concert") ||
-               itemName.equals("Sulfuras, Hand of Ragnaros") ||
-               itemName.startsWith("Conjured");
+        return SPECIAL_ITEM_NAMES.contains(itemName) ||
+               itemName.startsWith(CONJURED_PREFIX);
     }
 } 
\ No newline at end of file
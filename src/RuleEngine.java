@@ -0,0 +1,220 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Motor que compila una lista de {@link ItemRule} en tablas densas indexadas por
+ * (id de regla, tramo de sellIn acotado).
+ *
+ * Todos los puntos de corte de todas las reglas definen un rango global [low, high];
+ * un sellIn fuera de ese rango se acota a sus extremos porque ninguna regla cambia de
+ * tramo más allá. Así, actualizar un item es una búsqueda en tabla, un multiplicar-sumar y
+ * un acotamiento, sin ramas por tipo de item.
+ *
+ * Las tablas son inmutables una vez compiladas, por lo que el motor es seguro entre hilos.
+ */
+public class RuleEngine {
+    
+    private static final int NO_RULE = -1;
+    
+    /** Máximo de tramos de sellIn por regla: acota el tamaño de las tablas densas. */
+    static final int MAX_SELL_IN_SPAN = 1 << 16;
+    
+    private final List<ItemRule> rules;
+    private final int lowSellIn;
+    private final int highSellIn;
+    private final int width;
+    
+    // Por regla
+    private final int[] sellInSteps;
+    private final int[] floors;
+    private final int[] ceilings;
+    
+    // Por (regla, tramo): celda = regla * width + (sellIn acotado - lowSellIn)
+    private final int[] multipliers;
+    private final int[] deltas;
+    
+    private final Map<String, Integer> ruleByName = new ConcurrentHashMap<>();
+    
+    /**
+     * Compila las reglas; ante varias coincidencias gana la primera de la lista.
+     * @throws IllegalArgumentException si los puntos de corte abarcan más de {@link #MAX_SELL_IN_SPAN} tramos
+     */
+    public RuleEngine(List<ItemRule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una regla");
+        }
+        
+        this.rules = List.copyOf(rules);
+        int low = Integer.MAX_VALUE;
+        int high = Integer.MIN_VALUE;
+        for (ItemRule rule : this.rules) {
+            for (ItemRule.Segment segment : rule.getSegments()) {
+                if (segment.getMinSellIn() != Integer.MIN_VALUE) {
+                    low = Math.min(low, segment.getMinSellIn() - 1);
+                    high = Math.max(high, segment.getMinSellIn());
+                }
+            }
+        }
+        if (low > high) {
+            // Ninguna regla tiene puntos de corte: un único tramo
+            low = 0;
+            high = 0;
+        }
+        
+        this.lowSellIn = low;
+        this.highSellIn = high;
+        this.width = spanOf(low, high);
+        
+        int ruleCount = this.rules.size();
+        int cells = cellCount(ruleCount, width);
+        this.sellInSteps = new int[ruleCount];
+        this.floors = new int[ruleCount];
+        this.ceilings = new int[ruleCount];
+        this.multipliers = new int[cells];
+        this.deltas = new int[cells];
+        
+        for (int ruleId = 0; ruleId < ruleCount; ruleId++) {
+            compileRule(ruleId, this.rules.get(ruleId));
+        }
+    }
+    
+    /**
+     * Cantidad de tramos entre los puntos de corte extremos, sin desbordar int.
+     */
+    private static int spanOf(int low, int high) {
+        try {
+            int span = Math.addExact(Math.subtractExact(high, low), 1);
+            if (span <= MAX_SELL_IN_SPAN) {
+                return span;
+            }
+        } catch (ArithmeticException e) {
+            // El rango no entra en un int: se informa igual que uno demasiado ancho
+        }
+        throw new IllegalArgumentException(
+            "Los puntos de corte de sellIn abarcan [" + low + ", " + high + "]; el máximo es " + MAX_SELL_IN_SPAN + " tramos");
+    }
+    
+    private static int cellCount(int ruleCount, int width) {
+        try {
+            return Math.multiplyExact(ruleCount, width);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Demasiadas reglas para el rango de sellIn: " + ruleCount + " x " + width, e);
+        }
+    }
+    
+    /**
+     * Motor con las reglas equivalentes a las estrategias incorporadas.
+     */
+    public static RuleEngine standard() {
+        return new RuleEngine(ItemRule.standardRules());
+    }
+    
+    private void compileRule(int ruleId, ItemRule rule) {
+        sellInSteps[ruleId] = rule.getSellInStep();
+        floors[ruleId] = rule.getFloor();
+        ceilings[ruleId] = rule.getCeiling();
+        
+        List<ItemRule.Segment> segments = rule.getSegments();
+        int segmentIndex = 0;
+        for (int bucket = 0; bucket < width; bucket++) {
+            int sellIn = lowSellIn + bucket;
+            while (segmentIndex + 1 < segments.size() && segments.get(segmentIndex + 1).getMinSellIn() <= sellIn) {
+                segmentIndex++;
+            }
+            
+            ItemRule.Segment segment = segments.get(segmentIndex);
+            multipliers[ruleId * width + bucket] = segment.getQualityMultiplier();
+            deltas[ruleId * width + bucket] = segment.getQualityDelta();
+        }
+    }
+    
+    /**
+     * Id de la primera regla que coincide con el nombre, cacheado por nombre.
+     * @return el id, o -1 si ninguna regla coincide
+     */
+    public int ruleFor(String itemName) {
+        Integer cached = ruleByName.get(itemName);
+        if (cached != null) {
+            return cached;
+        }
+        
+        int resolved = NO_RULE;
+        for (int ruleId = 0; ruleId < rules.size(); ruleId++) {
+            if (rules.get(ruleId).matches(itemName)) {
+                resolved = ruleId;
+                break;
+            }
+        }
+        ruleByName.put(itemName, resolved);
+        return resolved;
+    }
+    
+    /**
+     * Aplica un día de la regla indicada sobre un item.
+     */
+    public void apply(int ruleId, Item item) {
+        int sellIn = item.sellIn - sellInSteps[ruleId];
+        int cell = cellFor(ruleId, sellIn);
+        int quality = item.quality * multipliers[cell] + deltas[cell];
+        
+        item.sellIn = sellIn;
+        item.quality = Math.min(ceilings[ruleId], Math.max(floors[ruleId], quality));
+    }
+    
+    /**
+     * Aplica un día sobre un rango de items almacenados en columnas.
+     * @param ruleIds id de regla de cada item
+     */
+    public void apply(int[] ruleIds, int[] sellIns, int[] qualities, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int ruleId = ruleIds[i];
+            int sellIn = sellIns[i] - sellInSteps[ruleId];
+            int cell = cellFor(ruleId, sellIn);
+            int quality = qualities[i] * multipliers[cell] + deltas[cell];
+            
+            sellIns[i] = sellIn;
+            qualities[i] = Math.min(ceilings[ruleId], Math.max(floors[ruleId], quality));
+        }
+    }
+    
+    private int cellFor(int ruleId, int sellIn) {
+        return ruleId * width + Math.min(Math.max(sellIn, lowSellIn), highSellIn) - lowSellIn;
+    }
+    
+    /**
+     * Expone el motor como una estrategia que se puede registrar en un
+     * {@link ItemUpdateStrategyManager}; maneja todo item que coincida con alguna regla.
+     */
+    public ItemUpdateStrategy asStrategy() {
+        return new ItemUpdateStrategy() {
+            @Override
+            public boolean canHandle(Item item) {
+                return ruleFor(item.name) != NO_RULE;
+            }
+            
+            @Override
+            public void updateItem(Item item) {
+                int ruleId = ruleFor(item.name);
+                if (ruleId == NO_RULE) {
+                    throw new IllegalArgumentException("Ninguna regla maneja el item: " + item.name);
+                }
+                apply(ruleId, item);
+            }
+            
+            @Override
+            public void updateItems(Item[] items, int from, int to) {
+                for (int i = from; i < to; i++) {
+                    updateItem(items[i]);
+                }
+            }
+        };
+    }
+    
+    public List<ItemRule> getRules() {
+        return new ArrayList<>(rules);
+    }
+}
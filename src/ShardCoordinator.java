@@ -0,0 +1,535 @@
+package com.gildedrose;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inventario particionado entre varios procesos {@link ShardWorker} de la misma máquina.
+ *
+ * Cada item se asigna a un trabajador según el hash de su índice global, así cada proceso
+ * tiene un heap pequeño y una pausa de GC solo detiene su partición. Los trabajadores se
+ * lanzan con {@link ProcessBuilder} usando el mismo java y classpath que el coordinador y
+ * se comunican por sockets de localhost.
+ *
+ * El tick es un commit en dos fases: el coordinador envía PREPARE a todos los trabajadores
+ * a la vez, y solo si todos lo aceptan envía COMMIT; si alguno falla se envía ABORT y cada
+ * partición vuelve al estado previo al tick. Si un trabajador no responde dentro del plazo
+ * el estado de las particiones queda indeterminado y el coordinador se cierra. Las lecturas se
+ * envían al trabajador dueño de cada índice; {@link #getItems(int...)} agrupa los índices
+ * por trabajador y consulta a todos en paralelo.
+ *
+ * Los trabajadores usan las estrategias por defecto de {@link ItemUpdateStrategyManager};
+ * las personalizadas se cargan en cada proceso pasando sus clases en las opciones de JVM
+ * (ver {@link ShardWorker}). No es seguro usar el coordinador desde varios hilos a la vez.
+ */
+public class ShardCoordinator implements Inventory, AutoCloseable {
+
+    private static final int DEFAULT_TIMEOUT_MILLIS = 60_000;
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    // Items por mensaje ADD para no acumular lotes enormes en memoria
+    private static final int ADD_BATCH_SIZE = 8192;
+
+    private final Worker[] workers;
+    private final int timeoutMillis;
+
+    // Ubicación de cada índice global: trabajador e índice dentro de su partición
+    private int[] shardOf = new int[DEFAULT_CAPACITY];
+    private int[] localIndexOf = new int[DEFAULT_CAPACITY];
+    private int size;
+    private final int[] shardSizes;
+
+    private long tick;
+    private long abortedTicks;
+    private boolean closed;
+
+    /**
+     * Lanza {@code workerCount} trabajadores con las opciones de JVM por defecto.
+     */
+    public ShardCoordinator(int workerCount) {
+        this(workerCount, Collections.emptyList(), DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Lanza {@code workerCount} trabajadores.
+     * @param jvmOptions opciones para cada proceso trabajador (por ejemplo {@code -Xmx512m})
+     * @param timeoutMillis plazo de cada respuesta de un trabajador; al vencer se cierra el coordinador
+     */
+    public ShardCoordinator(int workerCount, List<String> jvmOptions, int timeoutMillis) {
+        if (workerCount < 1 || timeoutMillis < 1) {
+            throw new IllegalArgumentException("Trabajadores y plazo deben ser positivos");
+        }
+        if (jvmOptions == null) {
+            throw new IllegalArgumentException("jvmOptions no puede ser null");
+        }
+
+        this.timeoutMillis = timeoutMillis;
+        this.workers = new Worker[workerCount];
+        this.shardSizes = new int[workerCount];
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                workers[i] = Worker.launch(i, jvmOptions, timeoutMillis);
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            if (e instanceof IOException) {
+                throw new UncheckedIOException("No se pudieron lanzar los trabajadores", (IOException) e);
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    /**
+     * Agrega los items repartiéndolos entre los trabajadores, validándolos antes con el
+     * constructor de {@link Item}. Los items del array no quedan ligados al inventario.
+     * @return índice global asignado al primer item
+     */
+    public int addItems(Item... items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Items no puede ser null");
+        }
+        ensureOpen();
+
+        int first = size;
+        for (int from = 0; from < items.length; from += ADD_BATCH_SIZE) {
+            addBatch(items, from, Math.min(items.length, from + ADD_BATCH_SIZE));
+        }
+        return first;
+    }
+
+    private void addBatch(Item[] items, int from, int to) {
+        int[] counts = new int[workers.length];
+        int[] shards = new int[to - from];
+        Item[] validated = new Item[to - from];
+        for (int i = from; i < to; i++) {
+            if (items[i] == null) {
+                throw new IllegalArgumentException("El inventario particionado no admite items null");
+            }
+            validated[i - from] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+            shards[i - from] = shardFor(size + i - from);
+            counts[shards[i - from]]++;
+        }
+
+        try {
+            for (int w = 0; w < workers.length; w++) {
+                if (counts[w] == 0) {
+                    continue;
+                }
+                DataOutputStream out = workers[w].out;
+                out.writeByte(ShardWorker.ADD);
+                out.writeInt(counts[w]);
+                for (int i = 0; i < validated.length; i++) {
+                    if (shards[i] == w) {
+                        out.writeUTF(validated[i].name);
+                        out.writeInt(validated[i].sellIn);
+                        out.writeInt(validated[i].quality);
+                    }
+                }
+                out.flush();
+            }
+
+            // Se leen todas las respuestas antes de informar un rechazo para no desincronizar
+            RuntimeException rejection = null;
+            int[] firstLocal = new int[workers.length];
+            for (int w = 0; w < workers.length; w++) {
+                if (counts[w] > 0) {
+                    String error = workers[w].readStatus();
+                    if (error == null) {
+                        firstLocal[w] = workers[w].in.readInt();
+                    } else if (rejection == null) {
+                        rejection = new IllegalStateException("Trabajador " + w + ": " + error);
+                    }
+                }
+            }
+            if (rejection != null) {
+                // Los items ya validados no deberían rechazarse: las particiones quedaron desalineadas
+                close();
+                throw rejection;
+            }
+
+            ensureCapacity(size + to - from);
+            for (int i = from; i < to; i++) {
+                int shard = shards[i - from];
+                shardOf[size] = shard;
+                localIndexOf[size] = firstLocal[shard]++;
+                shardSizes[shard]++;
+                size++;
+            }
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Tick en dos fases sobre todas las particiones.
+     * @throws IllegalStateException si algún trabajador rechaza o no prepara el tick a tiempo;
+     *         en ese caso ninguna partición avanza. Si un trabajador rechaza el COMMIT, las
+     *         particiones quedan desalineadas y el coordinador se cierra
+     */
+    @Override
+    public void updateQuality() {
+        ensureOpen();
+        long current = tick;
+
+        String failure = null;
+        try {
+            for (Worker worker : workers) {
+                worker.sendTickCommand(ShardWorker.PREPARE, current);
+            }
+            for (Worker worker : workers) {
+                String error = worker.readStatus();
+                if (error != null && failure == null) {
+                    failure = "Trabajador " + worker.id + ": " + error;
+                }
+            }
+        } catch (SocketTimeoutException e) {
+            // El trabajador puede responder tarde y su respuesta desincronizaría el protocolo:
+            // el estado de las particiones queda indeterminado y se cierra el coordinador
+            close();
+            throw new IllegalStateException("Un trabajador no preparó el tick " + current + " a tiempo", e);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+
+        if (failure != null) {
+            abortTick(current);
+            abortedTicks++;
+            throw new IllegalStateException("Tick " + current + " abortado. " + failure);
+        }
+
+        try {
+            broadcast(ShardWorker.COMMIT, current);
+        } catch (IOException e) {
+            throw failure(e);
+        } catch (IllegalStateException e) {
+            // Otros trabajadores ya confirmaron el tick: repetirlo los haría avanzar dos veces
+            close();
+            throw e;
+        }
+        tick++;
+    }
+
+    private void abortTick(long current) {
+        try {
+            broadcast(ShardWorker.ABORT, current);
+        } catch (IOException e) {
+            // Un trabajador caído no conserva estado; el resto sí recibió el ABORT
+        }
+    }
+
+    private void broadcast(byte operation, long current) throws IOException {
+        IOException error = null;
+        for (Worker worker : workers) {
+            try {
+                worker.sendTickCommand(operation, current);
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        String rejection = null;
+        for (Worker worker : workers) {
+            try {
+                String status = worker.readStatus();
+                if (status != null && rejection == null) {
+                    rejection = "Trabajador " + worker.id + ": " + status;
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        if (rejection != null) {
+            throw new IllegalStateException(rejection);
+        }
+    }
+
+    /**
+     * Obtiene una copia del item desde el trabajador que lo guarda.
+     */
+    @Override
+    public Item getItem(int index) {
+        return getItems(index)[0];
+    }
+
+    /**
+     * Obtiene copias de varios items, consultando a todos los trabajadores implicados a la vez.
+     * @return items en el mismo orden que los índices
+     */
+    public Item[] getItems(int... indices) {
+        if (indices == null) {
+            throw new IllegalArgumentException("Indices no puede ser null");
+        }
+        ensureOpen();
+
+        int[] counts = new int[workers.length];
+        for (int index : indices) {
+            checkIndex(index);
+            counts[shardOf[index]]++;
+        }
+
+        Item[] result = new Item[indices.length];
+        try {
+            for (int w = 0; w < workers.length; w++) {
+                if (counts[w] == 0) {
+                    continue;
+                }
+                DataOutputStream out = workers[w].out;
+                out.writeByte(ShardWorker.GET);
+                out.writeInt(counts[w]);
+                for (int index : indices) {
+                    if (shardOf[index] == w) {
+                        out.writeInt(localIndexOf[index]);
+                    }
+                }
+                out.flush();
+            }
+
+            // Como en addBatch, se leen todas las respuestas antes de informar un error para
+            // que la siguiente petición no reciba respuestas viejas
+            String rejection = null;
+            for (int w = 0; w < workers.length; w++) {
+                if (counts[w] == 0) {
+                    continue;
+                }
+                String error = workers[w].readStatus();
+                if (error != null) {
+                    if (rejection == null) {
+                        rejection = "Trabajador " + w + ": " + error;
+                    }
+                    continue;
+                }
+                DataInputStream in = workers[w].in;
+                for (int i = 0; i < indices.length; i++) {
+                    if (shardOf[indices[i]] == w) {
+                        result[i] = Item.restore(in.readUTF(), in.readInt(), in.readInt());
+                    }
+                }
+            }
+            if (rejection != null) {
+                throw new IllegalStateException(rejection);
+            }
+        } catch (IOException e) {
+            throw failure(e);
+        }
+        return result;
+    }
+
+    @Override
+    public int getItemCount() {
+        return size;
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * Número de items guardados en el trabajador indicado.
+     */
+    public int getShardSize(int worker) {
+        return shardSizes[worker];
+    }
+
+    /**
+     * Ticks confirmados en todas las particiones.
+     */
+    public long getTickCount() {
+        return tick;
+    }
+
+    /**
+     * Ticks abortados porque algún trabajador rechazó la fase PREPARE.
+     */
+    public long getAbortedTickCount() {
+        return abortedTicks;
+    }
+
+    /**
+     * Índice del trabajador que guarda un índice global. El hash mezcla los bits del índice
+     * para que items consecutivos, que suelen tener el mismo nombre, queden repartidos.
+     */
+    int shardFor(int index) {
+        int hash = index * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return (int) ((hash & 0xFFFFFFFFL) % workers.length);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > shardOf.length) {
+            int newCapacity = Math.max(required, shardOf.length + (shardOf.length >> 1));
+            shardOf = Arrays.copyOf(shardOf, newCapacity);
+            localIndexOf = Arrays.copyOf(localIndexOf, newCapacity);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + index);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("El coordinador está cerrado");
+        }
+    }
+
+    /**
+     * Un error de comunicación deja las conexiones en un estado desconocido: se cierran.
+     */
+    private UncheckedIOException failure(IOException e) {
+        close();
+        return new UncheckedIOException("Falló la comunicación con un trabajador", e);
+    }
+
+    /**
+     * Pide a los trabajadores que terminen y espera a sus procesos; los que no terminan
+     * dentro del plazo se destruyen.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Worker worker : workers) {
+            if (worker != null) {
+                worker.shutdown(timeoutMillis);
+            }
+        }
+    }
+
+    /**
+     * Proceso trabajador y su conexión.
+     */
+    private static final class Worker {
+        final int id;
+        final Process process;
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        private Worker(int id, Process process, Socket socket) throws IOException {
+            this.id = id;
+            this.process = process;
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        static Worker launch(int id, List<String> jvmOptions, int timeoutMillis) throws IOException {
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmOptions);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(ShardWorker.class.getName());
+
+            Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+            try {
+                BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+                String line = reader.readLine();
+                if (line == null || !line.startsWith(ShardWorker.READY_PREFIX)) {
+                    throw new IOException("El trabajador " + id + " no arrancó: " + line);
+                }
+                int port = Integer.parseInt(line.substring(ShardWorker.READY_PREFIX.length()).trim());
+                forwardOutput(id, reader);
+
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(timeoutMillis);
+                return new Worker(id, process, socket);
+            } catch (IOException | RuntimeException e) {
+                process.destroyForcibly();
+                throw e;
+            }
+        }
+
+        /**
+         * Copia en la salida del coordinador lo que el trabajador escriba después de READY
+         * (por ejemplo {@code -Xlog:gc}); sin leerla, el pipe se llenaría y el trabajador se
+         * bloquearía a mitad de un tick.
+         */
+        private static void forwardOutput(int id, BufferedReader reader) {
+            Thread forwarder = new Thread(() -> {
+                try {
+                    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                        System.out.println(line);
+                    }
+                } catch (IOException e) {
+                    // El proceso terminó o fue destruido
+                }
+            }, "shard-worker-" + id + "-stdout");
+            forwarder.setDaemon(true);
+            forwarder.start();
+        }
+
+        void sendTickCommand(byte operation, long tick) throws IOException {
+            out.writeByte(operation);
+            out.writeLong(tick);
+            out.flush();
+        }
+
+        /**
+         * Lee el estado de una respuesta.
+         * @return null si es OK, o el mensaje de error del trabajador
+         */
+        String readStatus() throws IOException {
+            byte status = in.readByte();
+            if (status == ShardWorker.OK) {
+                return null;
+            }
+            if (status == ShardWorker.ERROR) {
+                return in.readUTF();
+            }
+            throw new IOException("Respuesta desconocida del trabajador " + id + ": " + status);
+        }
+
+        void shutdown(int timeoutMillis) {
+            try {
+                out.writeByte(ShardWorker.SHUTDOWN);
+                out.flush();
+                readStatus();
+                socket.close();
+                if (!process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (IOException e) {
+                closeQuietly();
+                process.destroyForcibly();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // El proceso se destruye de todos modos
+            }
+        }
+    }
+}
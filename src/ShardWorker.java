@@ -0,0 +1,271 @@
+package com.gildedrose;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Proceso trabajador de un inventario particionado (ver {@link ShardCoordinator}).
+ *
+ * Guarda una partición de los items en un {@link GildedRose} propio y atiende a un único
+ * coordinador por un socket de localhost. Al arrancar escucha en un puerto efímero de
+ * loopback e imprime {@code READY <puerto>} por la salida estándar; termina cuando el
+ * coordinador envía {@link #SHUTDOWN} o cierra la conexión.
+ *
+ * El tick es en dos fases: {@link #PREPARE} guarda el estado de la partición y aplica
+ * {@code updateQuality()}; {@link #COMMIT} lo confirma y {@link #ABORT} restaura el estado
+ * guardado, igual que los reintentos de {@link StoreTickScheduler}.
+ *
+ * Además de las estrategias por defecto, registra las clases indicadas (separadas por comas)
+ * en la propiedad {@code gildedrose.shardWorker.strategies}; cada una debe estar en el
+ * classpath y tener un constructor sin argumentos.
+ *
+ * Uso manual: {@code java -cp build com.gildedrose.ShardWorker}
+ */
+public final class ShardWorker {
+
+    // Operaciones del protocolo: un byte de operación seguido de sus argumentos
+    static final byte ADD = 'A';
+    static final byte PREPARE = 'P';
+    static final byte COMMIT = 'C';
+    static final byte ABORT = 'X';
+    static final byte GET = 'G';
+    static final byte COUNT = 'N';
+    static final byte SHUTDOWN = 'Q';
+
+    // Respuestas: OK seguido del resultado, o ERROR seguido del mensaje
+    static final byte OK = 'K';
+    static final byte ERROR = 'E';
+
+    static final String READY_PREFIX = "READY ";
+    static final String STRATEGIES_PROPERTY = "gildedrose.shardWorker.strategies";
+
+    private final List<Item> items = new ArrayList<>();
+    private final GildedRose inventory = new GildedRose(items);
+
+    // Estado guardado en PREPARE para poder abortar; preparedTick < 0 si no hay tick abierto
+    private int[] savedSellIns = new int[0];
+    private int[] savedQualities = new int[0];
+    private long preparedTick = -1;
+    private long committedTicks;
+
+    private ShardWorker() {
+        for (String className : System.getProperty(STRATEGIES_PROPERTY, "").split(",")) {
+            if (!className.isBlank()) {
+                inventory.addCustomStrategy(loadStrategy(className.trim()));
+            }
+        }
+    }
+
+    private static ItemUpdateStrategy loadStrategy(String className) {
+        try {
+            return Class.forName(className)
+                .asSubclass(ItemUpdateStrategy.class)
+                .getDeclaredConstructor()
+                .newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("No se pudo cargar la estrategia " + className, e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Las estrategias se cargan antes de anunciar el puerto: si fallan, el coordinador lo ve al arrancar
+        ShardWorker worker = new ShardWorker();
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            System.out.println(READY_PREFIX + server.getLocalPort());
+            System.out.flush();
+
+            try (Socket socket = server.accept()) {
+                socket.setTcpNoDelay(true);
+                worker.serve(
+                    new DataInputStream(new BufferedInputStream(socket.getInputStream())),
+                    new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+            }
+        }
+    }
+
+    /**
+     * Atiende peticiones hasta SHUTDOWN o fin de la conexión. Las peticiones pueden llegar
+     * encadenadas; la respuesta se envía al vaciarse el buffer de entrada.
+     */
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            byte operation;
+            try {
+                operation = in.readByte();
+            } catch (EOFException e) {
+                return;
+            }
+
+            if (operation == SHUTDOWN) {
+                out.writeByte(OK);
+                out.flush();
+                return;
+            }
+            try {
+                handle(operation, in, out);
+            } catch (RuntimeException e) {
+                // Una estrategia que falla en PREPARE deja la partición restaurada
+                out.writeByte(ERROR);
+                out.writeUTF(String.valueOf(e));
+            }
+            if (in.available() == 0) {
+                out.flush();
+            }
+        }
+    }
+
+    private void handle(byte operation, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (operation) {
+            case ADD:
+                add(in, out);
+                break;
+            case PREPARE:
+                prepare(in.readLong(), out);
+                break;
+            case COMMIT:
+                commit(in.readLong(), out);
+                break;
+            case ABORT:
+                abort(in.readLong(), out);
+                break;
+            case GET:
+                get(in, out);
+                break;
+            case COUNT:
+                out.writeByte(OK);
+                out.writeInt(items.size());
+                out.writeLong(committedTicks);
+                break;
+            default:
+                throw new IOException("Operación desconocida: " + operation);
+        }
+    }
+
+    /**
+     * Agrega un lote de items validados con el constructor de {@link Item}. Si alguno es
+     * inválido no se agrega ninguno del lote.
+     */
+    private void add(DataInputStream in, DataOutputStream out) throws IOException {
+        int count = in.readInt();
+        Item[] batch = new Item[count];
+        IllegalArgumentException error = null;
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            int sellIn = in.readInt();
+            int quality = in.readInt();
+            if (error == null) {
+                try {
+                    batch[i] = new Item(name, sellIn, quality);
+                } catch (IllegalArgumentException e) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        if (preparedTick >= 0) {
+            throw new IllegalStateException("No se pueden agregar items con un tick preparado");
+        }
+
+        int first = items.size();
+        for (Item item : batch) {
+            items.add(item);
+        }
+        out.writeByte(OK);
+        out.writeInt(first);
+    }
+
+    /**
+     * Primera fase: guarda el estado y aplica el tick. Repetir el mismo tick es idempotente.
+     */
+    private void prepare(long tick, DataOutputStream out) throws IOException {
+        if (preparedTick != tick) {
+            if (preparedTick >= 0) {
+                restoreState();
+            }
+            saveState();
+            preparedTick = tick;
+            try {
+                inventory.updateQuality();
+            } catch (RuntimeException e) {
+                restoreState();
+                preparedTick = -1;
+                throw e;
+            }
+        }
+        out.writeByte(OK);
+    }
+
+    private void commit(long tick, DataOutputStream out) throws IOException {
+        if (preparedTick == tick) {
+            preparedTick = -1;
+            committedTicks++;
+        } else if (committedTicks <= tick) {
+            throw new IllegalStateException("Tick " + tick + " no preparado");
+        }
+        out.writeByte(OK);
+    }
+
+    private void abort(long tick, DataOutputStream out) throws IOException {
+        if (preparedTick == tick) {
+            restoreState();
+            preparedTick = -1;
+        }
+        out.writeByte(OK);
+    }
+
+    /**
+     * Devuelve los items de los índices locales pedidos, en el mismo orden.
+     */
+    private void get(DataInputStream in, DataOutputStream out) throws IOException {
+        int count = in.readInt();
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = in.readInt();
+        }
+        // Se valida después de leer toda la petición para no desincronizar el protocolo
+        for (int index : indices) {
+            if (index < 0 || index >= items.size()) {
+                throw new IndexOutOfBoundsException("Índice local fuera de rango: " + index);
+            }
+        }
+
+        out.writeByte(OK);
+        for (int index : indices) {
+            Item item = items.get(index);
+            out.writeUTF(item.name);
+            out.writeInt(item.sellIn);
+            out.writeInt(item.quality);
+        }
+    }
+
+    private void saveState() {
+        if (savedSellIns.length < items.size()) {
+            savedSellIns = new int[items.size()];
+            savedQualities = new int[items.size()];
+        }
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            savedSellIns[i] = item.sellIn;
+            savedQualities[i] = item.quality;
+        }
+    }
+
+    private void restoreState() {
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            item.sellIn = savedSellIns[i];
+            item.quality = savedQualities[i];
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.gildedrose;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Informe de una ronda de ticks diarios sobre todas las tiendas de un {@link StoreTickScheduler}.
+ */
+public class StoreTickReport {
+    
+    private final List<StoreTickResult> results;
+    private final long elapsedNanos;
+    
+    public StoreTickReport(List<StoreTickResult> results, long elapsedNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public List<StoreTickResult> getResults() {
+        return results;
+    }
+    
+    /**
+     * Tiempo total de la ronda, desde el lanzamiento hasta el último resultado.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    public long count(StoreTickResult.Status status) {
+        return results.stream().filter(result -> result.getStatus() == status).count();
+    }
+    
+    public boolean isAllCompleted() {
+        return count(StoreTickResult.Status.COMPLETED) == results.size();
+    }
+    
+    /**
+     * Las {@code limit} tiendas con mayor latencia, de mayor a menor.
+     */
+    public List<StoreTickResult> getSlowest(int limit) {
+        return results.stream()
+            .sorted(Comparator.comparingLong(StoreTickResult::getLatencyNanos).reversed())
+            .limit(limit)
+            .toList();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d tiendas en %.1f ms: %d completadas, %d fallidas, %d fuera de plazo, %d omitidas",
+                             results.size(), elapsedNanos / 1_000_000.0,
+                             count(StoreTickResult.Status.COMPLETED), count(StoreTickResult.Status.FAILED),
+                             count(StoreTickResult.Status.TIMED_OUT), count(StoreTickResult.Status.SKIPPED));
+    }
+}
@@ -0,0 +1,67 @@
+package com.gildedrose;
+
+/**
+ * Resultado del tick diario de una tienda dentro de un {@link StoreTickReport}.
+ */
+public class StoreTickResult {
+    
+    /**
+     * Estado final del tick de una tienda.
+     */
+    public enum Status {
+        /** El tick terminó (posiblemente tras reintentos). */
+        COMPLETED,
+        /** Todos los intentos fallaron; el inventario quedó como antes del tick. */
+        FAILED,
+        /** No terminó antes de su plazo; el tick puede seguir ejecutándose en segundo plano. */
+        TIMED_OUT,
+        /** No se lanzó porque el tick anterior de la tienda seguía en curso. */
+        SKIPPED
+    }
+    
+    private final String storeId;
+    private final Status status;
+    private final int attempts;
+    private final long latencyNanos;
+    private final Throwable error;
+    
+    public StoreTickResult(String storeId, Status status, int attempts, long latencyNanos, Throwable error) {
+        this.storeId = storeId;
+        this.status = status;
+        this.attempts = attempts;
+        this.latencyNanos = latencyNanos;
+        this.error = error;
+    }
+    
+    public String getStoreId() {
+        return storeId;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    /**
+     * Tiempo desde que el scheduler lanzó el tick hasta que terminó (o hasta el plazo).
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+    
+    /**
+     * Último error si el tick falló, o null.
+     */
+    public Throwable getError() {
+        return error;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: %s en %.2f ms (%d intentos)%s", storeId, status, latencyNanos / 1_000_000.0,
+                             attempts, error == null ? "" : " - " + error);
+    }
+}
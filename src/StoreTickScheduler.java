@@ -0,0 +1,260 @@
+package com.gildedrose;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ejecuta el tick diario de muchos inventarios {@link GildedRose} (uno por tienda).
+ *
+ * - Los ticks corren en un executor; un semáforo limita cuántos corren a la vez para no
+ *   saturar el ancho de banda de memoria aunque el executor tenga más hilos.
+ * - Cada tienda tiene un plazo; las que no terminan a tiempo se informan como TIMED_OUT
+ *   sin bloquear al resto.
+ * - Si un tick lanza una excepción (por ejemplo, una estrategia personalizada defectuosa)
+ *   se restaura el estado previo de la tienda y se reintenta hasta {@code maxRetries} veces.
+ *   Las demás tiendas no se ven afectadas.
+ *
+ * La restauración cubre sellIn y quality de los items; listeners como índices o historial
+ * de la tienda pueden haber visto el intento fallido.
+ */
+public class StoreTickScheduler implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Semaphore tickPermits;
+    private final Duration defaultDeadline;
+    private final int maxRetries;
+    private final Map<String, Store> stores = new ConcurrentHashMap<>();
+
+    /**
+     * Crea un scheduler con su propio pool de {@code maxConcurrentTicks} hilos.
+     */
+    public StoreTickScheduler(int maxConcurrentTicks, Duration defaultDeadline, int maxRetries) {
+        this(Executors.newFixedThreadPool(maxConcurrentTicks, runnable -> {
+            Thread thread = new Thread(runnable, "store-tick");
+            thread.setDaemon(true);
+            return thread;
+        }), true, maxConcurrentTicks, defaultDeadline, maxRetries);
+    }
+
+    /**
+     * Crea un scheduler sobre un executor externo (por ejemplo, uno de hilos virtuales en
+     * JDKs que los soporten); el executor no se cierra con {@link #close()}.
+     */
+    public StoreTickScheduler(ExecutorService executor, int maxConcurrentTicks, Duration defaultDeadline, int maxRetries) {
+        this(executor, false, maxConcurrentTicks, defaultDeadline, maxRetries);
+    }
+
+    private StoreTickScheduler(ExecutorService executor, boolean ownsExecutor, int maxConcurrentTicks,
+                               Duration defaultDeadline, int maxRetries) {
+        if (executor == null || defaultDeadline == null || defaultDeadline.isNegative()) {
+            throw new IllegalArgumentException("Executor y plazo son obligatorios");
+        }
+        if (maxConcurrentTicks < 1 || maxRetries < 0) {
+            throw new IllegalArgumentException("Concurrencia debe ser positiva y reintentos no negativos");
+        }
+
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.tickPermits = new Semaphore(maxConcurrentTicks);
+        this.defaultDeadline = defaultDeadline;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Registra una tienda con el plazo por defecto.
+     */
+    public void registerStore(String storeId, GildedRose inventory) {
+        registerStore(storeId, inventory, defaultDeadline);
+    }
+
+    /**
+     * Registra una tienda con su propio plazo de tick.
+     */
+    public void registerStore(String storeId, GildedRose inventory, Duration deadline) {
+        if (storeId == null || inventory == null || deadline == null || deadline.isNegative()) {
+            throw new IllegalArgumentException("storeId, inventario y plazo son obligatorios");
+        }
+        if (stores.putIfAbsent(storeId, new Store(storeId, inventory, deadline)) != null) {
+            throw new IllegalArgumentException("Tienda ya registrada: " + storeId);
+        }
+    }
+
+    public void removeStore(String storeId) {
+        stores.remove(storeId);
+    }
+
+    public int getStoreCount() {
+        return stores.size();
+    }
+
+    /**
+     * Lanza el tick diario de todas las tiendas y espera a que terminen o venza su plazo.
+     */
+    public StoreTickReport runDailyTick() {
+        long start = System.nanoTime();
+        List<Store> round = new ArrayList<>(stores.values());
+        List<Future<StoreTickResult>> futures = new ArrayList<>(round.size());
+
+        for (Store store : round) {
+            if (store.running.compareAndSet(false, true)) {
+                store.abandoned.set(false);
+                AtomicBoolean started = new AtomicBoolean();
+                store.started = started;
+                futures.add(executor.submit(() -> runStore(store, start, started)));
+            } else {
+                futures.add(null);
+            }
+        }
+
+        List<StoreTickResult> results = new ArrayList<>(round.size());
+        for (int i = 0; i < round.size(); i++) {
+            results.add(awaitResult(round.get(i), futures.get(i), start));
+        }
+        return new StoreTickReport(results, System.nanoTime() - start);
+    }
+
+    private StoreTickResult awaitResult(Store store, Future<StoreTickResult> future, long start) {
+        if (future == null) {
+            return new StoreTickResult(store.id, StoreTickResult.Status.SKIPPED, 0, 0, null);
+        }
+
+        long remaining = store.deadline.toNanos() - (System.nanoTime() - start);
+        try {
+            return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            abandon(store, future);
+            return new StoreTickResult(store.id, StoreTickResult.Status.TIMED_OUT, 0,
+                                       System.nanoTime() - start, null);
+        } catch (ExecutionException e) {
+            return new StoreTickResult(store.id, StoreTickResult.Status.FAILED, 0,
+                                       System.nanoTime() - start, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(store, future);
+            return new StoreTickResult(store.id, StoreTickResult.Status.TIMED_OUT, 0,
+                                       System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Marca el tick como abandonado. Si la tarea aún no empezó, se le quita la marca de inicio
+     * para que no corra nunca y la tienda se libera aquí. Si ya empezó (esperando un permiso o
+     * aplicando el tick), solo ella libera la tienda al terminar: {@code cancel} devuelve true
+     * también con la tarea en curso, así que no sirve para saberlo.
+     */
+    private static void abandon(Store store, Future<StoreTickResult> future) {
+        store.abandoned.set(true);
+        if (store.started.compareAndSet(false, true)) {
+            future.cancel(false);
+            store.running.set(false);
+        }
+    }
+
+    private StoreTickResult runStore(Store store, long start, AtomicBoolean started) throws InterruptedException {
+        if (!started.compareAndSet(false, true)) {
+            // abandon() se adelantó y ya liberó la tienda
+            return new StoreTickResult(store.id, StoreTickResult.Status.TIMED_OUT, 0,
+                                       System.nanoTime() - start, null);
+        }
+        try {
+            tickPermits.acquire();
+            try {
+                // Esperar el permiso puede consumir el plazo: un tick ya informado como
+                // TIMED_OUT no debe aplicarse tarde
+                if (store.abandoned.get() || System.nanoTime() - start > store.deadline.toNanos()) {
+                    return new StoreTickResult(store.id, StoreTickResult.Status.TIMED_OUT, 0,
+                                               System.nanoTime() - start, null);
+                }
+                return tickWithRetries(store, start);
+            } finally {
+                tickPermits.release();
+            }
+        } finally {
+            store.running.set(false);
+        }
+    }
+
+    private StoreTickResult tickWithRetries(Store store, long start) {
+        List<Item> items = store.inventory.getItems();
+        int[] sellIns = new int[items.size()];
+        int[] qualities = new int[items.size()];
+        saveState(items, sellIns, qualities);
+
+        RuntimeException lastError = null;
+        for (int attempt = 1; attempt <= maxRetries + 1; attempt++) {
+            try {
+                store.inventory.updateQuality();
+                return new StoreTickResult(store.id, StoreTickResult.Status.COMPLETED, attempt,
+                                           System.nanoTime() - start, null);
+            } catch (RuntimeException e) {
+                lastError = e;
+                restoreState(items, sellIns, qualities);
+            }
+        }
+        return new StoreTickResult(store.id, StoreTickResult.Status.FAILED, maxRetries + 1,
+                                   System.nanoTime() - start, lastError);
+    }
+
+    private static void saveState(List<Item> items, int[] sellIns, int[] qualities) {
+        for (int i = 0; i < sellIns.length; i++) {
+            Item item = items.get(i);
+            if (item != null) {
+                sellIns[i] = item.sellIn;
+                qualities[i] = item.quality;
+            }
+        }
+    }
+
+    private static void restoreState(List<Item> items, int[] sellIns, int[] qualities) {
+        for (int i = 0; i < sellIns.length; i++) {
+            Item item = items.get(i);
+            if (item != null) {
+                item.sellIn = sellIns[i];
+                item.quality = qualities[i];
+            }
+        }
+    }
+
+    /**
+     * Cierra el executor si fue creado por el scheduler.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tienda registrada: inventario, plazo, marca de tick en curso y marca de tick abandonado.
+     * {@code started} es la marca de inicio de la tarea de la ronda actual, propia de cada
+     * tarea para que una tarea vieja no tome la de la ronda siguiente.
+     */
+    private static final class Store {
+        final String id;
+        final GildedRose inventory;
+        final Duration deadline;
+        final AtomicBoolean running = new AtomicBoolean();
+        final AtomicBoolean abandoned = new AtomicBoolean();
+        volatile AtomicBoolean started = new AtomicBoolean();
+
+        Store(String id, GildedRose inventory, Duration deadline) {
+            this.id = id;
+            this.inventory = inventory;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Agrupación de los items de un inventario por estrategia resuelta, para actualizarlos por
+ * lotes con {@link ItemUpdateStrategy#updateItems(Item[], int, int)}.
+ *
+ * Se construye una vez y se reutiliza entre ticks mientras no cambien las estrategias
+ * registradas ni el tamaño de la lista. Cada grupo guarda la posición, el item y el nombre de
+ * sus miembros; al actualizar un grupo se vuelve a leer cada posición y se compara por
+ * identidad, en el mismo recorrido que prepara el lote. Un item reemplazado o renombrado que
+ * sigue resolviéndose a la misma estrategia se toma en el lugar; si cambió de estrategia, o
+ * una posición pasó a null o dejó de serlo, el resto del tick se hace item a item y la
+ * agrupación queda descartada.
+ */
+final class StrategyGrouping {
+    
+    private final ItemUpdateStrategy[] strategies;
+    private final Item[][] groups;
+    private final String[][] names;
+    private final int[][] positions;
+    private final int[] nullPositions;
+    private final int itemCount;
+    private final long strategyVersion;
+    
+    // Calidades previas del grupo en curso, solo con métricas activas; se reutiliza entre ticks
+    private int[] oldQualities;
+    
+    private StrategyGrouping(ItemUpdateStrategy[] strategies, Item[][] groups, String[][] names, int[][] positions,
+                             int[] nullPositions, int itemCount, long strategyVersion) {
+        this.strategies = strategies;
+        this.groups = groups;
+        this.names = names;
+        this.positions = positions;
+        this.nullPositions = nullPositions;
+        this.itemCount = itemCount;
+        this.strategyVersion = strategyVersion;
+    }
+    
+    static StrategyGrouping build(List<Item> items, ItemUpdateStrategyManager strategyManager) {
+        Map<ItemUpdateStrategy, List<Integer>> byStrategy = new IdentityHashMap<>();
+        List<Integer> nulls = new ArrayList<>();
+        for (int index = 0; index < items.size(); index++) {
+            Item item = items.get(index);
+            if (item != null) {
+                byStrategy.computeIfAbsent(strategyManager.findStrategy(item), strategy -> new ArrayList<>()).add(index);
+            } else {
+                nulls.add(index);
+            }
+        }
+        
+        ItemUpdateStrategy[] strategies = new ItemUpdateStrategy[byStrategy.size()];
+        Item[][] groups = new Item[byStrategy.size()][];
+        String[][] names = new String[byStrategy.size()][];
+        int[][] positions = new int[byStrategy.size()][];
+        int group = 0;
+        for (Map.Entry<ItemUpdateStrategy, List<Integer>> entry : byStrategy.entrySet()) {
+            List<Integer> members = entry.getValue();
+            strategies[group] = entry.getKey();
+            groups[group] = new Item[members.size()];
+            names[group] = new String[members.size()];
+            positions[group] = new int[members.size()];
+            for (int i = 0; i < members.size(); i++) {
+                Item item = items.get(members.get(i));
+                positions[group][i] = members.get(i);
+                groups[group][i] = item;
+                names[group][i] = item.name;
+            }
+            group++;
+        }
+        int[] nullPositions = nulls.stream().mapToInt(Integer::intValue).toArray();
+        return new StrategyGrouping(strategies, groups, names, positions, nullPositions, items.size(),
+                                    strategyManager.getStrategyVersion());
+    }
+    
+    /**
+     * Indica si la agrupación puede usarse para la lista y el manager dados: mismas
+     * estrategias y mismo tamaño. Los items de cada posición se comprueban en {@link #update}.
+     */
+    boolean isValidFor(List<Item> items, ItemUpdateStrategyManager strategyManager) {
+        return itemCount == items.size() && strategyVersion == strategyManager.getStrategyVersion();
+    }
+    
+    /**
+     * Entrega a cada estrategia su grupo completo. Con pool, los grupos grandes se
+     * dividen en tramos que se actualizan en paralelo.
+     * @return false si la lista ya no corresponde a la agrupación; el tick se completó item a
+     *         item y la agrupación debe reconstruirse
+     */
+    boolean update(List<Item> items, ItemUpdateStrategyManager strategyManager, ForkJoinPool pool,
+                   int sequentialThreshold, UpdateMetrics metrics) {
+        for (int position : nullPositions) {
+            if (items.get(position) != null) {
+                updateRemaining(items, strategyManager, 0);
+                return false;
+            }
+        }
+        
+        for (int group = 0; group < groups.length; group++) {
+            ItemUpdateStrategy strategy = strategies[group];
+            Item[] members = groups[group];
+            if (!refresh(group, items, strategyManager)) {
+                updateRemaining(items, strategyManager, group);
+                return false;
+            }
+            
+            boolean recordMetrics = metrics != UpdateMetrics.NOOP;
+            if (recordMetrics) {
+                if (oldQualities == null || oldQualities.length < members.length) {
+                    oldQualities = new int[members.length];
+                }
+                for (int i = 0; i < members.length; i++) {
+                    oldQualities[i] = members[i].quality;
+                }
+            }
+            
+            if (pool != null && members.length > sequentialThreshold) {
+                pool.invoke(new BatchTask(strategy, members, 0, members.length, sequentialThreshold));
+            } else {
+                strategy.updateItems(members, 0, members.length);
+            }
+            
+            if (recordMetrics) {
+                for (int i = 0; i < members.length; i++) {
+                    metrics.recordItemUpdate(strategy, members[i], oldQualities[i]);
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Vuelve a leer las posiciones del grupo. Un item reemplazado o renombrado se toma si
+     * sigue correspondiendo a la estrategia del grupo; si no, devuelve false sin cambiar nada
+     * que afecte a los grupos ya actualizados.
+     */
+    private boolean refresh(int group, List<Item> items, ItemUpdateStrategyManager strategyManager) {
+        Item[] members = groups[group];
+        String[] memberNames = names[group];
+        int[] memberPositions = positions[group];
+        for (int i = 0; i < members.length; i++) {
+            Item current = items.get(memberPositions[i]);
+            if (current != members[i] || current.name != memberNames[i]) {
+                if (current == null || strategyManager.findStrategy(current) != strategies[group]) {
+                    return false;
+                }
+                members[i] = current;
+                memberNames[i] = current.name;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Actualiza item a item todas las posiciones que no pertenecen a los grupos ya actualizados.
+     */
+    private void updateRemaining(List<Item> items, ItemUpdateStrategyManager strategyManager, int fromGroup) {
+        boolean[] updated = new boolean[items.size()];
+        for (int group = 0; group < fromGroup; group++) {
+            for (int position : positions[group]) {
+                updated[position] = true;
+            }
+        }
+        for (int index = 0; index < items.size(); index++) {
+            Item item = items.get(index);
+            if (item != null && !updated[index]) {
+                strategyManager.updateItem(item);
+            }
+        }
+    }
+    
+    /**
+     * Tarea fork/join que divide un grupo en tramos de la misma estrategia.
+     */
+    private static final class BatchTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final ItemUpdateStrategy strategy;
+        private final Item[] members;
+        private final int from;
+        private final int to;
+        private final int sequentialThreshold;
+        
+        BatchTask(ItemUpdateStrategy strategy, Item[] members, int from, int to, int sequentialThreshold) {
+            this.strategy = strategy;
+            this.members = members;
+            this.from = from;
+            this.to = to;
+            this.sequentialThreshold = sequentialThreshold;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= sequentialThreshold) {
+                strategy.updateItems(members, from, to);
+                return;
+            }
+            
+            int middle = (from + to) >>> 1;
+            BatchTask second = new BatchTask(strategy, members, middle, to, sequentialThreshold);
+            second.fork();
+            try {
+                new BatchTask(strategy, members, from, middle, sequentialThreshold).invoke();
+            } catch (RuntimeException | Error e) {
+                // Igual que ParallelUpdateTask: no terminar mientras el otro tramo siga actualizando
+                second.quietlyJoin();
+                throw e;
+            }
+            second.join();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Procesa el tick diario de archivo a archivo sin cargar el inventario completo en memoria.
+ *
+ * Formato de entrada y salida: una línea {@code nombre|sellIn|quality} por item (UTF-8).
+ * Los registros se leen en lotes acotados, se validan con las mismas reglas que el
+ * constructor de {@link Item}, se actualizan con el {@link ItemUpdateStrategyManager} y se
+ * escriben en el mismo orden. El heap usado depende del tamaño de lote y del número de
+ * nombres distintos, no del tamaño del archivo.
+ */
+public class StreamingTickProcessor {
+    
+    private static final int DEFAULT_BATCH_SIZE = 8192;
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+    
+    private final ItemUpdateStrategyManager strategyManager;
+    private final int batchSize;
+    
+    public StreamingTickProcessor() {
+        this(new ItemUpdateStrategyManager(), DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * Constructor con inyección del manager de estrategias y tamaño de lote.
+     */
+    public StreamingTickProcessor(ItemUpdateStrategyManager strategyManager, int batchSize) {
+        if (strategyManager == null || batchSize < 1) {
+            throw new IllegalArgumentException("strategyManager no puede ser null y el lote debe ser positivo");
+        }
+        
+        this.strategyManager = strategyManager;
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Lee el inventario de {@code input}, aplica un día de actualización y escribe el resultado
+     * en {@code output} (que se crea o se sobrescribe).
+     *
+     * El resultado se escribe en un archivo temporal con nombre único junto a {@code output} y
+     * solo al terminar se mueve sobre él de forma atómica: si un registro es inválido o falla la escritura,
+     * {@code output} queda como estaba.
+     * @throws IllegalArgumentException si algún registro es inválido, indicando la línea, o si
+     *         {@code input} y {@code output} son el mismo archivo
+     */
+    public StreamingTickResult process(Path input, Path output) throws IOException {
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("La entrada y la salida no pueden ser el mismo archivo: " + output);
+        }
+        
+        // Nombre único en el mismo directorio: dos procesos con la misma salida no comparten
+        // el temporal, y el movimiento final no cruza sistemas de archivos
+        Path target = output.toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            if (Files.isSameFile(input, temporary)) {
+                throw new IllegalArgumentException("La entrada no puede ser el archivo temporal de la salida: " + input);
+            }
+            StreamingTickResult result = processTo(input, temporary);
+            Files.move(temporary, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return result;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+    
+    private StreamingTickResult processTo(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        NameDictionary dictionary = new NameDictionary();
+        Utf8NameIndex names = new Utf8NameIndex(dictionary);
+        Batch batch = new Batch(batchSize, dictionary);
+        long records = 0;
+        
+        try (FileChannel outputChannel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                          StandardOpenOption.TRUNCATE_EXISTING);
+             ItemRecordReader reader = new ItemRecordReader(
+                 FileChannel.open(input, StandardOpenOption.READ), names, IO_BUFFER_SIZE);
+             ItemRecordWriter writer = new ItemRecordWriter(outputChannel, names, IO_BUFFER_SIZE)) {
+            
+            while (reader.next()) {
+                batch.add(reader);
+                if (batch.size == batchSize) {
+                    records += batch.updateAndWrite(writer);
+                }
+            }
+            records += batch.updateAndWrite(writer);
+            writer.flush();
+            outputChannel.force(true);
+        }
+        
+        return new StreamingTickResult(records, System.nanoTime() - start);
+    }
+    
+    /**
+     * Lote de registros en columnas primitivas, reutilizado durante todo el procesamiento.
+     */
+    private final class Batch {
+        
+        private final NameDictionary dictionary;
+        private final int[] nameIds;
+        private final int[] sellIns;
+        private final int[] qualities;
+        private int size;
+        
+        // Por id de nombre: item reutilizable y si el nombre ya fue validado
+        private Item[] scratchItems = new Item[64];
+        private boolean[] fixedQuality = new boolean[64];
+        
+        Batch(int capacity, NameDictionary dictionary) {
+            this.dictionary = dictionary;
+            this.nameIds = new int[capacity];
+            this.sellIns = new int[capacity];
+            this.qualities = new int[capacity];
+        }
+        
+        void add(ItemRecordReader reader) {
+            int nameId = reader.nameId();
+            int sellIn = reader.sellIn();
+            int quality = reader.quality();
+            Item scratch = scratchFor(nameId, reader.lineNumber());
+            
+            // Camino rápido sin asignaciones; los casos especiales pasan por la validación completa
+            if (fixedQuality[nameId] || quality < 0 || quality > 50) {
+                quality = validate(scratch.name, sellIn, quality, reader.lineNumber());
+            }
+            
+            nameIds[size] = nameId;
+            sellIns[size] = sellIn;
+            qualities[size] = quality;
+            size++;
+        }
+        
+        int updateAndWrite(ItemRecordWriter writer) throws IOException {
+            for (int i = 0; i < size; i++) {
+                Item scratch = scratchItems[nameIds[i]];
+                scratch.sellIn = sellIns[i];
+                scratch.quality = qualities[i];
+                
+                strategyManager.updateItem(scratch);
+                
+                writer.write(nameIds[i], scratch.sellIn, scratch.quality);
+            }
+            
+            int written = size;
+            size = 0;
+            return written;
+        }
+        
+        private Item scratchFor(int nameId, long lineNumber) {
+            if (nameId >= scratchItems.length) {
+                int newLength = Math.max(nameId + 1, scratchItems.length * 2);
+                scratchItems = Arrays.copyOf(scratchItems, newLength);
+                fixedQuality = Arrays.copyOf(fixedQuality, newLength);
+            }
+            
+            Item scratch = scratchItems[nameId];
+            if (scratch == null) {
+                // Primera aparición del nombre: se valida una sola vez
+                String name = dictionary.nameOf(nameId);
+                validate(name, 0, 0, lineNumber);
+                scratch = Item.restore(name, 0, 0);
+                scratchItems[nameId] = scratch;
+                fixedQuality[nameId] = Item.hasFixedQuality(name);
+            }
+            return scratch;
+        }
+        
+        private int validate(String name, int sellIn, int quality, long lineNumber) {
+            try {
+                return new Item(name, sellIn, quality).quality;
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
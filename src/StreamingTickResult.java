@@ -0,0 +1,36 @@
+package com.gildedrose;
+
+/**
+ * Resultado de un tick en streaming: registros procesados y rendimiento obtenido.
+ */
+public class StreamingTickResult {
+    
+    private final long records;
+    private final long elapsedNanos;
+    
+    public StreamingTickResult(long records, long elapsedNanos) {
+        this.records = records;
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public long getRecords() {
+        return records;
+    }
+    
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    /**
+     * Registros procesados por segundo (lectura, actualización y escritura).
+     */
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : records * 1_000_000_000.0 / elapsedNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d registros en %.1f ms (%.0f registros/s)",
+                             records, elapsedNanos / 1_000_000.0, getRecordsPerSecond());
+    }
+}
@@ -0,0 +1,278 @@
+package com.gildedrose;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas del pipeline de actualización sobre contadores striped ({@link LongAdder}),
+ * pensadas para quedar activas en producción y consultarse vía JMX.
+ *
+ * Registran duración de cada tick (p50/p99/max), items procesados por clase de estrategia
+ * (acumulado y en el último tick), tiempo de resolución de estrategias y cuántas veces un
+ * item llega al límite inferior (0) o superior (50) de calidad.
+ *
+ * Los contadores son acumulados desde el último {@link #reset()} salvo los que indican
+ * "último tick". Los de límites cuentan transiciones: una actualización que lleva al item al
+ * límite desde dentro del rango, haya recortado la estrategia o no. Un item que ya estaba en
+ * 0 o en 50 y sigue ahí no vuelve a sumar. El recorte en sí ocurre dentro de cada estrategia
+ * y desde aquí no se distingue de un cambio que cae justo en el límite.
+ *
+ * Los avances de varios días ({@link GildedRose#advance(int)}) se cuentan aparte y su duración
+ * no entra en la de los ticks; sus items sí suman a los contadores por estrategia y de límites,
+ * pero no a los del "último tick".
+ */
+public class StripedUpdateMetrics implements UpdateMetrics, StripedUpdateMetricsMBean {
+    
+    private static final int MIN_QUALITY = 0;
+    private static final int MAX_QUALITY = 50;
+    private static final String OBJECT_NAME_PREFIX = "com.gildedrose:type=UpdateMetrics,name=";
+    
+    private final LatencyHistogram tickDurations = new LatencyHistogram();
+    private final LatencyHistogram resolutionDurations = new LatencyHistogram();
+    private final LongAdder itemsProcessed = new LongAdder();
+    private final LongAdder itemsReachingFloor = new LongAdder();
+    private final LongAdder itemsReachingCeiling = new LongAdder();
+    private final LatencyHistogram advanceDurations = new LatencyHistogram();
+    private final LongAdder daysAdvanced = new LongAdder();
+    private volatile long lastTickItemCount;
+    
+    // Un slot por clase de estrategia: ClassValue evita buscar en un mapa por cada item
+    private final ConcurrentMap<String, StrategySlot> slotsByName = new ConcurrentHashMap<>();
+    private final ClassValue<StrategySlot> strategySlots = new ClassValue<>() {
+        @Override
+        protected StrategySlot computeValue(Class<?> strategyClass) {
+            return slotsByName.computeIfAbsent(strategyClass.getName(), StripedUpdateMetrics.this::newSlot);
+        }
+    };
+    
+    // Indexados por slot y protegidos por totalsLock: totales al cerrar el tick o avance anterior
+    // y diferencia del último tick. Cerrar un tick no asigna memoria salvo que aparezca un slot nuevo.
+    private final Object totalsLock = new Object();
+    private StrategySlot[] slots = new StrategySlot[8];
+    private int slotCount;
+    private long[] previousTotals = new long[8];
+    private long[] lastTickDeltas = new long[8];
+    private boolean lastTickRecorded;
+    
+    private static final class StrategySlot {
+        final String name;
+        final LongAdder items = new LongAdder();
+        
+        StrategySlot(String name) {
+            this.name = name;
+        }
+    }
+    
+    private StrategySlot newSlot(String name) {
+        synchronized (totalsLock) {
+            if (slotCount == slots.length) {
+                int newLength = slotCount * 2;
+                slots = Arrays.copyOf(slots, newLength);
+                previousTotals = Arrays.copyOf(previousTotals, newLength);
+                lastTickDeltas = Arrays.copyOf(lastTickDeltas, newLength);
+            }
+            StrategySlot slot = new StrategySlot(name);
+            slots[slotCount++] = slot;
+            return slot;
+        }
+    }
+    
+    @Override
+    public void recordTick(long durationNanos, int itemCount) {
+        tickDurations.record(durationNanos);
+        lastTickItemCount = itemCount;
+        
+        synchronized (totalsLock) {
+            for (int i = 0; i < slotCount; i++) {
+                long total = slots[i].items.sum();
+                lastTickDeltas[i] = total - previousTotals[i];
+                previousTotals[i] = total;
+            }
+            lastTickRecorded = true;
+        }
+    }
+    
+    @Override
+    public void recordAdvance(long durationNanos, int itemCount, int days) {
+        advanceDurations.record(durationNanos);
+        daysAdvanced.add(days);
+        
+        // Los items del avance no deben aparecer en la diferencia del próximo tick
+        synchronized (totalsLock) {
+            for (int i = 0; i < slotCount; i++) {
+                previousTotals[i] = slots[i].items.sum();
+            }
+        }
+    }
+    
+    @Override
+    public void recordItemUpdate(ItemUpdateStrategy strategy, Item item, int oldQuality) {
+        itemsProcessed.increment();
+        strategySlots.get(strategy.getClass()).items.increment();
+        
+        if (item.quality == MIN_QUALITY && oldQuality > MIN_QUALITY) {
+            itemsReachingFloor.increment();
+        } else if (item.quality == MAX_QUALITY && oldQuality < MAX_QUALITY) {
+            itemsReachingCeiling.increment();
+        }
+    }
+    
+    @Override
+    public void recordResolution(long durationNanos) {
+        resolutionDurations.record(durationNanos);
+    }
+    
+    /**
+     * Registra estas métricas en el MBeanServer de la plataforma.
+     * @param name identificador de la instancia (por ejemplo, la tienda)
+     * @return el nombre JMX bajo el que quedó registrado
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudo registrar el MBean de métricas: " + name, e);
+        }
+    }
+    
+    /**
+     * Elimina el registro JMX hecho con {@link #registerMBean(String)}.
+     */
+    public static void unregisterMBean(ObjectName objectName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudo eliminar el MBean de métricas: " + objectName, e);
+        }
+    }
+    
+    @Override
+    public long getTickCount() {
+        return tickDurations.count();
+    }
+    
+    @Override
+    public long getTickP50Nanos() {
+        return tickDurations.percentile(0.50);
+    }
+    
+    @Override
+    public long getTickP99Nanos() {
+        return tickDurations.percentile(0.99);
+    }
+    
+    @Override
+    public long getTickMaxNanos() {
+        return tickDurations.max();
+    }
+    
+    @Override
+    public long getLastTickItemCount() {
+        return lastTickItemCount;
+    }
+    
+    @Override
+    public long getItemsProcessed() {
+        return itemsProcessed.sum();
+    }
+    
+    @Override
+    public Map<String, Long> getItemsProcessedByStrategy() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        slotsByName.forEach((name, slot) -> snapshot.put(name, slot.items.sum()));
+        return snapshot;
+    }
+    
+    @Override
+    public Map<String, Long> getLastTickItemsByStrategy() {
+        synchronized (totalsLock) {
+            if (!lastTickRecorded) {
+                return Map.of();
+            }
+            Map<String, Long> snapshot = new TreeMap<>();
+            for (int i = 0; i < slotCount; i++) {
+                snapshot.put(slots[i].name, lastTickDeltas[i]);
+            }
+            return snapshot;
+        }
+    }
+    
+    @Override
+    public long getAdvanceCount() {
+        return advanceDurations.count();
+    }
+    
+    @Override
+    public long getAdvanceMaxNanos() {
+        return advanceDurations.max();
+    }
+    
+    @Override
+    public long getDaysAdvanced() {
+        return daysAdvanced.sum();
+    }
+    
+    @Override
+    public long getResolutionCount() {
+        return resolutionDurations.count();
+    }
+    
+    @Override
+    public long getResolutionP50Nanos() {
+        return resolutionDurations.percentile(0.50);
+    }
+    
+    @Override
+    public long getResolutionP99Nanos() {
+        return resolutionDurations.percentile(0.99);
+    }
+    
+    @Override
+    public long getResolutionMaxNanos() {
+        return resolutionDurations.max();
+    }
+    
+    @Override
+    public long getItemsReachingFloor() {
+        return itemsReachingFloor.sum();
+    }
+    
+    @Override
+    public long getItemsReachingCeiling() {
+        return itemsReachingCeiling.sum();
+    }
+    
+    @Override
+    public void reset() {
+        tickDurations.reset();
+        resolutionDurations.reset();
+        itemsProcessed.reset();
+        itemsReachingFloor.reset();
+        itemsReachingCeiling.reset();
+        advanceDurations.reset();
+        daysAdvanced.reset();
+        lastTickItemCount = 0;
+        synchronized (totalsLock) {
+            for (int i = 0; i < slotCount; i++) {
+                slots[i].items.reset();
+            }
+            Arrays.fill(previousTotals, 0);
+            Arrays.fill(lastTickDeltas, 0);
+            lastTickRecorded = false;
+        }
+    }
+}
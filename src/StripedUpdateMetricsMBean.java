@@ -0,0 +1,60 @@
+package com.gildedrose;
+
+import java.util.Map;
+
+/**
+ * Interfaz JMX de {@link StripedUpdateMetrics}. Los tiempos se expresan en nanosegundos y
+ * los contadores son acumulados desde el último reset salvo los "LastTick".
+ */
+public interface StripedUpdateMetricsMBean {
+    
+    long getTickCount();
+    
+    long getTickP50Nanos();
+    
+    long getTickP99Nanos();
+    
+    long getTickMaxNanos();
+    
+    long getLastTickItemCount();
+    
+    long getItemsProcessed();
+    
+    Map<String, Long> getItemsProcessedByStrategy();
+    
+    /**
+     * Items procesados por clase de estrategia durante el último tick.
+     */
+    Map<String, Long> getLastTickItemsByStrategy();
+    
+    /**
+     * Avances de varios días hechos con advance(int), que no cuentan como ticks.
+     */
+    long getAdvanceCount();
+    
+    long getAdvanceMaxNanos();
+    
+    long getDaysAdvanced();
+    
+    long getResolutionCount();
+    
+    long getResolutionP50Nanos();
+    
+    long getResolutionP99Nanos();
+    
+    long getResolutionMaxNanos();
+    
+    /**
+     * Actualizaciones que llevaron la calidad a 0 desde un valor positivo (no cuenta los
+     * items que siguen en 0).
+     */
+    long getItemsReachingFloor();
+    
+    /**
+     * Actualizaciones que llevaron la calidad a 50 desde un valor menor (no cuenta los items
+     * que siguen en 50).
+     */
+    long getItemsReachingCeiling();
+    
+    void reset();
+}
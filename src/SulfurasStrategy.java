@@ -19,4 +19,27 @@ public class SulfurasStrategy implements ItemUpdateStrategy {
         // Este método intencionalmente no hace nada
         // Principio KISS: la solución más simple para el caso más simple
     }
+    
+    @Override
+    public void updateItems(Item[] items, int from, int to) {
+        // Un lote de Sulfuras tampoco cambia: ni siquiera hace falta recorrerlo
+    }
+    
+    @Override
+    public void advanceItem(Item item, int days) {
+        // Tampoco cambia tras varios días
+    }
+    
+    @Override
+    public boolean supportsAnalyticAdvance() {
+        return true;
+    }
+    
+    /**
+     * Sulfuras está asentado desde el primer día.
+     */
+    @Override
+    public boolean isSettled(Item item) {
+        return true;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.gildedrose;
+
+/**
+ * Agregado calculado en la misma pasada del tick sobre los items
+ * (ver {@link GildedRose#updateQuality(TickAggregate...)}), en lugar de recorrer el
+ * inventario otra vez al terminar.
+ *
+ * El mismo agregado puede reutilizarse en ticks sucesivos: {@link #reset()} se invoca antes
+ * de cada uno. Recibe los items en orden y desde un único hilo.
+ *
+ * @param <R> tipo del resultado
+ */
+public interface TickAggregate<R> {
+    
+    /**
+     * Prepara el agregado para un tick nuevo.
+     */
+    void reset();
+    
+    /**
+     * Acumula un item no null ya actualizado.
+     * @param item el item tras el tick
+     * @param strategy estrategia que se le aplicó
+     * @param oldSellIn sellIn antes del tick
+     * @param oldQuality quality antes del tick
+     */
+    void accept(Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality);
+    
+    /**
+     * Acumula un bloque de items recién actualizados ({@code [0, count)} de cada array).
+     * El tick entrega los items en bloques pequeños que todavía están en cache; sobrescribir
+     * este método con un bucle propio evita una llamada virtual por item.
+     */
+    default void acceptAll(Item[] items, ItemUpdateStrategy[] strategies, int[] oldSellIns, int[] oldQualities,
+                           int count) {
+        for (int i = 0; i < count; i++) {
+            accept(items[i], strategies[i], oldSellIns[i], oldQualities[i]);
+        }
+    }
+    
+    /**
+     * Resultado del tick; se invoca una vez después del último item.
+     */
+    R result();
+}
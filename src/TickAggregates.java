@@ -0,0 +1,255 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Agregados de uso habitual para {@link GildedRose#updateQuality(TickAggregate...)}.
+ * Cada llamada crea un agregado nuevo.
+ */
+public final class TickAggregates {
+    
+    private static final int MIN_QUALITY = 0;
+    private static final int MAX_QUALITY = 50;
+    private static final int BACKSTAGE_FIRST_WINDOW = 10;
+    private static final int BACKSTAGE_SECOND_WINDOW = 5;
+    
+    private TickAggregates() {
+    }
+    
+    /**
+     * Suma de la calidad de todos los items tras el tick.
+     */
+    public static TickAggregate<Long> totalQuality() {
+        return new TickAggregate<>() {
+            private long total;
+            
+            @Override
+            public void reset() {
+                total = 0;
+            }
+            
+            @Override
+            public void accept(Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality) {
+                total += item.quality;
+            }
+            
+            @Override
+            public void acceptAll(Item[] items, ItemUpdateStrategy[] strategies, int[] oldSellIns,
+                                  int[] oldQualities, int count) {
+                long sum = 0;
+                for (int i = 0; i < count; i++) {
+                    sum += items[i].quality;
+                }
+                total += sum;
+            }
+            
+            @Override
+            public Long result() {
+                return total;
+            }
+        };
+    }
+    
+    /**
+     * Items vencidos (sellIn negativo tras el tick) por clase de estrategia.
+     */
+    public static TickAggregate<Map<Class<?>, Long>> expiredByType() {
+        return new TickAggregate<>() {
+            // Contadores por instancia de estrategia; hay pocas, así que basta una búsqueda lineal
+            private ItemUpdateStrategy[] strategies = new ItemUpdateStrategy[8];
+            private long[] counts = new long[8];
+            private int size;
+            
+            @Override
+            public void reset() {
+                Arrays.fill(strategies, 0, size, null);
+                Arrays.fill(counts, 0, size, 0);
+                size = 0;
+            }
+            
+            @Override
+            public void accept(Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality) {
+                if (item.sellIn >= 0) {
+                    return;
+                }
+                for (int i = 0; i < size; i++) {
+                    if (strategies[i] == strategy) {
+                        counts[i]++;
+                        return;
+                    }
+                }
+                if (size == strategies.length) {
+                    strategies = Arrays.copyOf(strategies, size * 2);
+                    counts = Arrays.copyOf(counts, size * 2);
+                }
+                strategies[size] = strategy;
+                counts[size++] = 1;
+            }
+            
+            @Override
+            public void acceptAll(Item[] items, ItemUpdateStrategy[] itemStrategies, int[] oldSellIns,
+                                  int[] oldQualities, int count) {
+                for (int i = 0; i < count; i++) {
+                    if (items[i].sellIn < 0) {
+                        accept(items[i], itemStrategies[i], oldSellIns[i], oldQualities[i]);
+                    }
+                }
+            }
+            
+            @Override
+            public Map<Class<?>, Long> result() {
+                Map<Class<?>, Long> byType = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    byType.merge(strategies[i].getClass(), counts[i], Long::sum);
+                }
+                return byType;
+            }
+        };
+    }
+    
+    /**
+     * Items que quedaron en el techo (50) o en el piso (0) de calidad tras el tick.
+     */
+    public static TickAggregate<QualityBounds> qualityBounds() {
+        return new TickAggregate<>() {
+            private long atCeiling;
+            private long atFloor;
+            
+            @Override
+            public void reset() {
+                atCeiling = 0;
+                atFloor = 0;
+            }
+            
+            @Override
+            public void accept(Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality) {
+                if (item.quality == MAX_QUALITY) {
+                    atCeiling++;
+                } else if (item.quality == MIN_QUALITY) {
+                    atFloor++;
+                }
+            }
+            
+            @Override
+            public void acceptAll(Item[] items, ItemUpdateStrategy[] strategies, int[] oldSellIns,
+                                  int[] oldQualities, int count) {
+                for (int i = 0; i < count; i++) {
+                    int quality = items[i].quality;
+                    atCeiling += quality == MAX_QUALITY ? 1 : 0;
+                    atFloor += quality == MIN_QUALITY ? 1 : 0;
+                }
+            }
+            
+            @Override
+            public QualityBounds result() {
+                return new QualityBounds(atCeiling, atFloor);
+            }
+        };
+    }
+    
+    /**
+     * Entradas backstage que en este tick entraron en la ventana de 10 días o en la de 5
+     * (las de {@link BackstagePassStrategy} o subclases).
+     */
+    public static TickAggregate<BackstageWindows> backstageWindowEntries() {
+        return new TickAggregate<>() {
+            private long enteredTenDays;
+            private long enteredFiveDays;
+            
+            @Override
+            public void reset() {
+                enteredTenDays = 0;
+                enteredFiveDays = 0;
+            }
+            
+            @Override
+            public void accept(Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality) {
+                if (!(strategy instanceof BackstagePassStrategy)) {
+                    return;
+                }
+                if (entered(oldSellIn, item.sellIn, BACKSTAGE_FIRST_WINDOW)) {
+                    enteredTenDays++;
+                }
+                if (entered(oldSellIn, item.sellIn, BACKSTAGE_SECOND_WINDOW)) {
+                    enteredFiveDays++;
+                }
+            }
+            
+            @Override
+            public void acceptAll(Item[] items, ItemUpdateStrategy[] strategies, int[] oldSellIns,
+                                  int[] oldQualities, int count) {
+                for (int i = 0; i < count; i++) {
+                    // Solo se mira la estrategia de los items que cruzaron el umbral de 10 días
+                    if (oldSellIns[i] > BACKSTAGE_SECOND_WINDOW && items[i].sellIn <= BACKSTAGE_FIRST_WINDOW) {
+                        accept(items[i], strategies[i], oldSellIns[i], oldQualities[i]);
+                    }
+                }
+            }
+            
+            @Override
+            public BackstageWindows result() {
+                return new BackstageWindows(enteredTenDays, enteredFiveDays);
+            }
+        };
+    }
+    
+    private static boolean entered(int oldSellIn, int newSellIn, int window) {
+        return oldSellIn > window && newSellIn <= window;
+    }
+    
+    /**
+     * Resultado de {@link #qualityBounds()}.
+     */
+    public static final class QualityBounds {
+        
+        private final long atCeiling;
+        private final long atFloor;
+        
+        QualityBounds(long atCeiling, long atFloor) {
+            this.atCeiling = atCeiling;
+            this.atFloor = atFloor;
+        }
+        
+        public long getAtCeiling() {
+            return atCeiling;
+        }
+        
+        public long getAtFloor() {
+            return atFloor;
+        }
+        
+        @Override
+        public String toString() {
+            return "techo=" + atCeiling + ", piso=" + atFloor;
+        }
+    }
+    
+    /**
+     * Resultado de {@link #backstageWindowEntries()}.
+     */
+    public static final class BackstageWindows {
+        
+        private final long enteredTenDays;
+        private final long enteredFiveDays;
+        
+        BackstageWindows(long enteredTenDays, long enteredFiveDays) {
+            this.enteredTenDays = enteredTenDays;
+            this.enteredFiveDays = enteredFiveDays;
+        }
+        
+        public long getEnteredTenDays() {
+            return enteredTenDays;
+        }
+        
+        public long getEnteredFiveDays() {
+            return enteredFiveDays;
+        }
+        
+        @Override
+        public String toString() {
+            return "10 días=" + enteredTenDays + ", 5 días=" + enteredFiveDays;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Log binario de cambios por tick, escrito de forma secuencial mientras el tick recorre los
+ * items (se registra con {@link GildedRose#addChangeListener}).
+ *
+ * Formato (big-endian):
+ * <pre>
+ * cabecera  magic(int) version(int) baseDay(int)
+ * BEGIN     'B' day(int) days(int)
+ * CHANGE    'C' index oldSellIn oldQuality deltaSellIn deltaQuality   (varints; todos salvo index con zigzag)
+ * COMMIT    'E' day(int) changeCount(int) crc32c(int)
+ * </pre>
+ * Solo se escriben los items que cambiaron, y como sus cambios son pequeños cada registro
+ * ocupa unos pocos bytes. El CRC del COMMIT cubre todo el tick, así que un tick a medio
+ * escribir nunca se confunde con uno completo.
+ *
+ * Group commit: los registros se acumulan en un buffer y el archivo se sincroniza con disco
+ * una vez cada {@code groupCommitTicks} ticks confirmados (o al llamar a {@link #sync()}).
+ * Ante una caída se pueden perder como mucho esos últimos ticks, siempre completos.
+ *
+ * Los días del log se cuentan desde el {@code baseDay} de la cabecera (el del último
+ * {@link #checkpoint()}), independientemente del contador de días de {@link GildedRose}.
+ * Un tick que se interrumpe con una excepción queda abandonado y se trata como no ocurrido:
+ * sus registros se descartan al empezar el siguiente tick y quien captura la excepción debe
+ * restaurar el estado de los items, como hace {@link StoreTickScheduler}. Esto incluye un
+ * fallo al sincronizar en {@link #onTickEnd}: el tick no cuenta como confirmado y el día del
+ * log no avanza, igual que el de {@link GildedRose}, que no llega a cerrar el tick.
+ */
+public class TickChangeLog implements ItemChangeListener, AutoCloseable {
+    
+    /**
+     * Qué hacer con un tick que quedó sin confirmar al final del log.
+     */
+    public enum RecoveryMode {
+        /** Se descarta: el inventario queda en el último tick confirmado. */
+        ROLL_BACK,
+        /** Se vuelve a ejecutar completo y se registra como confirmado. */
+        ROLL_FORWARD
+    }
+    
+    static final int MAGIC = 0x47525731; // "GRW1"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 3 * 4;
+    static final byte BEGIN = 'B';
+    static final byte CHANGE = 'C';
+    static final byte COMMIT = 'E';
+    
+    private static final int BASE_DAY_POSITION = 8;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_SIZE = 1 + 5 * 5;
+    
+    private final Path path;
+    private final FileChannel channel;
+    private final int groupCommitTicks;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32C checksum = new CRC32C();
+    
+    // Inicio en el buffer del tramo del tick en curso pendiente de checksum (-1 sin tick abierto)
+    private int checksumMark = -1;
+    
+    // Longitud lógica del log (archivo más buffer) al final del último tick confirmado
+    private long committedLength;
+    
+    private int baseDay;
+    private int lastCommittedDay;
+    private int tickDay;
+    private int tickChanges;
+    private int unsyncedTicks;
+    private long committedTicks;
+    
+    // Tick sin confirmar encontrado al abrir el log, pendiente de recover
+    private TickDelta partialTick;
+    
+    private TickChangeLog(Path path, FileChannel channel, int groupCommitTicks) {
+        this.path = path;
+        this.channel = channel;
+        this.groupCommitTicks = groupCommitTicks;
+    }
+    
+    /**
+     * Abre (o crea) un log para seguir agregando ticks. Si el archivo termina en un tick sin
+     * confirmar, se recorta y sus cambios quedan disponibles en {@link #getPartialTick()}
+     * hasta llamar a {@link #recover}.
+     * @param groupCommitTicks ticks confirmados entre sincronizaciones con disco
+     */
+    public static TickChangeLog open(Path path, int groupCommitTicks) throws IOException {
+        if (path == null || groupCommitTicks < 1) {
+            throw new IllegalArgumentException("Path obligatorio y groupCommitTicks debe ser positivo");
+        }
+        
+        int baseDay = 0;
+        int lastDay = 0;
+        long validLength = 0;
+        TickDelta partial = null;
+        if (Files.exists(path)) {
+            try (TickChangeLogReader reader = TickChangeLogReader.open(path)) {
+                while (reader.next() != null) {
+                    // Solo interesa llegar al final de la parte confirmada
+                }
+                baseDay = reader.getBaseDay();
+                lastDay = reader.getLastDay();
+                validLength = reader.getValidLength();
+                partial = reader.getPartialTick();
+            }
+        }
+        
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                               StandardOpenOption.WRITE);
+        TickChangeLog log = new TickChangeLog(path, channel, groupCommitTicks);
+        try {
+            channel.truncate(validLength);
+            channel.position(validLength);
+            if (validLength == 0) {
+                log.buffer.putInt(MAGIC).putInt(VERSION).putInt(baseDay);
+                log.sync();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        
+        log.baseDay = baseDay;
+        log.lastCommittedDay = lastDay;
+        log.committedLength = Math.max(validLength, HEADER_SIZE);
+        log.partialTick = partial;
+        return log;
+    }
+    
+    @Override
+    public void onTickStart(int day, int days) {
+        try {
+            discardUncommitted();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ensureCapacity(1 + 2 * Integer.BYTES);
+        checksum.reset();
+        checksumMark = buffer.position();
+        tickDay = lastCommittedDay + days;
+        tickChanges = 0;
+        buffer.put(BEGIN).putInt(tickDay).putInt(days);
+    }
+    
+    @Override
+    public void onItemUpdated(int index, Item item, ItemUpdateStrategy strategy, int oldSellIn, int oldQuality) {
+        if (item.sellIn == oldSellIn && item.quality == oldQuality) {
+            return;
+        }
+        
+        ensureCapacity(MAX_RECORD_SIZE);
+        buffer.put(CHANGE);
+        putVarint(index);
+        putVarint(zigZagEncode(oldSellIn));
+        putVarint(zigZagEncode(oldQuality));
+        putVarint(zigZagEncode(item.sellIn - oldSellIn));
+        putVarint(zigZagEncode(item.quality - oldQuality));
+        tickChanges++;
+    }
+    
+    @Override
+    public void onTickEnd(int day) {
+        ensureCapacity(1 + 3 * Integer.BYTES);
+        buffer.put(COMMIT).putInt(tickDay).putInt(tickChanges);
+        updateChecksum();
+        checksumMark = -1;
+        buffer.putInt((int) checksum.getValue());
+        
+        // El estado confirmado solo avanza si la sincronización que le toca a este tick funcionó
+        try {
+            if (unsyncedTicks + 1 >= groupCommitTicks) {
+                sync();
+            } else {
+                unsyncedTicks++;
+            }
+            committedLength = logicalLength();
+        } catch (IOException e) {
+            try {
+                discardUncommitted();
+            } catch (IOException discardFailure) {
+                e.addSuppressed(discardFailure);
+            }
+            throw new UncheckedIOException(e);
+        }
+        lastCommittedDay = tickDay;
+        committedTicks++;
+    }
+    
+    /**
+     * Escribe los registros pendientes y sincroniza el archivo con disco.
+     */
+    public void sync() throws IOException {
+        flush();
+        channel.force(false);
+        unsyncedTicks = 0;
+    }
+    
+    /**
+     * Descarta los ticks ya incluidos en un snapshot del inventario tomado en el día
+     * {@link #getLastCommittedDay()}: el log vuelve a empezar desde ese día.
+     * La cabecera se actualiza antes de recortar, así que una caída en medio deja un log válido.
+     */
+    public void checkpoint() throws IOException {
+        sync();
+        ByteBuffer newBaseDay = ByteBuffer.allocate(Integer.BYTES).putInt(0, lastCommittedDay);
+        channel.write(newBaseDay, BASE_DAY_POSITION);
+        channel.force(false);
+        channel.truncate(HEADER_SIZE);
+        channel.force(false);
+        committedLength = HEADER_SIZE;
+        baseDay = lastCommittedDay;
+    }
+    
+    /**
+     * Reconstruye el estado de los items a partir de un estado base y los ticks del log.
+     *
+     * @param items items en el estado del día {@code itemsDay} (por ejemplo, cargados de un snapshot);
+     *              se actualizan en el lugar
+     * @param itemsDay día del log al que corresponde ese estado; debe estar entre el día base del
+     *                 log y el último tick confirmado
+     * @param mode qué hacer con el tick sin confirmar del final del log, si lo hay
+     * @param strategyManager estrategias con las que se vuelve a ejecutar un tick en ROLL_FORWARD
+     */
+    public LogRecoveryResult recover(List<Item> items, int itemsDay, RecoveryMode mode,
+                                     ItemUpdateStrategyManager strategyManager) throws IOException {
+        if (items == null || mode == null || strategyManager == null) {
+            throw new IllegalArgumentException("Items, modo y strategyManager no pueden ser null");
+        }
+        if (itemsDay < baseDay || itemsDay > lastCommittedDay) {
+            throw new IllegalArgumentException(
+                "Día " + itemsDay + " fuera del rango del log [" + baseDay + ", " + lastCommittedDay + "]");
+        }
+        
+        sync();
+        int day = itemsDay;
+        int replayed = 0;
+        try (TickChangeLogReader reader = TickChangeLogReader.open(path)) {
+            TickDelta tick;
+            while ((tick = reader.next()) != null) {
+                if (tick.getDay() <= itemsDay) {
+                    continue;
+                }
+                if (tick.getDay() - tick.getDays() != day) {
+                    throw new IllegalArgumentException("El log no continúa desde el día " + day);
+                }
+                tick.applyTo(items);
+                day = tick.getDay();
+                replayed++;
+            }
+        }
+        
+        TickDelta partial = partialTick;
+        partialTick = null;
+        if (partial == null) {
+            return new LogRecoveryResult(day, replayed, LogRecoveryResult.PartialTick.NONE, 0);
+        }
+        if (mode == RecoveryMode.ROLL_BACK) {
+            return new LogRecoveryResult(day, replayed, LogRecoveryResult.PartialTick.ROLLED_BACK, 0);
+        }
+        
+        rerunTick(items, partial.getDays(), strategyManager);
+        return new LogRecoveryResult(lastCommittedDay, replayed, LogRecoveryResult.PartialTick.ROLLED_FORWARD,
+                                     countMismatches(items, partial));
+    }
+    
+    /**
+     * Vuelve a ejecutar el tick interrumpido registrándolo en el log como un tick normal.
+     */
+    private void rerunTick(List<Item> items, int days, ItemUpdateStrategyManager strategyManager) throws IOException {
+        onTickStart(lastCommittedDay + days, days);
+        for (int index = 0; index < items.size(); index++) {
+            Item item = items.get(index);
+            if (item == null) {
+                continue;
+            }
+            int oldSellIn = item.sellIn;
+            int oldQuality = item.quality;
+            ItemUpdateStrategy strategy = days == 1
+                ? strategyManager.applyUpdate(item)
+                : strategyManager.applyAdvance(item, days);
+            onItemUpdated(index, item, strategy, oldSellIn, oldQuality);
+        }
+        onTickEnd(lastCommittedDay + days);
+        sync();
+    }
+    
+    /**
+     * Cambios del tick interrumpido que no coinciden con el resultado de volver a ejecutarlo
+     * (señal de estrategias no deterministas o de un log dañado).
+     */
+    private static int countMismatches(List<Item> items, TickDelta partial) {
+        int mismatches = 0;
+        for (int change = 0; change < partial.getChangeCount(); change++) {
+            int index = partial.getIndex(change);
+            Item item = index < items.size() ? items.get(index) : null;
+            if (item == null
+                || item.sellIn != partial.getNewSellIn(change)
+                || item.quality != partial.getNewQuality(change)) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+    
+    /**
+     * Tick sin confirmar encontrado al abrir el log, o null si no lo había o ya se recuperó.
+     */
+    public TickDelta getPartialTick() {
+        return partialTick;
+    }
+    
+    /**
+     * Día del log alcanzado por el último tick confirmado (aunque aún no esté sincronizado).
+     */
+    public int getLastCommittedDay() {
+        return lastCommittedDay;
+    }
+    
+    /**
+     * Día del log en el que empieza el archivo.
+     */
+    public int getBaseDay() {
+        return baseDay;
+    }
+    
+    public long getCommittedTickCount() {
+        return committedTicks;
+    }
+    
+    public Path getPath() {
+        return path;
+    }
+    
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+    
+    private static int zigZagEncode(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+    
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < bytes) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+    
+    private void flush() throws IOException {
+        if (checksumMark >= 0) {
+            updateChecksum();
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            // Lo que no llegó a escribirse queda al principio del buffer para el próximo intento
+            buffer.compact();
+            if (checksumMark >= 0) {
+                checksumMark = buffer.position();
+            }
+        }
+    }
+    
+    /**
+     * Bytes del log contando los que siguen en el buffer.
+     */
+    private long logicalLength() throws IOException {
+        return channel.position() + buffer.position();
+    }
+    
+    /**
+     * Descarta lo escrito después del último tick confirmado (un tick abandonado o cuya
+     * sincronización falló), tanto del buffer como del archivo.
+     */
+    private void discardUncommitted() throws IOException {
+        checksumMark = -1;
+        long written = channel.position();
+        if (written + buffer.position() == committedLength) {
+            return;
+        }
+        if (committedLength >= written) {
+            buffer.position((int) (committedLength - written));
+        } else {
+            buffer.clear();
+            channel.truncate(committedLength);
+            channel.position(committedLength);
+        }
+    }
+    
+    private void updateChecksum() {
+        ByteBuffer pending = buffer.duplicate();
+        pending.limit(buffer.position()).position(checksumMark);
+        checksum.update(pending);
+        checksumMark = buffer.position();
+    }
+    
+    /**
+     * Sincroniza los ticks pendientes y cierra el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+}
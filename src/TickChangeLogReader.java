@@ -0,0 +1,232 @@
+package com.gildedrose;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Lector secuencial de un {@link TickChangeLog}: devuelve los ticks confirmados en orden.
+ *
+ * La lectura se detiene en el primer registro truncado o corrupto (por ejemplo, lo que quedó
+ * a medio escribir en una caída); los cambios del tick sin confirmar que quedaron al final se
+ * exponen en {@link #getPartialTick()}. Un tick que se interrumpe y va seguido de otro
+ * (una excepción a mitad del tick) se descarta como abandonado.
+ *
+ * Lo usan la recuperación del propio log y los consumidores que sincronizan solo los items
+ * que cambiaron.
+ */
+public class TickChangeLogReader implements AutoCloseable {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32C checksum = new CRC32C();
+    
+    // Posición en el archivo del inicio del buffer y comienzo del tramo pendiente de checksum
+    private long bufferStart;
+    private int checksumMark = -1;
+    
+    private int baseDay;
+    private int lastDay;
+    private long validLength;
+    private TickDelta partialTick;
+    private int abandonedTicks;
+    private boolean finished;
+    
+    private TickChangeLogReader(FileChannel channel) {
+        this.channel = channel;
+        buffer.flip();
+    }
+    
+    /**
+     * Abre un log y valida su cabecera. Un archivo vacío o con la cabecera incompleta se
+     * considera un log vacío.
+     * @throws IOException si el archivo no es un log de cambios
+     */
+    public static TickChangeLogReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            TickChangeLogReader reader = new TickChangeLogReader(channel);
+            reader.readHeader(path);
+            return reader;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    private void readHeader(Path path) throws IOException {
+        try {
+            int magic = readInt();
+            int version = readInt();
+            if (magic != TickChangeLog.MAGIC) {
+                throw new IOException("El archivo no es un log de cambios: " + path);
+            }
+            if (version != TickChangeLog.VERSION) {
+                throw new IOException("Versión de log no soportada: " + version);
+            }
+            baseDay = readInt();
+            lastDay = baseDay;
+            validLength = position();
+        } catch (EOFException e) {
+            finished = true;
+        }
+    }
+    
+    /**
+     * Lee el siguiente tick confirmado.
+     * @return el tick, o null si no quedan ticks confirmados
+     */
+    public TickDelta next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        
+        TickDelta tick = null;
+        try {
+            while (true) {
+                int tag = readByte();
+                if (tag == TickChangeLog.BEGIN) {
+                    if (tick != null) {
+                        abandonedTicks++;
+                    }
+                    checksum.reset();
+                    checksumMark = buffer.position() - 1;
+                    int day = readInt();
+                    int days = readInt();
+                    tick = new TickDelta(day, days);
+                } else if (tag == TickChangeLog.CHANGE && tick != null) {
+                    int index = readVarint();
+                    int oldSellIn = zigZagDecode(readVarint());
+                    int oldQuality = zigZagDecode(readVarint());
+                    int newSellIn = oldSellIn + zigZagDecode(readVarint());
+                    int newQuality = oldQuality + zigZagDecode(readVarint());
+                    tick.add(index, oldSellIn, oldQuality, newSellIn, newQuality);
+                } else if (tag == TickChangeLog.COMMIT && tick != null) {
+                    int day = readInt();
+                    int changeCount = readInt();
+                    updateChecksum();
+                    checksumMark = -1;
+                    int expected = (int) checksum.getValue();
+                    if (readInt() != expected || day != tick.getDay() || changeCount != tick.getChangeCount()) {
+                        return finish(tick);
+                    }
+                    tick.markCommitted();
+                    validLength = position();
+                    lastDay = Math.max(lastDay, day);
+                    return tick;
+                } else {
+                    return finish(tick);
+                }
+            }
+        } catch (EOFException e) {
+            return finish(tick);
+        }
+    }
+    
+    private TickDelta finish(TickDelta unfinishedTick) {
+        finished = true;
+        partialTick = unfinishedTick;
+        return null;
+    }
+    
+    /**
+     * Día del log en el que empieza el archivo (el del último checkpoint).
+     */
+    public int getBaseDay() {
+        return baseDay;
+    }
+    
+    /**
+     * Día alcanzado por el último tick confirmado leído hasta ahora.
+     */
+    public int getLastDay() {
+        return lastDay;
+    }
+    
+    /**
+     * Tick sin confirmar al final del log, una vez que {@link #next()} devolvió null.
+     * Sus cambios pueden estar incompletos o dañados.
+     */
+    public TickDelta getPartialTick() {
+        return partialTick;
+    }
+    
+    /**
+     * Bytes del archivo hasta el final del último tick confirmado leído.
+     */
+    public long getValidLength() {
+        return validLength;
+    }
+    
+    public int getAbandonedTickCount() {
+        return abandonedTicks;
+    }
+    
+    private long position() {
+        return bufferStart + buffer.position();
+    }
+    
+    private int readByte() throws IOException {
+        if (!buffer.hasRemaining() && !refill()) {
+            throw new EOFException();
+        }
+        return buffer.get() & 0xFF;
+    }
+    
+    private int readInt() throws IOException {
+        while (buffer.remaining() < Integer.BYTES) {
+            if (!refill()) {
+                throw new EOFException();
+            }
+        }
+        return buffer.getInt();
+    }
+    
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+        throw new EOFException();
+    }
+    
+    private static int zigZagDecode(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private boolean refill() throws IOException {
+        if (checksumMark >= 0) {
+            updateChecksum();
+        }
+        bufferStart += buffer.position();
+        buffer.compact();
+        int read = channel.read(buffer);
+        buffer.flip();
+        if (checksumMark >= 0) {
+            checksumMark = 0;
+        }
+        return read > 0;
+    }
+    
+    private void updateChecksum() {
+        ByteBuffer pending = buffer.duplicate();
+        pending.limit(buffer.position()).position(checksumMark);
+        checksum.update(pending);
+        checksumMark = buffer.position();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
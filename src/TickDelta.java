@@ -0,0 +1,122 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cambios de un tick leídos de un {@link TickChangeLog}: para cada item que cambió, su
+ * posición y sus valores antes y después del tick. Los items que no cambiaron no aparecen.
+ *
+ * Los valores nuevos son absolutos, así que un consumidor puede sincronizar una copia del
+ * inventario aplicando los ticks en orden sin volver a exportarlo completo.
+ */
+public class TickDelta {
+    
+    private final int day;
+    private final int days;
+    private int[] indexes = new int[16];
+    private int[] oldSellIns = new int[16];
+    private int[] oldQualities = new int[16];
+    private int[] newSellIns = new int[16];
+    private int[] newQualities = new int[16];
+    private int size;
+    private boolean committed;
+    
+    TickDelta(int day, int days) {
+        this.day = day;
+        this.days = days;
+    }
+    
+    void add(int index, int oldSellIn, int oldQuality, int newSellIn, int newQuality) {
+        if (size == indexes.length) {
+            int newCapacity = size * 2;
+            indexes = Arrays.copyOf(indexes, newCapacity);
+            oldSellIns = Arrays.copyOf(oldSellIns, newCapacity);
+            oldQualities = Arrays.copyOf(oldQualities, newCapacity);
+            newSellIns = Arrays.copyOf(newSellIns, newCapacity);
+            newQualities = Arrays.copyOf(newQualities, newCapacity);
+        }
+        indexes[size] = index;
+        oldSellIns[size] = oldSellIn;
+        oldQualities[size] = oldQuality;
+        newSellIns[size] = newSellIn;
+        newQualities[size] = newQuality;
+        size++;
+    }
+    
+    void markCommitted() {
+        committed = true;
+    }
+    
+    /**
+     * Día del log alcanzado al terminar el tick.
+     */
+    public int getDay() {
+        return day;
+    }
+    
+    /**
+     * Días que avanzó el tick (1 para updateQuality, n para advance(n)).
+     */
+    public int getDays() {
+        return days;
+    }
+    
+    /**
+     * Indica si el tick llegó a confirmarse; los ticks parciales solo se obtienen de
+     * {@link TickChangeLogReader#getPartialTick()}.
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+    
+    public int getChangeCount() {
+        return size;
+    }
+    
+    public int getIndex(int change) {
+        return indexes[checkChange(change)];
+    }
+    
+    public int getOldSellIn(int change) {
+        return oldSellIns[checkChange(change)];
+    }
+    
+    public int getOldQuality(int change) {
+        return oldQualities[checkChange(change)];
+    }
+    
+    public int getNewSellIn(int change) {
+        return newSellIns[checkChange(change)];
+    }
+    
+    public int getNewQuality(int change) {
+        return newQualities[checkChange(change)];
+    }
+    
+    /**
+     * Aplica los valores nuevos a los items de la lista, que debe estar en el estado previo al tick.
+     */
+    public void applyTo(List<Item> items) {
+        for (int change = 0; change < size; change++) {
+            Item item = itemAt(items, indexes[change]);
+            item.sellIn = newSellIns[change];
+            item.quality = newQualities[change];
+        }
+    }
+    
+    static Item itemAt(List<Item> items, int index) {
+        Item item = index < items.size() ? items.get(index) : null;
+        if (item == null) {
+            throw new IllegalArgumentException("El log referencia un item inexistente: " + index);
+        }
+        return item;
+    }
+    
+    private int checkChange(int change) {
+        if (change < 0 || change >= size) {
+            throw new IndexOutOfBoundsException("Cambio fuera de rango: " + change);
+        }
+        return change;
+    }
+}
@@ -0,0 +1,44 @@
+package com.gildedrose;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Resultado de {@link GildedRose#updateQuality(TickAggregate...)}: el día alcanzado y el
+ * resultado de cada agregado calculado durante el tick.
+ */
+public class TickResult {
+    
+    private final int day;
+    private final long elapsedNanos;
+    private final Map<TickAggregate<?>, Object> results;
+    
+    TickResult(int day, long elapsedNanos, Map<TickAggregate<?>, Object> results) {
+        this.day = day;
+        this.elapsedNanos = elapsedNanos;
+        this.results = new IdentityHashMap<>(results);
+    }
+    
+    /**
+     * Día del inventario al terminar el tick.
+     */
+    public int getDay() {
+        return day;
+    }
+    
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    /**
+     * Resultado de un agregado pasado a updateQuality.
+     * @throws IllegalArgumentException si el agregado no formó parte del tick
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R get(TickAggregate<R> aggregate) {
+        if (!results.containsKey(aggregate)) {
+            throw new IllegalArgumentException("El agregado no se calculó en este tick");
+        }
+        return (R) results.get(aggregate);
+    }
+}
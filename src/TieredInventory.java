@@ -0,0 +1,209 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+
+/**
+ * Inventario en dos niveles: items vivos en memoria y items asentados en un archivo frío.
+ *
+ * Un item está asentado cuando su estrategia indica que su calidad ya no cambiará
+ * ({@link ItemUpdateStrategy#isSettled(Item)}), por ejemplo items normales o conjurados con
+ * calidad 0 o entradas después del concierto. {@link #compact()} mueve esos items al
+ * {@link ColdItemArchive} y el tick solo recorre los que quedan vivos, así su costo sigue al
+ * stock activo y no al histórico.
+ *
+ * Cada item conserva el id asignado al agregarlo aunque cambie de nivel. Al leer un item
+ * archivado se avanza desde el día en que se archivó con la fórmula cerrada de su estrategia;
+ * por eso solo se archivan items cuya estrategia tiene una
+ * ({@link ItemUpdateStrategy#supportsAnalyticAdvance()}).
+ *
+ * Los items vivos se actualizan en el lugar y {@link #getItem(int)} los devuelve tal cual;
+ * los archivados se devuelven como copias. Las estrategias deben registrarse en el manager
+ * antes de compactar: los items archivados se leen con la estrategia vigente para su nombre.
+ */
+public class TieredInventory implements Inventory {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final ItemUpdateStrategyManager strategyManager;
+    private final ColdItemArchive archive = new ColdItemArchive();
+
+    // Nivel vivo: items en orden de alta y el id de cada uno
+    private Item[] hotItems;
+    private int[] hotIds;
+    private int hotCount;
+
+    // Ubicación por id: posición en el nivel vivo, o -(registro + 1) si está archivado
+    private int[] locations;
+    private int size;
+
+    private int currentDay;
+
+    // Compactación automática cada N ticks; 0 si está desactivada
+    private int compactionInterval;
+
+    public TieredInventory(Item[] items) {
+        this(items, new ItemUpdateStrategyManager());
+    }
+
+    /**
+     * Constructor con inyección del manager de estrategias.
+     * Los ids de los items coinciden con su posición en el array.
+     */
+    public TieredInventory(Item[] items, ItemUpdateStrategyManager strategyManager) {
+        if (items == null || strategyManager == null) {
+            throw new IllegalArgumentException("Items y strategyManager no pueden ser null");
+        }
+
+        int capacity = Math.max(items.length, DEFAULT_CAPACITY);
+        this.strategyManager = strategyManager;
+        this.hotItems = new Item[capacity];
+        this.hotIds = new int[capacity];
+        this.locations = new int[capacity];
+        for (Item item : items) {
+            add(item);
+        }
+    }
+
+    /**
+     * Agrega un item al nivel vivo.
+     * @return id estable del item
+     */
+    public int add(Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("El inventario por niveles no admite items null");
+        }
+
+        if (hotCount == hotItems.length) {
+            int newCapacity = hotItems.length + (hotItems.length >> 1);
+            hotItems = Arrays.copyOf(hotItems, newCapacity);
+            hotIds = Arrays.copyOf(hotIds, newCapacity);
+        }
+        if (size == locations.length) {
+            locations = Arrays.copyOf(locations, locations.length + (locations.length >> 1));
+        }
+
+        int id = size++;
+        hotItems[hotCount] = item;
+        hotIds[hotCount] = id;
+        locations[id] = hotCount++;
+        return id;
+    }
+
+    /**
+     * Avanza un día actualizando solo los items vivos.
+     */
+    @Override
+    public void updateQuality() {
+        for (int i = 0; i < hotCount; i++) {
+            strategyManager.applyUpdate(hotItems[i]);
+        }
+        currentDay++;
+
+        if (compactionInterval > 0 && currentDay % compactionInterval == 0) {
+            compact();
+        }
+    }
+
+    /**
+     * Mueve al archivo los items vivos asentados y compacta el nivel vivo conservando
+     * el orden de los que quedan.
+     * @return número de items archivados en esta pasada
+     */
+    public int compact() {
+        int kept = 0;
+        for (int i = 0; i < hotCount; i++) {
+            Item item = hotItems[i];
+            int id = hotIds[i];
+            ItemUpdateStrategy strategy = strategyManager.findStrategy(item);
+
+            if (strategy.supportsAnalyticAdvance() && strategy.isSettled(item)) {
+                int record = archive.append(item.name, item.sellIn, item.quality, currentDay);
+                locations[id] = -(record + 1);
+            } else {
+                hotItems[kept] = item;
+                hotIds[kept] = id;
+                locations[id] = kept++;
+            }
+        }
+
+        int archived = hotCount - kept;
+        Arrays.fill(hotItems, kept, hotCount, null);
+        hotCount = kept;
+        return archived;
+    }
+
+    /**
+     * Compacta automáticamente cada {@code intervalTicks} ticks.
+     */
+    public void enableAutoCompaction(int intervalTicks) {
+        if (intervalTicks < 1) {
+            throw new IllegalArgumentException("El intervalo de compactación debe ser positivo");
+        }
+        this.compactionInterval = intervalTicks;
+    }
+
+    public void disableAutoCompaction() {
+        this.compactionInterval = 0;
+    }
+
+    /**
+     * Obtiene el item con el id indicado. Si está archivado devuelve una copia avanzada
+     * hasta el día actual; modificarla no altera el inventario.
+     */
+    @Override
+    public Item getItem(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Id fuera de rango: " + id);
+        }
+
+        int location = locations[id];
+        if (location >= 0) {
+            return hotItems[location];
+        }
+
+        int record = -(location + 1);
+        Item item = archive.getItem(record);
+        int elapsedDays = currentDay - archive.getArchivedDay(record);
+        if (elapsedDays > 0) {
+            strategyManager.applyAdvance(item, elapsedDays);
+        }
+        return item;
+    }
+
+    /**
+     * Número total de items, vivos y archivados.
+     */
+    @Override
+    public int getItemCount() {
+        return size;
+    }
+
+    public int getHotItemCount() {
+        return hotCount;
+    }
+
+    public int getArchivedItemCount() {
+        return size - hotCount;
+    }
+
+    public boolean isArchived(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Id fuera de rango: " + id);
+        }
+        return locations[id] < 0;
+    }
+
+    /**
+     * Días avanzados desde la creación del inventario.
+     */
+    public int getCurrentDay() {
+        return currentDay;
+    }
+
+    /**
+     * Bytes comprimidos que ocupa el archivo frío (sin contar su bloque abierto).
+     */
+    public long getArchiveCompressedBytes() {
+        return archive.getCompressedBytes();
+    }
+}
@@ -0,0 +1,52 @@
+package com.gildedrose;
+
+/**
+ * Puntos de instrumentación del pipeline de actualización.
+ * {@link GildedRose} y {@link ItemUpdateStrategyManager} llaman a estos métodos en el camino
+ * caliente, así que las implementaciones deben ser baratas, seguras entre hilos y no asignar memoria.
+ */
+public interface UpdateMetrics {
+    
+    /**
+     * Implementación que no registra nada; es la opción por defecto.
+     * Al ser la única implementación vista en el sitio de llamada, el JIT la inlinea y desaparece.
+     */
+    UpdateMetrics NOOP = new UpdateMetrics() {
+        @Override
+        public void recordTick(long durationNanos, int itemCount) {
+        }
+        
+        @Override
+        public void recordAdvance(long durationNanos, int itemCount, int days) {
+        }
+        
+        @Override
+        public void recordItemUpdate(ItemUpdateStrategy strategy, Item item, int oldQuality) {
+        }
+        
+        @Override
+        public void recordResolution(long durationNanos) {
+        }
+    };
+    
+    /**
+     * Registra un tick completo de updateQuality.
+     */
+    void recordTick(long durationNanos, int itemCount);
+    
+    /**
+     * Registra un avance de varios días de una vez (advance); no cuenta como tick.
+     */
+    void recordAdvance(long durationNanos, int itemCount, int days);
+    
+    /**
+     * Registra la actualización de un item, ya aplicada por la estrategia indicada.
+     * @param oldQuality calidad del item antes de la actualización
+     */
+    void recordItemUpdate(ItemUpdateStrategy strategy, Item item, int oldQuality);
+    
+    /**
+     * Registra una resolución de estrategia que tuvo que recorrer la lista (fallo de cache).
+     */
+    void recordResolution(long durationNanos);
+}
@@ -0,0 +1,115 @@
+package com.gildedrose;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Índice que resuelve nombres codificados en UTF-8 directamente a ids de un {@link NameDictionary},
+ * sin crear un String por registro. Solo se decodifica un String la primera vez que aparece cada nombre.
+ */
+final class Utf8NameIndex {
+    
+    private static final int INITIAL_SLOTS = 256;
+    
+    private final NameDictionary dictionary;
+    
+    // Tabla de direccionamiento abierto: cada slot guarda id + 1 (0 = vacío)
+    private int[] slots;
+    private int occupied;
+    
+    // Bytes y hash de cada nombre, indexados por id del diccionario
+    private byte[][] bytesById;
+    private int[] hashById;
+    
+    Utf8NameIndex(NameDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.slots = new int[INITIAL_SLOTS];
+        this.bytesById = new byte[INITIAL_SLOTS][];
+        this.hashById = new int[INITIAL_SLOTS];
+    }
+    
+    /**
+     * Obtiene el id del nombre contenido en {@code buffer[offset, offset + length)},
+     * registrándolo en el diccionario si es nuevo.
+     */
+    int idOf(byte[] buffer, int offset, int length) {
+        int hash = hash(buffer, offset, length);
+        int mask = slots.length - 1;
+        
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return insert(slot, hash, buffer, offset, length);
+            }
+            
+            int id = entry - 1;
+            byte[] candidate = bytesById[id];
+            if (hashById[id] == hash
+                && Arrays.equals(candidate, 0, candidate.length, buffer, offset, offset + length)) {
+                return id;
+            }
+        }
+    }
+    
+    /**
+     * Bytes UTF-8 del nombre con el id dado (sirve para escribir registros sin codificar Strings).
+     */
+    byte[] bytesOf(int id) {
+        ensureIdCapacity(id);
+        byte[] bytes = bytesById[id];
+        if (bytes == null) {
+            bytes = dictionary.nameOf(id).getBytes(StandardCharsets.UTF_8);
+            bytesById[id] = bytes;
+            hashById[id] = hash(bytes, 0, bytes.length);
+        }
+        return bytes;
+    }
+    
+    private int insert(int slot, int hash, byte[] buffer, int offset, int length) {
+        String name = new String(buffer, offset, length, StandardCharsets.UTF_8);
+        int id = dictionary.idOf(name);
+        
+        ensureIdCapacity(id);
+        bytesById[id] = Arrays.copyOfRange(buffer, offset, offset + length);
+        hashById[id] = hash;
+        slots[slot] = id + 1;
+        
+        if (++occupied * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+    
+    private void ensureIdCapacity(int id) {
+        if (id >= bytesById.length) {
+            int newLength = Math.max(id + 1, bytesById.length * 2);
+            bytesById = Arrays.copyOf(bytesById, newLength);
+            hashById = Arrays.copyOf(hashById, newLength);
+        }
+    }
+    
+    private void rehash() {
+        int[] oldSlots = slots;
+        slots = new int[oldSlots.length * 2];
+        int mask = slots.length - 1;
+        
+        for (int entry : oldSlots) {
+            if (entry != 0) {
+                int slot = hashById[entry - 1] & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = entry;
+            }
+        }
+    }
+    
+    private static int hash(byte[] buffer, int offset, int length) {
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        // Mezcla los bits altos para que la máscara de la tabla no descarte información
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,39 @@
+package com.gildedrose;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementación de {@link DecayKernel} con la Vector API: procesa tantos items por
+ * iteración como enteros caben en el registro vectorial preferido de la plataforma.
+ * Solo se instancia si {@code jdk.incubator.vector} está disponible.
+ */
+final class VectorDecayKernel implements DecayKernel.Implementation {
+    
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    
+    @Override
+    public void apply(int[] sellIns, int[] qualities, int[] rates, int from, int to) {
+        int i = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+        for (; i < upperBound; i += SPECIES.length()) {
+            IntVector rate = IntVector.fromArray(SPECIES, rates, i);
+            IntVector sellIn = IntVector.fromArray(SPECIES, sellIns, i);
+            IntVector quality = IntVector.fromArray(SPECIES, qualities, i);
+            
+            VectorMask<Integer> active = rate.compare(VectorOperators.NE, 0);
+            IntVector newSellIn = sellIn.sub(1, active);
+            VectorMask<Integer> expired = newSellIn.compare(VectorOperators.LT, 0);
+            IntVector decrease = rate.lanewise(VectorOperators.LSHL, 1, expired);
+            IntVector newQuality = quality.sub(decrease).max(0);
+            
+            newSellIn.intoArray(sellIns, i);
+            quality.blend(newQuality, active).intoArray(qualities, i);
+        }
+        
+        // Resto que no llena un vector completo
+        DecayKernel.applyScalar(sellIns, qualities, rates, i, to);
+    }
+}
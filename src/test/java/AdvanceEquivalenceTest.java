@@ -0,0 +1,49 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * La fórmula cerrada de {@link GildedRose#advance(int)} debe dar exactamente el mismo
+ * resultado que {@code days} llamadas a {@link GildedRose#updateQuality()}, para cada
+ * estrategia incluida y en los bordes de sellIn donde cambian las reglas.
+ */
+class AdvanceEquivalenceTest {
+    
+    private static final int[] SELL_INS = {
+        Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 2,
+        -11, -1, 0, 1, 5, 6, 10, 11, 12, 30, Integer.MAX_VALUE
+    };
+    private static final int[] DAYS = {0, 1, 2, 3, 5, 6, 7, 10, 11, 12, 25, 60};
+    
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "Elixir of the Mongoose",
+        "Aged Brie",
+        "Backstage passes to a TAFKAL80ETC concert",
+        "Sulfuras, Hand of Ragnaros",
+        "Conjured Mana Cake"
+    })
+    void advanceMatchesRepeatedSingleDayUpdates(String name) {
+        for (int sellIn : SELL_INS) {
+            for (int quality = 0; quality <= 50; quality++) {
+                for (int days : DAYS) {
+                    Item daily = new Item(name, sellIn, quality);
+                    Item advanced = new Item(name, sellIn, quality);
+                    
+                    GildedRose dailyRose = new GildedRose(new Item[] {daily});
+                    for (int day = 0; day < days; day++) {
+                        dailyRose.updateQuality();
+                    }
+                    new GildedRose(new Item[] {advanced}).advance(days);
+                    
+                    String context = name + " sellIn=" + sellIn + " quality=" + quality + " days=" + days;
+                    assertEquals(daily.sellIn, advanced.sellIn, "sellIn de " + context);
+                    assertEquals(daily.quality, advanced.quality, "quality de " + context);
+                }
+            }
+        }
+    }
+}
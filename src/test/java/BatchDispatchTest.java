@@ -0,0 +1,86 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * El despacho por lotes debe dar lo mismo que el recorrido secuencial aunque entre ticks se
+ * reemplacen, renombren o pongan a null items sin avisar a la agrupación.
+ */
+class BatchDispatchTest {
+
+    private static final String[] NAMES = {
+        "Elixir of the Mongoose",
+        "+5 Dexterity Vest",
+        "Aged Brie",
+        "Backstage passes to a TAFKAL80ETC concert",
+        "Sulfuras, Hand of Ragnaros",
+        "Conjured Mana Cake"
+    };
+
+    @Test
+    void batchTickFollowsChangesMadeBetweenTicks() {
+        Random random = new Random(13);
+        List<Item> sequentialItems = new ArrayList<>();
+        List<Item> batchItems = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Item item = randomItem(random);
+            sequentialItems.add(item);
+            batchItems.add(item == null ? null : copy(item));
+        }
+        GildedRose sequential = new GildedRose(sequentialItems);
+        GildedRose batch = new GildedRose(batchItems);
+        batch.enableBatchDispatch();
+
+        for (int tick = 0; tick < 60; tick++) {
+            for (int change = 0; change < 5; change++) {
+                int index = random.nextInt(sequentialItems.size());
+                Item current = sequentialItems.get(index);
+                if (current != null && random.nextBoolean()) {
+                    String name = NAMES[random.nextInt(NAMES.length)];
+                    if (!name.startsWith("Sulfuras") && !current.name.startsWith("Sulfuras")) {
+                        current.name = name;
+                        batchItems.get(index).name = name;
+                    }
+                } else {
+                    Item replacement = randomItem(random);
+                    sequentialItems.set(index, replacement);
+                    batchItems.set(index, replacement == null ? null : copy(replacement));
+                }
+            }
+
+            sequential.updateQuality();
+            batch.updateQuality();
+            for (int i = 0; i < sequentialItems.size(); i++) {
+                Item expected = sequentialItems.get(i);
+                Item actual = batchItems.get(i);
+                if (expected == null) {
+                    assertNull(actual, "tick " + tick + ", item " + i);
+                } else {
+                    assertEquals(expected.name, actual.name, "tick " + tick + ", item " + i);
+                    assertEquals(expected.sellIn, actual.sellIn, "tick " + tick + ", sellIn de " + i);
+                    assertEquals(expected.quality, actual.quality, "tick " + tick + ", quality de " + i);
+                }
+            }
+        }
+    }
+
+    private static Item randomItem(Random random) {
+        if (random.nextInt(20) == 0) {
+            return null;
+        }
+        String name = NAMES[random.nextInt(NAMES.length)];
+        int quality = name.startsWith("Sulfuras") ? 80 : random.nextInt(51);
+        return new Item(name, random.nextInt(31) - 5, quality);
+    }
+
+    private static Item copy(Item item) {
+        return new Item(item.name, item.sellIn, item.quality);
+    }
+}
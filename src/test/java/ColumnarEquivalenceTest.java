@@ -0,0 +1,110 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * {@link ColumnarInventory} debe producir exactamente el mismo estado que {@link GildedRose}
+ * sobre el mismo inventario generado: ticks diarios, con y sin el kernel de decaimiento,
+ * avances de varios días, items agregados entre ticks y una estrategia personalizada
+ * registrada a mitad de camino.
+ */
+class ColumnarEquivalenceTest {
+
+    private static final String[] NAMES = {
+        "Elixir of the Mongoose",
+        "+5 Dexterity Vest",
+        "Aged Brie",
+        "Backstage passes to a TAFKAL80ETC concert",
+        "Sulfuras, Hand of Ragnaros",
+        "Conjured Mana Cake",
+        "Conjured",
+        "Fragile Vase"
+    };
+    private static final int ITEM_COUNT = 3_000;
+    private static final int TICKS = 80;
+
+    /**
+     * Pierde 5 de calidad por día; se registra a mitad de la prueba para cambiar la
+     * resolución de "Fragile ..." en ambos inventarios.
+     */
+    static final class FragileStrategy implements ItemUpdateStrategy {
+        @Override
+        public boolean canHandle(Item item) {
+            return item.name.startsWith("Fragile");
+        }
+
+        @Override
+        public void updateItem(Item item) {
+            item.sellIn--;
+            item.quality = Math.max(0, item.quality - 5);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void columnarMatchesGildedRose(boolean decayKernel) {
+        Random random = new Random(2);
+        Item[] items = new Item[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items[i] = randomItem(random);
+        }
+        ItemUpdateStrategyManager columnarStrategies = new ItemUpdateStrategyManager();
+        ColumnarInventory columnar = new ColumnarInventory(items, columnarStrategies);
+        GildedRose reference = new GildedRose(new ArrayList<>(Arrays.asList(copy(items))));
+        if (decayKernel) {
+            columnar.enableDecayKernel();
+        }
+
+        for (int tick = 0; tick < TICKS; tick++) {
+            if (tick == TICKS / 2) {
+                FragileStrategy fragile = new FragileStrategy();
+                reference.addCustomStrategy(fragile);
+                columnarStrategies.addStrategy(fragile);
+            }
+            if (tick % 10 == 5) {
+                Item added = randomItem(random);
+                reference.getItems().add(new Item(added.name, added.sellIn, added.quality));
+                columnar.add(added.name, added.sellIn, added.quality);
+            }
+            if (tick % 7 == 3) {
+                int days = 1 + random.nextInt(9);
+                reference.advance(days);
+                columnar.advance(days);
+            } else {
+                reference.updateQuality();
+                columnar.updateQuality();
+            }
+
+            assertEquals(reference.getItemCount(), columnar.getItemCount());
+            for (int i = 0; i < columnar.getItemCount(); i++) {
+                Item expected = reference.getItem(i);
+                String context = "tick " + tick + ", item " + i + " (" + expected.name + ")";
+                assertEquals(expected.name, columnar.getName(i), context);
+                assertEquals(expected.sellIn, columnar.getSellIn(i), "sellIn en " + context);
+                assertEquals(expected.quality, columnar.getQuality(i), "quality en " + context);
+            }
+        }
+    }
+
+    private static Item randomItem(Random random) {
+        String name = NAMES[random.nextInt(NAMES.length)];
+        int quality = name.startsWith("Sulfuras") ? 80 : random.nextInt(51);
+        int sellIn = random.nextInt(20) == 0 ? Integer.MIN_VALUE + random.nextInt(3) : random.nextInt(41) - 10;
+        return new Item(name, sellIn, quality);
+    }
+
+    private static Item[] copy(Item[] items) {
+        Item[] copies = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copies[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return copies;
+    }
+}
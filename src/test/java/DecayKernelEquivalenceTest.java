@@ -0,0 +1,120 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * El kernel escalar, el vectorial y las estrategias {@link RegularItemStrategy} y
+ * {@link ConjuredItemStrategy} deben dar el mismo resultado bit a bit, incluidos los bordes
+ * de sellIn (vencimiento y desbordamiento de int) y los de calidad.
+ */
+class DecayKernelEquivalenceTest {
+    
+    private static final int[] SELL_INS = {
+        Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -2, -1, 0, 1, 2, Integer.MAX_VALUE
+    };
+    private static final int[] RATES = {
+        DecayKernel.RATE_NONE, DecayKernel.RATE_REGULAR, DecayKernel.RATE_CONJURED
+    };
+    private static final int DAYS = 3;
+    
+    // Un caso por combinación de sellIn, calidad y tasa
+    private final int[] sellIns = new int[SELL_INS.length * 51 * RATES.length];
+    private final int[] qualities = new int[sellIns.length];
+    private final int[] rates = new int[sellIns.length];
+    
+    DecayKernelEquivalenceTest() {
+        int i = 0;
+        for (int sellIn : SELL_INS) {
+            for (int quality = 0; quality <= 50; quality++) {
+                for (int rate : RATES) {
+                    sellIns[i] = sellIn;
+                    qualities[i] = quality;
+                    rates[i] = rate;
+                    i++;
+                }
+            }
+        }
+    }
+    
+    @Test
+    void vectorKernelIsLoadedUnderTest() {
+        assertTrue(DecayKernel.isVectorized(), "Surefire debe ejecutar con --add-modules jdk.incubator.vector");
+    }
+    
+    @Test
+    void scalarKernelMatchesStrategies() {
+        int[] scalarSellIns = sellIns.clone();
+        int[] scalarQualities = qualities.clone();
+        Item[] items = strategyItems();
+        
+        for (int day = 1; day <= DAYS; day++) {
+            DecayKernel.applyScalar(scalarSellIns, scalarQualities, rates, 0, rates.length);
+            updateWithStrategies(items);
+            
+            for (int i = 0; i < items.length; i++) {
+                String context = "sellIn=" + sellIns[i] + " quality=" + qualities[i] + " rate=" + rates[i] + " día " + day;
+                assertEquals(items[i].sellIn, scalarSellIns[i], "sellIn de " + context);
+                assertEquals(items[i].quality, scalarQualities[i], "quality de " + context);
+            }
+        }
+    }
+    
+    @Test
+    void vectorKernelMatchesScalarKernel() {
+        DecayKernel.Implementation vector = new VectorDecayKernel();
+        // Empezar en 3 deja un resto que no llena un vector
+        for (int from : new int[] {0, 3}) {
+            int[] scalarSellIns = sellIns.clone();
+            int[] scalarQualities = qualities.clone();
+            int[] vectorSellIns = sellIns.clone();
+            int[] vectorQualities = qualities.clone();
+            int[] dispatchedSellIns = sellIns.clone();
+            int[] dispatchedQualities = qualities.clone();
+            
+            for (int day = 1; day <= DAYS; day++) {
+                DecayKernel.applyScalar(scalarSellIns, scalarQualities, rates, from, rates.length);
+                vector.apply(vectorSellIns, vectorQualities, rates, from, rates.length);
+                DecayKernel.apply(dispatchedSellIns, dispatchedQualities, rates, from, rates.length);
+                
+                assertArrayEquals(scalarSellIns, vectorSellIns, "sellIn vectorial desde " + from + ", día " + day);
+                assertArrayEquals(scalarQualities, vectorQualities, "quality vectorial desde " + from + ", día " + day);
+                assertArrayEquals(scalarSellIns, dispatchedSellIns, "sellIn de apply desde " + from + ", día " + day);
+                assertArrayEquals(scalarQualities, dispatchedQualities, "quality de apply desde " + from + ", día " + day);
+            }
+            
+            // Lo anterior a from no se toca
+            assertArrayEquals(Arrays.copyOf(sellIns, from), Arrays.copyOf(vectorSellIns, from));
+            assertArrayEquals(Arrays.copyOf(qualities, from), Arrays.copyOf(vectorQualities, from));
+        }
+    }
+    
+    /**
+     * Un item por caso con la estrategia de su tasa; los de tasa 0 no se actualizan.
+     */
+    private Item[] strategyItems() {
+        Item[] items = new Item[rates.length];
+        for (int i = 0; i < items.length; i++) {
+            String name = rates[i] == DecayKernel.RATE_CONJURED ? "Conjured Mana Cake" : "Elixir of the Mongoose";
+            items[i] = new Item(name, sellIns[i], qualities[i]);
+        }
+        return items;
+    }
+    
+    private void updateWithStrategies(Item[] items) {
+        ItemUpdateStrategy regular = new RegularItemStrategy();
+        ItemUpdateStrategy conjured = new ConjuredItemStrategy();
+        for (int i = 0; i < items.length; i++) {
+            if (rates[i] == DecayKernel.RATE_REGULAR) {
+                regular.updateItem(items[i]);
+            } else if (rates[i] == DecayKernel.RATE_CONJURED) {
+                conjured.updateItem(items[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Las reglas de {@link ItemRule#standardRules()} deben producir exactamente lo mismo que
+ * las estrategias incorporadas: se ejecutan lado a lado sobre el mismo inventario generado
+ * durante muchos ticks, tanto item a item como sobre columnas.
+ */
+class RuleEngineEquivalenceTest {
+    
+    private static final String[] NAMES = {
+        "Elixir of the Mongoose",
+        "+5 Dexterity Vest",
+        "Aged Brie",
+        "Backstage passes to a TAFKAL80ETC concert",
+        "Sulfuras, Hand of Ragnaros",
+        "Conjured Mana Cake",
+        "Conjured"
+    };
+    private static final int ITEM_COUNT = 5_000;
+    private static final int TICKS = 120;
+    
+    @Test
+    void standardRulesMatchStrategiesOverManyTicks() {
+        Random random = new Random(12);
+        Item[] byStrategy = new Item[ITEM_COUNT];
+        Item[] byRule = new Item[ITEM_COUNT];
+        int[] ruleIds = new int[ITEM_COUNT];
+        int[] sellIns = new int[ITEM_COUNT];
+        int[] qualities = new int[ITEM_COUNT];
+        
+        RuleEngine engine = RuleEngine.standard();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            int sellIn = random.nextInt(10) == 0 ? Integer.MIN_VALUE + random.nextInt(3) : random.nextInt(41) - 10;
+            byStrategy[i] = new Item(name, sellIn, random.nextInt(51));
+            byRule[i] = new Item(name, byStrategy[i].sellIn, byStrategy[i].quality);
+            ruleIds[i] = engine.ruleFor(name);
+            sellIns[i] = byStrategy[i].sellIn;
+            qualities[i] = byStrategy[i].quality;
+        }
+        
+        GildedRose rose = new GildedRose(byStrategy);
+        for (int tick = 1; tick <= TICKS; tick++) {
+            rose.updateQuality();
+            for (Item item : byRule) {
+                engine.apply(engine.ruleFor(item.name), item);
+            }
+            engine.apply(ruleIds, sellIns, qualities, 0, ITEM_COUNT);
+            
+            for (int i = 0; i < ITEM_COUNT; i++) {
+                String context = byStrategy[i].name + " (item " + i + ", tick " + tick + ")";
+                assertEquals(byStrategy[i].sellIn, byRule[i].sellIn, "sellIn de " + context);
+                assertEquals(byStrategy[i].quality, byRule[i].quality, "quality de " + context);
+                assertEquals(byStrategy[i].sellIn, sellIns[i], "sellIn en columnas de " + context);
+                assertEquals(byStrategy[i].quality, qualities[i], "quality en columnas de " + context);
+            }
+        }
+    }
+    
+    @Test
+    void sellInSpanWiderThanTheTablesIsRejected() {
+        int unbounded = Integer.MIN_VALUE;
+        ItemRule overflowing = new ItemRule(ItemRule.NameMatch.ANY, null, 1, 0, 50,
+            List.of(new ItemRule.Segment(unbounded, 1, -1), new ItemRule.Segment(-2_000_000_000, 1, 0),
+                    new ItemRule.Segment(2_000_000_000, 1, 1)));
+        ItemRule wide = new ItemRule(ItemRule.NameMatch.ANY, null, 1, 0, 50,
+            List.of(new ItemRule.Segment(unbounded, 1, -1), new ItemRule.Segment(0, 1, 0),
+                    new ItemRule.Segment(RuleEngine.MAX_SELL_IN_SPAN, 1, 1)));
+        
+        assertThrows(IllegalArgumentException.class, () -> new RuleEngine(List.of(overflowing)));
+        assertThrows(IllegalArgumentException.class, () -> new RuleEngine(List.of(wide)));
+    }
+}
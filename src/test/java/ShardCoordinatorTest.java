@@ -0,0 +1,194 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lanza trabajadores reales en esta máquina y compara el inventario particionado con un
+ * único {@link GildedRose}: ticks confirmados, un PREPARE que falla en un trabajador (el tick
+ * se aborta en todos), un trabajador que no responde a tiempo y uno que escribe mucho en
+ * su salida estándar.
+ */
+class ShardCoordinatorTest {
+
+    private static final String[] NAMES = {
+        "Elixir of the Mongoose",
+        "Aged Brie",
+        "Backstage passes to a TAFKAL80ETC concert",
+        "Sulfuras, Hand of Ragnaros",
+        "Conjured Mana Cake"
+    };
+    private static final int TIMEOUT_MILLIS = 2_000;
+
+    /**
+     * Falla siempre al actualizar los items "Faulty ...".
+     */
+    public static final class FaultyStrategy implements ItemUpdateStrategy {
+        @Override
+        public boolean canHandle(Item item) {
+            return item.name.startsWith("Faulty");
+        }
+
+        @Override
+        public void updateItem(Item item) {
+            throw new IllegalStateException("Falla simulada en " + item.name);
+        }
+    }
+
+    /**
+     * Tarda más que el plazo del coordinador con los items "Slow ...".
+     */
+    public static final class SlowStrategy implements ItemUpdateStrategy {
+        @Override
+        public boolean canHandle(Item item) {
+            return item.name.startsWith("Slow");
+        }
+
+        @Override
+        public void updateItem(Item item) {
+            try {
+                Thread.sleep(3 * TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Escribe en la salida estándar del trabajador más de lo que cabe en el pipe.
+     */
+    public static final class ChattyStrategy implements ItemUpdateStrategy {
+        @Override
+        public boolean canHandle(Item item) {
+            return item.name.startsWith("Chatty");
+        }
+
+        @Override
+        public void updateItem(Item item) {
+            String line = "x".repeat(99);
+            for (int i = 0; i < 2_000; i++) {
+                System.out.println(line);
+            }
+            item.sellIn--;
+        }
+    }
+
+    @Test
+    void committedTicksMatchSingleInventory() {
+        List<Item> reference = generate(new Random(21), 2_000);
+        GildedRose single = new GildedRose(copy(reference));
+
+        try (ShardCoordinator sharded = new ShardCoordinator(3, List.of(), TIMEOUT_MILLIS)) {
+            sharded.addItems(reference.toArray(new Item[0]));
+            for (int tick = 0; tick < 30; tick++) {
+                single.updateQuality();
+                sharded.updateQuality();
+                assertSame(single.getItems(), sharded, "tick " + tick);
+            }
+            assertEquals(30, sharded.getTickCount());
+            assertEquals(0, sharded.getAbortedTickCount());
+        }
+    }
+
+    @Test
+    void failingPrepareAbortsTheTickOnEveryWorker() {
+        List<Item> reference = generate(new Random(22), 300);
+        reference.add(new Item("Faulty Widget", 5, 10));
+        GildedRose single = new GildedRose(copy(reference.subList(0, reference.size() - 1)));
+
+        List<String> options = List.of(strategiesOption(FaultyStrategy.class));
+        try (ShardCoordinator sharded = new ShardCoordinator(3, options, TIMEOUT_MILLIS)) {
+            sharded.addItems(reference.subList(0, reference.size() - 1).toArray(new Item[0]));
+            for (int tick = 0; tick < 3; tick++) {
+                single.updateQuality();
+                sharded.updateQuality();
+            }
+
+            int faulty = sharded.addItems(reference.get(reference.size() - 1));
+            assertThrows(IllegalStateException.class, sharded::updateQuality);
+            assertEquals(3, sharded.getTickCount());
+            assertEquals(1, sharded.getAbortedTickCount());
+
+            // Ninguna partición avanzó, tampoco las que sí habían preparado el tick
+            assertSame(single.getItems(), sharded, "después del abort");
+            Item unchanged = sharded.getItem(faulty);
+            assertEquals(5, unchanged.sellIn);
+            assertEquals(10, unchanged.quality);
+        }
+    }
+
+    @Test
+    void workerTimeoutClosesTheCoordinator() {
+        List<String> options = List.of(strategiesOption(SlowStrategy.class));
+        try (ShardCoordinator sharded = new ShardCoordinator(2, options, TIMEOUT_MILLIS / 4)) {
+            sharded.addItems(new Item("Aged Brie", 5, 10), new Item("Slow Snail", 5, 10));
+
+            assertThrows(IllegalStateException.class, sharded::updateQuality);
+            assertThrows(IllegalStateException.class, sharded::updateQuality);
+            assertEquals(0, sharded.getTickCount());
+        }
+    }
+
+    @Test
+    void workerOutputIsDrainedAfterReady() {
+        List<String> options = List.of(strategiesOption(ChattyStrategy.class));
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream forwarded = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(forwarded, true));
+        try (ShardCoordinator sharded = new ShardCoordinator(1, options, TIMEOUT_MILLIS)) {
+            sharded.addItems(new Item("Chatty Parrot", 5, 10));
+            for (int tick = 0; tick < 3; tick++) {
+                sharded.updateQuality();
+            }
+            assertEquals(2, sharded.getItem(0).sellIn);
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertTrue(forwarded.size() > 0);
+    }
+
+    private static String strategiesOption(Class<? extends ItemUpdateStrategy> strategy) {
+        return "-D" + ShardWorker.STRATEGIES_PROPERTY + "=" + strategy.getName();
+    }
+
+    private static void assertSame(List<Item> expected, ShardCoordinator sharded, String context) {
+        int[] indices = new int[expected.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        Item[] actual = sharded.getItems(indices);
+        for (int i = 0; i < indices.length; i++) {
+            Item item = expected.get(i);
+            assertEquals(item.name, actual[i].name, context + ", item " + i);
+            assertEquals(item.sellIn, actual[i].sellIn, context + ", sellIn de " + i);
+            assertEquals(item.quality, actual[i].quality, context + ", quality de " + i);
+        }
+    }
+
+    private static List<Item> generate(Random random, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            int quality = name.startsWith("Sulfuras") ? 80 : random.nextInt(51);
+            items.add(new Item(name, random.nextInt(31) - 5, quality));
+        }
+        return items;
+    }
+
+    private static List<Item> copy(List<Item> items) {
+        List<Item> copies = new ArrayList<>(items.size());
+        for (Item item : items) {
+            copies.add(new Item(item.name, item.sellIn, item.quality));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,118 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Un tick que vence su plazo no debe liberar la tienda mientras sigue corriendo, y un tick
+ * paralelo que falla debe restaurarse recién cuando ningún tramo sigue modificando items.
+ */
+class StoreTickSchedulerTest {
+
+    /**
+     * Tarda {@code millis} por item y cuenta cuántos ticks lo ejecutan a la vez.
+     */
+    static final class SlowStrategy implements ItemUpdateStrategy {
+        private final long millis;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+
+        SlowStrategy(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public boolean canHandle(Item item) {
+            return item.name.startsWith("Slow");
+        }
+
+        @Override
+        public void updateItem(Item item) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            item.sellIn--;
+        }
+    }
+
+    /**
+     * Falla después de una pausa, cuando otros tramos ya están actualizando sus items.
+     */
+    static final class BombStrategy implements ItemUpdateStrategy {
+        @Override
+        public boolean canHandle(Item item) {
+            return item.name.startsWith("Bomb");
+        }
+
+        @Override
+        public void updateItem(Item item) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Falla simulada");
+        }
+    }
+
+    @Test
+    void timedOutTickKeepsTheStoreBusyUntilItFinishes() throws InterruptedException {
+        SlowStrategy slow = new SlowStrategy(500);
+        GildedRose inventory = new GildedRose(new Item[] {new Item("Slow Snail", 5, 10)});
+        inventory.addCustomStrategy(slow);
+
+        try (StoreTickScheduler scheduler = new StoreTickScheduler(4, Duration.ofMillis(100), 0)) {
+            scheduler.registerStore("store", inventory);
+            List<StoreTickResult.Status> statuses = new ArrayList<>();
+            for (int round = 0; round < 3; round++) {
+                statuses.add(scheduler.runDailyTick().getResults().get(0).getStatus());
+            }
+            Thread.sleep(800);
+
+            assertEquals(List.of(StoreTickResult.Status.TIMED_OUT, StoreTickResult.Status.SKIPPED,
+                                 StoreTickResult.Status.SKIPPED), statuses);
+            assertEquals(1, slow.maxRunning.get());
+            assertEquals(4, inventory.getItem(0).sellIn);
+        }
+    }
+
+    @Test
+    void failedParallelTickIsRestoredAfterEverySubtaskStops() throws InterruptedException {
+        List<Item> items = new ArrayList<>();
+        items.add(new Item("Bomb", 5, 10));
+        for (int i = 1; i < 64; i++) {
+            items.add(new Item("Slow Snail " + i, 5, 10));
+        }
+        GildedRose inventory = new GildedRose(items);
+        inventory.addCustomStrategy(new SlowStrategy(20));
+        inventory.addCustomStrategy(new BombStrategy());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        inventory.enableParallelUpdates(pool, 1);
+
+        try (StoreTickScheduler scheduler = new StoreTickScheduler(1, Duration.ofSeconds(30), 0)) {
+            scheduler.registerStore("store", inventory);
+            StoreTickResult result = scheduler.runDailyTick().getResults().get(0);
+
+            assertEquals(StoreTickResult.Status.FAILED, result.getStatus());
+            // Un tramo que siguiera corriendo modificaría los items después de restaurarlos
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+            for (Item item : items) {
+                assertEquals(5, item.sellIn, item.name);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Los agregados calculados dentro del tick deben coincidir con los mismos valores
+ * calculados recorriendo el inventario después de un tick normal.
+ */
+class TickAggregateEquivalenceTest {
+
+    private static final String[] NAMES = {
+        "Elixir of the Mongoose",
+        "Aged Brie",
+        "Backstage passes to a TAFKAL80ETC concert",
+        "Sulfuras, Hand of Ragnaros",
+        "Conjured Mana Cake"
+    };
+    private static final int ITEM_COUNT = 5_000;
+    private static final int TICKS = 60;
+
+    @Test
+    void fusedAggregatesMatchPostTickScans() {
+        Random random = new Random(20);
+        List<Item> fusedItems = new ArrayList<>();
+        List<Item> scannedItems = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            // Algunas posiciones null; unos 4900 items dejan el último bloque de agregación incompleto
+            if (random.nextInt(50) == 0) {
+                fusedItems.add(null);
+                scannedItems.add(null);
+                continue;
+            }
+            String name = NAMES[random.nextInt(NAMES.length)];
+            int quality = name.startsWith("Sulfuras") ? 80 : random.nextInt(51);
+            int sellIn = random.nextInt(31) - 5;
+            fusedItems.add(new Item(name, sellIn, quality));
+            scannedItems.add(new Item(name, sellIn, quality));
+        }
+        GildedRose fused = new GildedRose(fusedItems);
+        GildedRose scanned = new GildedRose(scannedItems);
+        ItemUpdateStrategyManager strategies = new ItemUpdateStrategyManager();
+
+        TickAggregate<Long> total = TickAggregates.totalQuality();
+        TickAggregate<Map<Class<?>, Long>> expired = TickAggregates.expiredByType();
+        TickAggregate<TickAggregates.QualityBounds> bounds = TickAggregates.qualityBounds();
+        TickAggregate<TickAggregates.BackstageWindows> windows = TickAggregates.backstageWindowEntries();
+
+        int[] oldSellIns = new int[ITEM_COUNT];
+        for (int tick = 0; tick < TICKS; tick++) {
+            for (int i = 0; i < ITEM_COUNT; i++) {
+                Item item = scannedItems.get(i);
+                oldSellIns[i] = item == null ? 0 : item.sellIn;
+            }
+            TickResult result = fused.updateQuality(total, expired, bounds, windows);
+            scanned.updateQuality();
+
+            long expectedTotal = 0;
+            long atCeiling = 0;
+            long atFloor = 0;
+            long enteredTen = 0;
+            long enteredFive = 0;
+            Map<Class<?>, Long> expectedExpired = new HashMap<>();
+            for (int i = 0; i < ITEM_COUNT; i++) {
+                Item item = scannedItems.get(i);
+                if (item == null) {
+                    continue;
+                }
+                ItemUpdateStrategy strategy = strategies.findStrategy(item);
+                expectedTotal += item.quality;
+                atCeiling += item.quality == 50 ? 1 : 0;
+                atFloor += item.quality == 0 ? 1 : 0;
+                if (item.sellIn < 0) {
+                    expectedExpired.merge(strategy.getClass(), 1L, Long::sum);
+                }
+                if (strategy instanceof BackstagePassStrategy) {
+                    enteredTen += oldSellIns[i] > 10 && item.sellIn <= 10 ? 1 : 0;
+                    enteredFive += oldSellIns[i] > 5 && item.sellIn <= 5 ? 1 : 0;
+                }
+            }
+
+            String context = "tick " + tick;
+            assertEquals(scanned.getCurrentDay(), result.getDay(), context);
+            assertEquals(expectedTotal, result.get(total), context);
+            assertEquals(expectedExpired, result.get(expired), context);
+            assertEquals(atCeiling, result.get(bounds).getAtCeiling(), context);
+            assertEquals(atFloor, result.get(bounds).getAtFloor(), context);
+            assertEquals(enteredTen, result.get(windows).getEnteredTenDays(), context);
+            assertEquals(enteredFive, result.get(windows).getEnteredFiveDays(), context);
+        }
+    }
+
+    @Test
+    void sameAggregateTwiceIsRejected() {
+        GildedRose inventory = new GildedRose(new Item[] {new Item("Aged Brie", 5, 10)});
+        TickAggregate<Long> total = TickAggregates.totalQuality();
+
+        assertThrows(IllegalArgumentException.class, () -> inventory.updateQuality(total, total));
+        assertEquals(0, inventory.getCurrentDay());
+        assertEquals(10, inventory.getItem(0).quality);
+    }
+}